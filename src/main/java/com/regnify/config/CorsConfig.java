@@ -48,7 +48,12 @@ public class CorsConfig {
             "Authorization", 
             "Content-Type", 
             "Access-Control-Allow-Origin", 
-            "Access-Control-Allow-Credentials"
+            "Access-Control-Allow-Credentials",
+            "Idempotent-Replayed",
+            "ETag",
+            "Location",
+            "Upload-Offset",
+            "Upload-Length"
         ));
         
         config.setAllowCredentials(allowCredentials);
@@ -0,0 +1,142 @@
+// src/main/java/com/regnify/config/DataSourceRoutingConfig.java
+package com.regnify.config;
+
+import com.regnify.datasource.ReadWriteRoutingDataSource;
+import com.regnify.datasource.ReplicaLagMonitor;
+import com.regnify.datasource.ReplicaRoutingJpaDialect;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Replaces the single auto-configured pool with a primary pool (spring.datasource.*) plus one
+// read-only pool per replica URL. Read-only transactions are routed to a replica that is within
+// the lag budget, everything else stays on the primary
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+@Slf4j
+public class DataSourceRoutingConfig implements DisposableBean {
+    
+    @Value("${app.datasource.replica.urls:}")
+    private List<String> replicaUrls;
+    
+    @Value("${app.datasource.replica.username:${spring.datasource.username}}")
+    private String replicaUsername;
+    
+    @Value("${app.datasource.replica.password:${spring.datasource.password}}")
+    private String replicaPassword;
+    
+    @Value("${app.datasource.replica.maximum-pool-size:20}")
+    private int replicaMaximumPoolSize;
+    
+    @Value("${app.datasource.replica.minimum-idle:5}")
+    private int replicaMinimumIdle;
+    
+    @Value("${app.datasource.replica.connection-timeout:5000}")
+    private long replicaConnectionTimeout;
+    
+    @Value("${app.datasource.replica.max-lag-seconds:5}")
+    private long maxLagSeconds;
+    
+    @Value("${app.datasource.replica.lag-check-interval-ms:5000}")
+    private long lagCheckIntervalMs;
+    
+    @Value("${app.datasource.replica.read-your-writes-ms:10000}")
+    private long readYourWritesMs;
+    
+    private final Map<String, HikariDataSource> replicaPools = new LinkedHashMap<>();
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+    
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ReplicaLagMonitor replicaLagMonitor(HikariDataSource primaryDataSource,
+                                               DataSourceProperties properties,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        for (String url : replicaUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            String name = "regnify-replica-" + (replicaPools.size() + 1);
+            replicaPools.put(name, createReplicaPool(name, url.trim(), properties, registry));
+        }
+        
+        if (replicaPools.isEmpty()) {
+            log.warn("Datasource routing is enabled but no replica URLs are configured, all reads use the primary");
+        } else {
+            log.info("Routing read-only transactions across {} replica pool(s) (max lag {}s)",
+                replicaPools.size(), maxLagSeconds);
+        }
+        
+        return new ReplicaLagMonitor(primaryDataSource, new LinkedHashMap<>(replicaPools),
+            Duration.ofSeconds(maxLagSeconds), Duration.ofMillis(lagCheckIntervalMs), registry);
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaLagMonitor replicaLagMonitor) {
+        Map<Object, Object> targets = new HashMap<>(replicaPools);
+        targets.put(ReadWriteRoutingDataSource.PRIMARY, primaryDataSource);
+        
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(replicaLagMonitor,
+            Duration.ofMillis(readYourWritesMs));
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+    
+    @Bean
+    public static ReplicaRoutingJpaDialect.Installer replicaRoutingJpaDialectInstaller() {
+        return new ReplicaRoutingJpaDialect.Installer();
+    }
+    
+    @Override
+    public void destroy() {
+        replicaPools.values().forEach(HikariDataSource::close);
+    }
+    
+    private HikariDataSource createReplicaPool(String name, String url, DataSourceProperties properties,
+                                               MeterRegistry registry) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setJdbcUrl(url);
+        config.setUsername(replicaUsername);
+        config.setPassword(replicaPassword);
+        config.setDriverClassName(properties.determineDriverClassName());
+        config.setMaximumPoolSize(replicaMaximumPoolSize);
+        config.setMinimumIdle(replicaMinimumIdle);
+        config.setConnectionTimeout(replicaConnectionTimeout);
+        config.setReadOnly(true);
+        // A replica that is down at boot must not stop the application, the lag monitor keeps it
+        // out of rotation until it answers
+        config.setInitializationFailTimeout(-1);
+        if (registry != null) {
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        }
+        return new HikariDataSource(config);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+// src/main/java/com/regnify/config/JacksonConfig.java
+package com.regnify.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.core.util.RecyclerPool;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+    
+    // Replaces reflective getter calls with generated lambdas (LambdaMetafactory), for every DTO
+    // without a hand-written serializer
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+    
+    // Read/write buffers shared by the JSON, CBOR and Smile factories. Jackson's default pool is
+    // per thread, which never gets a buffer back when every request runs on a new virtual thread
+    @Bean
+    public RecyclerPool<BufferRecycler> jacksonBufferPool() {
+        return JsonRecyclerPools.newConcurrentDequePool();
+    }
+    
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer pooledJsonFactory(RecyclerPool<BufferRecycler> jacksonBufferPool) {
+        return builder -> builder.factory(JsonFactory.builder().recyclerPool(jacksonBufferPool).build());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+// src/main/java/com/regnify/config/StartupTimingConfig.java
+package com.regnify.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import java.lang.management.ManagementFactory;
+
+// Logs how long schema migration and the whole boot take, so startup can be compared
+// between releases (Boot also exposes the ready time as the application.ready.time metric)
+@Configuration
+@Slf4j
+public class StartupTimingConfig {
+    
+    private volatile long migrationMillis = -1;
+    
+    @Bean
+    public FlywayMigrationStrategy timedFlywayMigrationStrategy() {
+        return flyway -> {
+            long start = System.nanoTime();
+            MigrateResult result = flyway.migrate();
+            migrationMillis = (System.nanoTime() - start) / 1_000_000;
+            log.info("Schema migration finished in {} ms ({} migrations applied, schema version {})",
+                migrationMillis, result.migrationsExecuted, result.targetSchemaVersion);
+        };
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void logStartupTime(ApplicationReadyEvent event) {
+        long jvmUptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        long contextMillis = event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : -1;
+        log.info("Startup timing: context ready in {} ms, JVM uptime {} ms, schema migration {} ms",
+            contextMillis, jvmUptime, migrationMillis);
+    }
+}
\ No newline at end of file
@@ -1,8 +1,15 @@
 // src/main/java/com/regnify/config/WebConfig.java
 package com.regnify.config;
 
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.fasterxml.jackson.core.util.RecyclerPool;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -15,6 +22,23 @@ public class WebConfig implements WebMvcConfigurer {
         return new RestTemplate();
     }
     
+    // Binary bodies for machine clients sending Accept: application/cbor or application/x-jackson-smile.
+    // Built from Boot's builder so modules and date handling match the JSON mapper. They take the place
+    // of Spring's default binary converters, which sit after JSON, so Accept: */* still gets JSON
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder,
+                                                                            RecyclerPool<BufferRecycler> jacksonBufferPool) {
+        return new MappingJackson2CborHttpMessageConverter(
+            builder.factory(CBORFactory.builder().recyclerPool(jacksonBufferPool).build()).build());
+    }
+    
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder,
+                                                                              RecyclerPool<BufferRecycler> jacksonBufferPool) {
+        return new MappingJackson2SmileHttpMessageConverter(
+            builder.factory(SmileFactory.builder().recyclerPool(jacksonBufferPool).build()).build());
+    }
+    
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         registry.addResourceHandler("/uploads/**")
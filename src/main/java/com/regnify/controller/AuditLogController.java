@@ -0,0 +1,91 @@
+// src/main/java/com/regnify/controller/AuditLogController.java
+package com.regnify.controller;
+
+import com.regnify.dto.request.AuditLogFilterRequest;
+import com.regnify.dto.request.ExportFormat;
+import com.regnify.dto.response.ApiResponse;
+import com.regnify.dto.response.AuditLogResponse;
+import com.regnify.dto.response.AuditStorageResponse;
+import com.regnify.dto.response.PageResponse;
+import com.regnify.service.AuditColdStorageService;
+import com.regnify.service.AuditQueryService;
+import com.regnify.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/audit")
+@RequiredArgsConstructor
+@Tag(name = "Audit Logs", description = "Audit log endpoints")
+public class AuditLogController {
+    
+    private final ExportService exportService;
+    private final AuditQueryService auditQueryService;
+    private final AuditColdStorageService auditColdStorageService;
+    
+    @GetMapping
+    @Operation(summary = "Search audit logs", description = "Get paginated audit logs, newest first, across recent and archived storage")
+    @PreAuthorize("hasRole('SUPER_USER') or hasRole('ADMIN_MODERATOR')")
+    public ResponseEntity<ApiResponse<PageResponse<AuditLogResponse>>> searchAuditLogs(
+            @Parameter(description = "Filter criteria") @ModelAttribute AuditLogFilterRequest filter) {
+        
+        PageResponse<AuditLogResponse> auditLogs = PageResponse.of(auditQueryService.search(filter));
+        return ResponseEntity.ok(ApiResponse.success("Audit logs retrieved successfully", auditLogs));
+    }
+    
+    @GetMapping("/users/{username}")
+    @Operation(summary = "Get audit logs by user", description = "Get everything a user did within an optional time window")
+    @PreAuthorize("hasRole('SUPER_USER') or hasRole('ADMIN_MODERATOR')")
+    public ResponseEntity<ApiResponse<PageResponse<AuditLogResponse>>> getAuditLogsByUser(
+            @PathVariable String username,
+            @Parameter(description = "Filter criteria") @ModelAttribute AuditLogFilterRequest filter) {
+        
+        filter.setPerformedBy(username);
+        PageResponse<AuditLogResponse> auditLogs = PageResponse.of(auditQueryService.search(filter));
+        return ResponseEntity.ok(ApiResponse.success("Audit logs retrieved successfully", auditLogs));
+    }
+    
+    @GetMapping("/storage")
+    @Operation(summary = "Get audit storage summary", description = "Get size and time range of the archived audit log tier")
+    @PreAuthorize("hasRole('SUPER_USER') or hasRole('ADMIN_MODERATOR')")
+    public ResponseEntity<ApiResponse<AuditStorageResponse>> getStorageSummary() {
+        AuditStorageResponse summary = auditColdStorageService.getStorageSummary();
+        return ResponseEntity.ok(ApiResponse.success("Audit storage summary retrieved successfully", summary));
+    }
+    
+    @GetMapping("/export")
+    @Operation(summary = "Export audit logs", description = "Stream all audit logs matching the filters as CSV or NDJSON, optionally gzip-compressed")
+    @PreAuthorize("hasRole('SUPER_USER') or hasRole('ADMIN_MODERATOR')")
+    public ResponseEntity<StreamingResponseBody> exportAuditLogs(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String performedBy,
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        
+        String fileName = "audit-logs-" + LocalDate.now() + "." + format.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = exportService.stream(
+            out -> exportService.exportAuditLogs(startDate, endDate, entityType, action, performedBy, format, out),
+            gzip);
+        
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : format.getMediaType()))
+                .body(body);
+    }
+}
\ No newline at end of file
@@ -3,14 +3,35 @@ package com.regnify.controller;
 
 import com.regnify.dto.response.ApiResponse;
 import com.regnify.dto.response.DashboardStatsResponse;
+import com.regnify.dto.response.StorageUsageResponse;
 import com.regnify.service.DashboardService;
+import com.regnify.service.DataVersionService;
+import com.regnify.service.LiveUpdateService;
+import com.regnify.service.StorageUsageService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.CompositeHealth;
+import org.springframework.boot.actuate.health.HealthComponent;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.info.BuildProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
@@ -20,13 +41,28 @@ import java.util.Map;
 public class DashboardController {
     
     private final DashboardService dashboardService;
+    private final DataVersionService dataVersionService;
+    private final LiveUpdateService liveUpdateService;
+    private final StorageUsageService storageUsageService;
+    private final HealthEndpoint healthEndpoint;
+    private final ObjectProvider<BuildProperties> buildProperties;
     
     @GetMapping("/stats")
     @Operation(summary = "Get dashboard statistics", description = "Get comprehensive dashboard statistics")
     @PreAuthorize("hasRole('VIEWER') or hasRole('SUPER_USER') or hasRole('ADMIN_MODERATOR')")
-    public ResponseEntity<ApiResponse<DashboardStatsResponse>> getDashboardStats() {
+    public ResponseEntity<ApiResponse<DashboardStatsResponse>> getDashboardStats(WebRequest request) {
+        // The daily breakdown covers a rolling seven days, so the tag also rolls over every hour
+        Instant hour = Instant.now().truncatedTo(ChronoUnit.HOURS);
+        DataVersionService.Validator validator = dataVersionService.validator(DataVersionService.Scope.INVOICES)
+            .variant(Long.toString(hour.getEpochSecond() / 3600), hour);
+        if (request.checkNotModified(validator.etag(), validator.lastModified())) {
+            return null;
+        }
+        
         DashboardStatsResponse stats = dashboardService.getDashboardStats();
-        return ResponseEntity.ok(ApiResponse.success("Dashboard statistics retrieved successfully", stats));
+        return ResponseEntity.ok()
+                .cacheControl(DataVersionService.REVALIDATE)
+                .body(ApiResponse.success("Dashboard statistics retrieved successfully", stats));
     }
     
     @GetMapping("/quick-stats")
@@ -37,15 +73,46 @@ public class DashboardController {
         return ResponseEntity.ok(ApiResponse.success("Quick statistics retrieved successfully", stats));
     }
     
+    @GetMapping("/storage")
+    @Operation(summary = "Get storage usage", description = "Get stored bytes per directory, country and uploader with volume capacity")
+    @PreAuthorize("hasRole('VIEWER') or hasRole('SUPER_USER') or hasRole('ADMIN_MODERATOR')")
+    public ResponseEntity<ApiResponse<StorageUsageResponse>> getStorageUsage() {
+        StorageUsageResponse usage = storageUsageService.getUsage();
+        return ResponseEntity.ok(ApiResponse.success("Storage usage retrieved successfully", usage));
+    }
+    
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Live updates stream", description = "Server-sent events for invoice status transitions and dashboard counter deltas")
+    @PreAuthorize("hasRole('VIEWER') or hasRole('SUPER_USER') or hasRole('ADMIN_MODERATOR')")
+    public SseEmitter streamUpdates() throws IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return liveUpdateService.subscribe(authentication.getName());
+    }
+    
     @GetMapping("/health")
     @Operation(summary = "System health check", description = "Check system health status")
     public ResponseEntity<ApiResponse<Map<String, Object>>> healthCheck() {
-        Map<String, Object> health = Map.of(
-            "status", "UP",
-            "timestamp", System.currentTimeMillis(),
-            "service", "Invoice Validator",
-            "version", "1.0.0"
-        );
+        HealthComponent status = healthEndpoint.health();
+        BuildProperties build = buildProperties.getIfAvailable();
+        
+        // Component statuses come from the Actuator health indicators (db, diskSpace, mail, ...)
+        Map<String, String> components = new LinkedHashMap<>();
+        if (status instanceof CompositeHealth composite) {
+            composite.getComponents().forEach((name, component) -> components.put(name, component.getStatus().getCode()));
+        }
+        
+        Map<String, Object> health = new LinkedHashMap<>();
+        health.put("status", status.getStatus().getCode());
+        health.put("components", components);
+        health.put("uptimeMs", ManagementFactory.getRuntimeMXBean().getUptime());
+        health.put("timestamp", System.currentTimeMillis());
+        health.put("service", "Invoice Validator");
+        health.put("version", build != null ? build.getVersion() : "1.0.0");
+        
+        if (!Status.UP.equals(status.getStatus())) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error("System is unhealthy", "SYS_002", health));
+        }
         return ResponseEntity.ok(ApiResponse.success("System is healthy", health));
     }
 }
\ No newline at end of file
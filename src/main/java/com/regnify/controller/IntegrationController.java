@@ -2,8 +2,14 @@
 package com.regnify.controller;
 
 import com.regnify.dto.request.IntegrationConfigRequest;
+import com.regnify.dto.request.InvoiceBatchPushRequest;
 import com.regnify.dto.response.ApiResponse;
+import com.regnify.dto.response.BatchPushResponse;
 import com.regnify.dto.response.IntegrationConfigResponse;
+import com.regnify.dto.response.IntegrationFanOutResponse;
+import com.regnify.service.DataVersionService;
+import com.regnify.service.IntegrationFanOutService;
+import com.regnify.service.InvoiceBatchPushService;
 import com.regnify.service.IntegrationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -14,6 +20,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -24,13 +31,23 @@ import java.util.List;
 public class IntegrationController {
     
     private final IntegrationService integrationService;
+    private final IntegrationFanOutService integrationFanOutService;
+    private final InvoiceBatchPushService invoiceBatchPushService;
+    private final DataVersionService dataVersionService;
     
     @GetMapping("/configs")
     @Operation(summary = "Get all integration configs", description = "Get all integration configurations")
     @PreAuthorize("hasRole('SUPER_USER') or hasRole('ADMIN_MODERATOR')")
-    public ResponseEntity<ApiResponse<List<IntegrationConfigResponse>>> getAllConfigs() {
+    public ResponseEntity<ApiResponse<List<IntegrationConfigResponse>>> getAllConfigs(WebRequest request) {
+        DataVersionService.Validator validator = dataVersionService.validator(DataVersionService.Scope.INTEGRATION_CONFIGS);
+        if (request.checkNotModified(validator.etag(), validator.lastModified())) {
+            return null;
+        }
+        
         List<IntegrationConfigResponse> configs = integrationService.getAllConfigs();
-        return ResponseEntity.ok(ApiResponse.success("Integration configs retrieved successfully", configs));
+        return ResponseEntity.ok()
+                .cacheControl(DataVersionService.REVALIDATE)
+                .body(ApiResponse.success("Integration configs retrieved successfully", configs));
     }
     
     @GetMapping("/configs/{id}")
@@ -131,4 +148,50 @@ public class IntegrationController {
         String result = integrationService.fetchStatus(id, performedBy);
         return ResponseEntity.ok(ApiResponse.success(result, null));
     }
+    
+    @PostMapping("/configs/test-connection")
+    @Operation(summary = "Test all connections", description = "Test send and fetch endpoints of every active integration concurrently")
+    @PreAuthorize("hasRole('SUPER_USER') or hasRole('ADMIN_MODERATOR')")
+    public ResponseEntity<ApiResponse<IntegrationFanOutResponse>> testAllConnections() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String performedBy = authentication.getName();
+        
+        IntegrationFanOutResponse result = integrationFanOutService.testConnectionAll(performedBy);
+        return ResponseEntity.ok(ApiResponse.success("Connection tests completed", result));
+    }
+    
+    @PostMapping("/configs/fetch-status")
+    @Operation(summary = "Fetch all statuses", description = "Fetch status from every active integration concurrently")
+    @PreAuthorize("hasRole('SUPER_USER') or hasRole('ADMIN_MODERATOR')")
+    public ResponseEntity<ApiResponse<IntegrationFanOutResponse>> fetchAllStatuses() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String performedBy = authentication.getName();
+        
+        IntegrationFanOutResponse result = integrationFanOutService.fetchStatusAll(performedBy);
+        return ResponseEntity.ok(ApiResponse.success("Status fetch completed", result));
+    }
+    
+    @PostMapping("/push/invoices/{invoiceId}")
+    @Operation(summary = "Push invoice", description = "Push an invoice to every active integration concurrently")
+    @PreAuthorize("hasRole('SUPER_USER') or hasRole('ADMIN_MODERATOR')")
+    public ResponseEntity<ApiResponse<IntegrationFanOutResponse>> pushInvoice(@PathVariable Long invoiceId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String performedBy = authentication.getName();
+        
+        IntegrationFanOutResponse result = integrationFanOutService.pushInvoice(invoiceId, performedBy);
+        return ResponseEntity.ok(ApiResponse.success("Invoice push completed", result));
+    }
+    
+    @PostMapping("/configs/{id}/push-batch")
+    @Operation(summary = "Push invoices in batches", description = "Push invoices to one provider as compressed NDJSON batches with per-invoice results")
+    @PreAuthorize("hasRole('SUPER_USER') or hasRole('ADMIN_MODERATOR')")
+    public ResponseEntity<ApiResponse<BatchPushResponse>> pushBatch(
+            @PathVariable Long id,
+            @Valid @RequestBody InvoiceBatchPushRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String performedBy = authentication.getName();
+        
+        BatchPushResponse result = invoiceBatchPushService.pushInvoices(id, request, performedBy);
+        return ResponseEntity.ok(ApiResponse.success("Batch push completed", result));
+    }
 }
\ No newline at end of file
@@ -1,26 +1,46 @@
 // src/main/java/com/regnify/controller/InvoiceController.java
 package com.regnify.controller;
 
+import com.regnify.dedupe.InvoiceNumberFilter;
+import com.regnify.dto.request.ExportFormat;
 import com.regnify.dto.request.InvoiceFilterRequest;
 import com.regnify.dto.request.InvoiceRequest;
+import com.regnify.dto.request.InvoiceView;
 import com.regnify.dto.response.ApiResponse;
+import com.regnify.dto.response.BatchGetItem;
 import com.regnify.dto.response.InvoiceResponse;
+import com.regnify.dto.response.PageResponse;
+import com.regnify.service.DataVersionService;
+import com.regnify.model.Invoice;
+import com.regnify.service.ExportService;
+import com.regnify.service.FileStorageService;
+import com.regnify.service.IdempotencyService;
 import com.regnify.service.InvoiceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/invoices")
@@ -29,34 +49,98 @@ import java.util.List;
 public class InvoiceController {
     
     private final InvoiceService invoiceService;
+    private final ExportService exportService;
+    private final IdempotencyService idempotencyService;
+    private final InvoiceNumberFilter invoiceNumberFilter;
+    private final FileStorageService fileStorageService;
     
     @PostMapping("/upload")
-    @Operation(summary = "Upload invoice", description = "Upload and validate a new invoice")
+    @Operation(summary = "Upload invoice", description = "Upload and validate a new invoice. Retries sent with the same Idempotency-Key replay the original response")
     @PreAuthorize("hasRole('VIEWER') or hasRole('SUPER_USER') or hasRole('ADMIN_MODERATOR')")
     public ResponseEntity<ApiResponse<InvoiceResponse>> uploadInvoice(
-            @Valid @ModelAttribute InvoiceRequest request) throws IOException {
+            @Valid @ModelAttribute InvoiceRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) throws IOException {
         
-        InvoiceResponse response = invoiceService.uploadInvoice(request);
+        if (idempotencyKey == null) {
+            InvoiceResponse response = invoiceService.uploadInvoice(request);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Invoice uploaded successfully", response));
+        }
+        
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        IdempotencyService.Result<InvoiceResponse> result = idempotencyService.execute(
+            idempotencyKey, authentication.getName(), invoiceService.uploadFingerprint(request),
+            InvoiceResponse.class, () -> invoiceService.uploadInvoice(request));
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.success("Invoice uploaded successfully", response));
+                .header(IdempotencyService.REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(ApiResponse.success("Invoice uploaded successfully", result.response()));
     }
     
     @GetMapping
-    @Operation(summary = "Get all invoices", description = "Get paginated list of invoices with filtering")
+    @Operation(summary = "Get all invoices", description = "Get paginated list of invoices with filtering. view=SUMMARY returns rows without the TEXT columns, fields=id,invoiceNumber,status selects only those properties")
     @PreAuthorize("hasRole('VIEWER') or hasRole('SUPER_USER') or hasRole('ADMIN_MODERATOR')")
-    public ResponseEntity<ApiResponse<Page<InvoiceResponse>>> getInvoices(
-            @Parameter(description = "Filter criteria") @ModelAttribute InvoiceFilterRequest filter) {
+    public ResponseEntity<ApiResponse<PageResponse<?>>> getInvoices(
+            @Parameter(description = "Filter criteria") @ModelAttribute InvoiceFilterRequest filter,
+            @Parameter(description = "Comma-separated properties to return") @RequestParam(required = false) String fields) {
         
-        Page<InvoiceResponse> invoices = invoiceService.getInvoices(filter);
+        PageResponse<?> invoices;
+        if (fields != null) {
+            invoices = PageResponse.of(invoiceService.getInvoiceFields(filter, fields));
+        } else if (filter.getView() == InvoiceView.SUMMARY) {
+            invoices = PageResponse.of(invoiceService.getInvoiceSummaries(filter));
+        } else {
+            invoices = PageResponse.of(invoiceService.getInvoices(filter));
+        }
+        return ResponseEntity.ok(ApiResponse.success("Invoices retrieved successfully", invoices));
+    }
+    
+    @GetMapping("/export")
+    @Operation(summary = "Export invoices", description = "Stream all invoices matching the filters as CSV or NDJSON, optionally gzip-compressed")
+    @PreAuthorize("hasRole('VIEWER') or hasRole('SUPER_USER') or hasRole('ADMIN_MODERATOR')")
+    public ResponseEntity<StreamingResponseBody> exportInvoices(
+            @Parameter(description = "Filter criteria") @ModelAttribute InvoiceFilterRequest filter,
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        
+        String fileName = "invoices-" + LocalDate.now() + "." + format.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = exportService.stream(
+            out -> exportService.exportInvoices(filter, format, out), gzip);
+        
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : format.getMediaType()))
+                .body(body);
+    }
+    
+    @GetMapping("/batch")
+    @Operation(summary = "Get invoices by IDs", description = "Resolve several invoices in one request, ids=1,2,3. Items follow the order of ids and report FOUND, NOT_FOUND or DELETED")
+    @PreAuthorize("hasRole('VIEWER') or hasRole('SUPER_USER') or hasRole('ADMIN_MODERATOR')")
+    public ResponseEntity<ApiResponse<List<BatchGetItem<InvoiceResponse>>>> getInvoicesByIds(@RequestParam List<Long> ids) {
+        List<BatchGetItem<InvoiceResponse>> invoices = invoiceService.getInvoicesByIds(ids);
         return ResponseEntity.ok(ApiResponse.success("Invoices retrieved successfully", invoices));
     }
     
     @GetMapping("/{id}")
     @Operation(summary = "Get invoice by ID", description = "Get detailed information about a specific invoice")
     @PreAuthorize("hasRole('VIEWER') or hasRole('SUPER_USER') or hasRole('ADMIN_MODERATOR')")
-    public ResponseEntity<ApiResponse<InvoiceResponse>> getInvoiceById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<InvoiceResponse>> getInvoiceById(@PathVariable Long id, WebRequest request) {
+        // The tag comes from the invoice's own row (bulk updates stamp updatedAt too), so writes to
+        // other invoices leave it alone. Its timestamp is read first, on its own, and the invoice is
+        // only loaded and mapped on a miss. A write landing in between leaves the body newer than the
+        // tag, which the next conditional request sees as a change
+        Optional<LocalDateTime> changedAt = invoiceService.getInvoiceChangedAt(id);
+        if (changedAt.isPresent()) {
+            DataVersionService.Validator validator = DataVersionService.rowValidator("invoice", id, changedAt.get());
+            if (request.checkNotModified(validator.etag(), validator.lastModified())) {
+                return null;
+            }
+        }
+        
+        // Missing and deleted invoices are reported by the load
         InvoiceResponse invoice = invoiceService.getInvoiceById(id);
-        return ResponseEntity.ok(ApiResponse.success("Invoice retrieved successfully", invoice));
+        return ResponseEntity.ok()
+                .cacheControl(DataVersionService.REVALIDATE)
+                .body(ApiResponse.success("Invoice retrieved successfully", invoice));
     }
     
     @PutMapping("/{id}")
@@ -87,27 +171,87 @@ public class InvoiceController {
     }
     
     @GetMapping("/search")
-    @Operation(summary = "Search invoices", description = "Search invoices by text")
+    @Operation(summary = "Search invoices", description = "Search invoices by text, view=SUMMARY returns rows without the TEXT columns")
     @PreAuthorize("hasRole('VIEWER') or hasRole('SUPER_USER') or hasRole('ADMIN_MODERATOR')")
-    public ResponseEntity<ApiResponse<List<InvoiceResponse>>> searchInvoices(
+    public ResponseEntity<ApiResponse<List<?>>> searchInvoices(
             @RequestParam String query,
-            @RequestParam(defaultValue = "10") int limit) {
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "FULL") InvoiceView view) {
         
-        List<InvoiceResponse> invoices = invoiceService.searchInvoices(query, limit);
+        List<?> invoices = view == InvoiceView.SUMMARY
+            ? invoiceService.searchInvoiceSummaries(query, limit)
+            : invoiceService.searchInvoices(query, limit);
         return ResponseEntity.ok(ApiResponse.success("Search completed successfully", invoices));
     }
     
+    @PostMapping("/number-filter/rebuild")
+    @Operation(summary = "Rebuild invoice number filter", description = "Rebuild the in-memory invoice number filter from the database, sized for the current row count")
+    @PreAuthorize("hasRole('SUPER_USER') or hasRole('ADMIN_MODERATOR')")
+    public ResponseEntity<ApiResponse<Void>> rebuildNumberFilter() {
+        invoiceNumberFilter.rebuildInBackground();
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Invoice number filter rebuild started", null));
+    }
+    
     @GetMapping("/{id}/download")
     @Operation(summary = "Download invoice file", description = "Download the attached invoice file")
     @PreAuthorize("hasRole('VIEWER') or hasRole('SUPER_USER') or hasRole('ADMIN_MODERATOR')")
-    public ResponseEntity<byte[]> downloadInvoiceFile(@PathVariable Long id) throws IOException {
-        byte[] fileContent = invoiceService.downloadInvoiceFile(id);
+    public ResponseEntity<StreamingResponseBody> downloadInvoiceFile(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) throws IOException {
+        InvoiceService.InvoiceFile file = invoiceService.getInvoiceFile(id);
         
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
         headers.setContentDispositionFormData("attachment", "invoice_" + id + ".file");
-        headers.setContentLength(fileContent.length);
         
-        return new ResponseEntity<>(fileContent, headers, HttpStatus.OK);
+        StreamingResponseBody body;
+        if (file.codec() == Invoice.FileCodec.GZIP && acceptsGzip(acceptEncoding)) {
+            // Stored bytes go out as they are and the client decompresses them
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            headers.setContentLength(file.storedSize());
+            body = out -> Files.copy(file.path(), out);
+        } else {
+            headers.setContentLength(file.size());
+            body = out -> {
+                try (InputStream in = fileStorageService.openStored(file.path(), file.codec())) {
+                    in.transferTo(out);
+                }
+            };
+        }
+        if (file.codec() == Invoice.FileCodec.GZIP) {
+            headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        }
+        
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+    
+    // gzip or * listed without q=0
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (!name.equals("gzip") && !name.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim().toLowerCase(Locale.ROOT);
+                if (param.startsWith("q=")) {
+                    try {
+                        refused = Double.parseDouble(param.substring(2)) <= 0;
+                    } catch (NumberFormatException e) {
+                        refused = true;
+                    }
+                }
+            }
+            if (!refused) {
+                return true;
+            }
+        }
+        return false;
     }
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+// src/main/java/com/regnify/controller/InvoiceUploadController.java
+package com.regnify.controller;
+
+import com.regnify.dto.request.UploadSessionRequest;
+import com.regnify.dto.response.ApiResponse;
+import com.regnify.dto.response.UploadSessionResponse;
+import com.regnify.model.UploadSession;
+import com.regnify.service.UploadSessionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+
+// Resumable uploads: POST creates the session, PATCH sends a chunk at Upload-Offset with its
+// Upload-Checksum, HEAD returns the offset to resume from. The finished upload's id goes into
+// POST /invoices/upload as uploadId
+@RestController
+@RequestMapping("/invoices/uploads")
+@RequiredArgsConstructor
+@Tag(name = "Invoice uploads", description = "Resumable chunked uploads for large invoice files")
+public class InvoiceUploadController {
+    
+    public static final String UPLOAD_OFFSET = "Upload-Offset";
+    public static final String UPLOAD_LENGTH = "Upload-Length";
+    public static final String UPLOAD_CHECKSUM = "Upload-Checksum";
+    public static final String CHUNK_CONTENT_TYPE = "application/offset+octet-stream";
+    
+    private final UploadSessionService uploadSessionService;
+    
+    @PostMapping
+    @Operation(summary = "Create upload", description = "Start a resumable upload of a file of the given length")
+    @PreAuthorize("hasRole('VIEWER') or hasRole('SUPER_USER') or hasRole('ADMIN_MODERATOR')")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> createUpload(@Valid @RequestBody UploadSessionRequest request) throws IOException {
+        UploadSession session = uploadSessionService.create(request.getFileName(), request.getContentType(),
+            request.getLength(), currentUsername());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .location(URI.create("/invoices/uploads/" + session.getId()))
+                .header(UPLOAD_OFFSET, String.valueOf(session.getUploadOffset()))
+                .header(UPLOAD_LENGTH, String.valueOf(session.getUploadLength()))
+                .body(ApiResponse.success("Upload created successfully", toResponse(session)));
+    }
+    
+    @RequestMapping(value = "/{id}", method = RequestMethod.HEAD)
+    @Operation(summary = "Get upload offset", description = "Upload-Offset is where the next chunk has to start")
+    @PreAuthorize("hasRole('VIEWER') or hasRole('SUPER_USER') or hasRole('ADMIN_MODERATOR')")
+    public ResponseEntity<Void> getUploadOffset(@PathVariable String id) {
+        UploadSession session = uploadSessionService.getSession(id, currentUsername());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .header(UPLOAD_OFFSET, String.valueOf(session.getUploadOffset()))
+                .header(UPLOAD_LENGTH, String.valueOf(session.getUploadLength()))
+                .build();
+    }
+    
+    @GetMapping("/{id}")
+    @Operation(summary = "Get upload", description = "Get the state of a resumable upload")
+    @PreAuthorize("hasRole('VIEWER') or hasRole('SUPER_USER') or hasRole('ADMIN_MODERATOR')")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> getUpload(@PathVariable String id) {
+        UploadSession session = uploadSessionService.getSession(id, currentUsername());
+        return ResponseEntity.ok(ApiResponse.success("Upload retrieved successfully", toResponse(session)));
+    }
+    
+    // The body is read from the request stream as it arrives, nothing is buffered as a multipart part
+    @PatchMapping(value = "/{id}", consumes = CHUNK_CONTENT_TYPE)
+    @Operation(summary = "Upload chunk", description = "Write a chunk starting at Upload-Offset; Upload-Checksum is '<sha1|sha256|md5> <base64>' of the chunk")
+    @PreAuthorize("hasRole('VIEWER') or hasRole('SUPER_USER') or hasRole('ADMIN_MODERATOR')")
+    public ResponseEntity<Void> uploadChunk(
+            @PathVariable String id,
+            @RequestHeader(UPLOAD_OFFSET) long offset,
+            @RequestHeader(value = UPLOAD_CHECKSUM, required = false) String checksum,
+            HttpServletRequest request) throws IOException {
+        
+        UploadSession session = uploadSessionService.append(id, currentUsername(), offset, checksum, request.getInputStream());
+        return ResponseEntity.noContent()
+                .header(UPLOAD_OFFSET, String.valueOf(session.getUploadOffset()))
+                .build();
+    }
+    
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Cancel upload", description = "Discard a resumable upload and its partial file")
+    @PreAuthorize("hasRole('VIEWER') or hasRole('SUPER_USER') or hasRole('ADMIN_MODERATOR')")
+    public ResponseEntity<ApiResponse<Void>> deleteUpload(@PathVariable String id) throws IOException {
+        uploadSessionService.delete(id, currentUsername());
+        return ResponseEntity.ok(ApiResponse.success("Upload deleted successfully", null));
+    }
+    
+    private static String currentUsername() {
+        return SecurityContextHolder.getContext().getAuthentication().getName();
+    }
+    
+    private static UploadSessionResponse toResponse(UploadSession session) {
+        return new UploadSessionResponse(session.getId(), session.getFileName(), session.getContentType(),
+            session.getUploadLength(), session.getUploadOffset(), session.isComplete(), session.getExpiresAt());
+    }
+}
\ No newline at end of file
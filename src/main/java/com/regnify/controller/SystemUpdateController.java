@@ -3,6 +3,7 @@ package com.regnify.controller;
 
 import com.regnify.dto.response.ApiResponse;
 import com.regnify.model.SystemUpdate;
+import com.regnify.service.DataVersionService;
 import com.regnify.service.SystemUpdateService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,6 +13,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -23,13 +25,21 @@ import java.util.List;
 public class SystemUpdateController {
     
     private final SystemUpdateService systemUpdateService;
+    private final DataVersionService dataVersionService;
     
     @GetMapping
     @Operation(summary = "Get all updates", description = "Get all system updates")
     @PreAuthorize("hasRole('VIEWER') or hasRole('SUPER_USER') or hasRole('ADMIN_MODERATOR')")
-    public ResponseEntity<ApiResponse<List<SystemUpdate>>> getAllUpdates() {
+    public ResponseEntity<ApiResponse<List<SystemUpdate>>> getAllUpdates(WebRequest request) {
+        DataVersionService.Validator validator = dataVersionService.validator(DataVersionService.Scope.SYSTEM_UPDATES);
+        if (request.checkNotModified(validator.etag(), validator.lastModified())) {
+            return null;
+        }
+        
         List<SystemUpdate> updates = systemUpdateService.getAllUpdates();
-        return ResponseEntity.ok(ApiResponse.success("System updates retrieved successfully", updates));
+        return ResponseEntity.ok()
+                .cacheControl(DataVersionService.REVALIDATE)
+                .body(ApiResponse.success("System updates retrieved successfully", updates));
     }
     
     @GetMapping("/type/{type}")
@@ -3,6 +3,8 @@ package com.regnify.controller;
 
 import com.regnify.dto.request.UserRequest;
 import com.regnify.dto.response.ApiResponse;
+import com.regnify.dto.response.BatchGetItem;
+import com.regnify.dto.response.PageResponse;
 import com.regnify.dto.response.UserResponse;
 import com.regnify.model.User;
 import com.regnify.service.UserService;
@@ -11,7 +13,6 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -29,15 +30,26 @@ public class UserController {
     private final UserService userService;
     
     @GetMapping
-    @Operation(summary = "Get all users", description = "Get paginated list of all users")
+    @Operation(summary = "Get all users", description = "Get paginated list of all users. fields=id,username,role selects only those properties")
     @PreAuthorize("hasRole('SUPER_USER') or hasRole('ADMIN_MODERATOR')")
-    public ResponseEntity<ApiResponse<Page<UserResponse>>> getAllUsers(
+    public ResponseEntity<ApiResponse<PageResponse<?>>> getAllUsers(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") String direction) {
+            @RequestParam(defaultValue = "DESC") String direction,
+            @RequestParam(required = false) String fields) {
         
-        Page<UserResponse> users = userService.getAllUsers(page, size, sortBy, direction);
+        PageResponse<?> users = fields == null
+            ? PageResponse.of(userService.getAllUsers(page, size, sortBy, direction))
+            : PageResponse.of(userService.getUserFields(page, size, sortBy, direction, fields));
+        return ResponseEntity.ok(ApiResponse.success("Users retrieved successfully", users));
+    }
+    
+    @GetMapping("/batch")
+    @Operation(summary = "Get users by IDs", description = "Resolve several users in one request, ids=1,2,3. Items follow the order of ids and report FOUND or NOT_FOUND")
+    @PreAuthorize("hasRole('SUPER_USER') or hasRole('ADMIN_MODERATOR')")
+    public ResponseEntity<ApiResponse<List<BatchGetItem<UserResponse>>>> getUsersByIds(@RequestParam List<Long> ids) {
+        List<BatchGetItem<UserResponse>> users = userService.getUsersByIds(ids);
         return ResponseEntity.ok(ApiResponse.success("Users retrieved successfully", users));
     }
     
@@ -0,0 +1,134 @@
+// src/main/java/com/regnify/datasource/ReadWriteRoutingDataSource.java
+package com.regnify.datasource;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Sends connections requested inside read-only transactions to a healthy replica and everything
+// else to the primary. Must sit behind a LazyConnectionDataSourceProxy: the transaction manager
+// opens its connection before the read-only flag is bound, the proxy defers that until the first
+// statement.
+// A principal's reads stay on the primary for readYourWrites after one of its read-write
+// transactions commits, so a client reading back what it just wrote never sees a replica that has
+// not applied it yet.
+// JPA read-only transactions have their route chosen up front by ReplicaRoutingJpaDialect, which
+// needs to know before the first query whether the session may use the second-level cache
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    
+    public static final String PRIMARY = "primary";
+    
+    private final ReplicaLagMonitor lagMonitor;
+    private final long readYourWritesNanos;
+    private final Map<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+    
+    public ReadWriteRoutingDataSource(ReplicaLagMonitor lagMonitor, Duration readYourWrites) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWritesNanos = readYourWrites.toNanos();
+    }
+    
+    // Chooses the target of a read-only transaction owned by entityManager and pins it there until
+    // unpin; returns whatever was pinned before, for a transaction suspended by this one
+    public Object pin(EntityManager entityManager) {
+        String replica = wroteRecently(principal()) ? null : lagMonitor.nextHealthyReplica();
+        Object previous = TransactionSynchronizationManager.unbindResourceIfPossible(this);
+        TransactionSynchronizationManager.bindResource(this,
+            new Pin(entityManager, replica != null ? replica : PRIMARY));
+        return previous;
+    }
+    
+    public void unpin(Object previous) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(this);
+        if (previous != null) {
+            TransactionSynchronizationManager.bindResource(this, previous);
+        }
+    }
+    
+    public boolean isPinnedToReplica(EntityManager entityManager) {
+        return TransactionSynchronizationManager.getResource(this) instanceof Pin pin
+            && pin.entityManager() == entityManager && !PRIMARY.equals(pin.route());
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String pinned = pinnedRoute();
+        if (pinned != null) {
+            lagMonitor.recordRouted(pinned);
+            return pinned;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !wroteRecently(principal())) {
+            String replica = lagMonitor.nextHealthyReplica();
+            if (replica != null) {
+                lagMonitor.recordRouted(replica);
+                return replica;
+            }
+        }
+        rememberWrite();
+        lagMonitor.recordRouted(PRIMARY);
+        return PRIMARY;
+    }
+    
+    // Any read-write transaction counts as a write, stamped when it commits
+    private void rememberWrite() {
+        String principal = principal();
+        if (principal == null || readYourWritesNanos <= 0
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lastWriteNanos.put(principal, System.nanoTime());
+            }
+        });
+    }
+    
+    // Only honoured while its entity manager is the one bound to the thread, so a pin left behind by
+    // a transaction that failed to begin cannot route anything else
+    private String pinnedRoute() {
+        if (!(TransactionSynchronizationManager.getResource(this) instanceof Pin pin)) {
+            return null;
+        }
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (resource instanceof EntityManagerHolder holder && holder.getEntityManager() == pin.entityManager()) {
+                return pin.route();
+            }
+        }
+        return null;
+    }
+    
+    private boolean wroteRecently(String principal) {
+        if (principal == null) {
+            return false;
+        }
+        Long wroteAt = lastWriteNanos.get(principal);
+        if (wroteAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - wroteAt <= readYourWritesNanos) {
+            return true;
+        }
+        lastWriteNanos.remove(principal, wroteAt);
+        return false;
+    }
+    
+    private static String principal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+    
+    private record Pin(EntityManager entityManager, String route) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,197 @@
+// src/main/java/com/regnify/datasource/ReplicaLagMonitor.java
+package com.regnify.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Measures replica lag with a heartbeat row: the primary rewrites replica_heartbeat on every check
+// and each replica is asked which beat it has applied. Replicas that are behind by more than
+// maxLag, or cannot be queried, are taken out of rotation until they catch up. Checks run on a
+// thread of their own so a busy @Scheduled job cannot delay them, and a verdict older than a few
+// intervals is not trusted: if the checks stop, every read goes to the primary
+@Slf4j
+public class ReplicaLagMonitor {
+    
+    private static final int MAX_MISSED_CHECKS = 3;
+    
+    private static final String WRITE_BEAT = "UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1";
+    private static final String READ_BEAT = "SELECT beat_at FROM replica_heartbeat WHERE id = 1";
+    
+    private final JdbcTemplate primary;
+    private final Map<String, JdbcTemplate> replicas = new LinkedHashMap<>();
+    private final Duration maxLag;
+    private final Duration interval;
+    private final MeterRegistry meterRegistry;
+    
+    private final Map<String, Double> lagSeconds = new ConcurrentHashMap<>();
+    private final Map<String, Counter> routed = new ConcurrentHashMap<>();
+    private final AtomicInteger roundRobin = new AtomicInteger();
+    private volatile List<String> healthy = List.of();
+    private volatile long checkedAtNanos;
+    private volatile LocalDateTime lastBeat;
+    private ScheduledExecutorService scheduler;
+    
+    public ReplicaLagMonitor(DataSource primary, Map<String, DataSource> replicas,
+                             Duration maxLag, Duration interval, MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        replicas.forEach((name, dataSource) -> this.replicas.put(name, new JdbcTemplate(dataSource)));
+        this.maxLag = maxLag;
+        this.interval = interval;
+        this.meterRegistry = meterRegistry;
+        
+        for (String name : this.replicas.keySet()) {
+            lagSeconds.put(name, Double.NaN);
+            if (meterRegistry != null) {
+                Gauge.builder("regnify.datasource.replica.lag", lagSeconds, lags -> lags.get(name))
+                    .description("Seconds the replica is behind the primary heartbeat")
+                    .baseUnit("seconds")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+                Gauge.builder("regnify.datasource.replica.healthy", this, monitor -> monitor.isHealthy(name) ? 1 : 0)
+                    .description("Whether the replica currently receives read-only traffic")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            }
+        }
+    }
+    
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runCheck, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+    
+    public void check() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<String> inRotation = new ArrayList<>();
+        
+        for (Map.Entry<String, JdbcTemplate> replica : replicas.entrySet()) {
+            String name = replica.getKey();
+            try {
+                Timestamp applied = replica.getValue().queryForObject(READ_BEAT, Timestamp.class);
+                Duration lag = lag(applied != null ? applied.toLocalDateTime() : null, now);
+                if (lag == null) {
+                    // Nothing written by this node yet, the replica joins once the first beat is compared
+                    continue;
+                }
+                lagSeconds.put(name, lag.toMillis() / 1000.0);
+                if (lag.compareTo(maxLag) <= 0) {
+                    inRotation.add(name);
+                } else if (isHealthy(name)) {
+                    log.warn("Replica {} is {} ms behind the primary, routing its reads to the primary",
+                        name, lag.toMillis());
+                }
+            } catch (DataAccessException e) {
+                lagSeconds.put(name, Double.NaN);
+                if (isHealthy(name)) {
+                    log.warn("Replica {} is unreachable, routing its reads to the primary: {}", name, e.getMessage());
+                }
+            }
+        }
+        
+        for (String name : inRotation) {
+            if (!isHealthy(name)) {
+                log.info("Replica {} is back in rotation", name);
+            }
+        }
+        healthy = List.copyOf(inRotation);
+        checkedAtNanos = System.nanoTime();
+        
+        try {
+            primary.update(WRITE_BEAT, Timestamp.valueOf(now));
+            lastBeat = now;
+        } catch (DataAccessException e) {
+            log.error("Failed to write replica heartbeat on the primary: {}", e.getMessage());
+        }
+    }
+    
+    public String nextHealthyReplica() {
+        List<String> current = currentlyHealthy();
+        if (current.isEmpty()) {
+            return null;
+        }
+        return current.get(Math.floorMod(roundRobin.getAndIncrement(), current.size()));
+    }
+    
+    public boolean isHealthy(String name) {
+        return currentlyHealthy().contains(name);
+    }
+    
+    public Map<String, Double> getLagSeconds() {
+        return Map.copyOf(lagSeconds);
+    }
+    
+    void recordRouted(String target) {
+        if (meterRegistry == null) {
+            return;
+        }
+        routed.computeIfAbsent(target, key -> Counter.builder("regnify.datasource.routed")
+            .description("Connections handed out per routing target")
+            .tag("target", key)
+            .register(meterRegistry)).increment();
+    }
+    
+    private void runCheck() {
+        try {
+            check();
+        } catch (RuntimeException e) {
+            // An exception escaping here would cancel every later check
+            log.error("Replica lag check failed: {}", e.getMessage(), e);
+        }
+    }
+    
+    private List<String> currentlyHealthy() {
+        List<String> current = healthy;
+        if (!current.isEmpty() && System.nanoTime() - checkedAtNanos > interval.toNanos() * MAX_MISSED_CHECKS) {
+            return List.of();
+        }
+        return current;
+    }
+    
+    // A replica that has applied the last beat we wrote is at most one interval behind, which is
+    // reported as zero. Otherwise it is missing every beat after the one it holds, the oldest of
+    // which was written roughly one interval later
+    private Duration lag(LocalDateTime applied, LocalDateTime now) {
+        LocalDateTime written = lastBeat;
+        if (written == null) {
+            return null;
+        }
+        if (applied == null) {
+            return Duration.between(written, now);
+        }
+        if (!applied.isBefore(written)) {
+            return Duration.ZERO;
+        }
+        Duration sinceMissed = Duration.between(applied.plus(interval), now);
+        Duration sinceLast = Duration.between(written, now);
+        return sinceMissed.compareTo(sinceLast) > 0 ? sinceMissed : sinceLast;
+    }
+}
\ No newline at end of file
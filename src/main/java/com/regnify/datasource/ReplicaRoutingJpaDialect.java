@@ -0,0 +1,93 @@
+// src/main/java/com/regnify/datasource/ReplicaRoutingJpaDialect.java
+package com.regnify.datasource;
+
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Map;
+
+// Chooses the route of a read-only JPA transaction when it begins instead of on its first
+// statement. Hibernate settles the cache mode before it asks for a connection, so a session bound
+// for a replica has to bypass the second-level and query caches up front: a lagging replica's rows
+// must never be stored there as current. Reads bypass them too, since CacheMode.GET still stores
+// query results on a miss
+public class ReplicaRoutingJpaDialect extends HibernateJpaDialect {
+    
+    private static final String RETRIEVE_MODE = "jakarta.persistence.cache.retrieveMode";
+    private static final String STORE_MODE = "jakarta.persistence.cache.storeMode";
+    
+    private final ReadWriteRoutingDataSource routing;
+    
+    public ReplicaRoutingJpaDialect(ReadWriteRoutingDataSource routing) {
+        this.routing = routing;
+    }
+    
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (!definition.isReadOnly()) {
+            return transactionData;
+        }
+        
+        Object previousPin = routing.pin(entityManager);
+        Map<String, Object> properties = entityManager.getProperties();
+        Object previousRetrieveMode = properties.getOrDefault(RETRIEVE_MODE, CacheRetrieveMode.USE);
+        Object previousStoreMode = properties.getOrDefault(STORE_MODE, CacheStoreMode.USE);
+        if (routing.isPinnedToReplica(entityManager)) {
+            // Set as properties rather than a CacheMode, find(..., hints) reads the modes back from them
+            entityManager.setProperty(RETRIEVE_MODE, CacheRetrieveMode.BYPASS);
+            entityManager.setProperty(STORE_MODE, CacheStoreMode.BYPASS);
+        }
+        return new ReadOnlyTransactionData(transactionData, entityManager, previousRetrieveMode, previousStoreMode,
+            previousPin);
+    }
+    
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReadOnlyTransactionData readOnly) {
+            routing.unpin(readOnly.previousPin());
+            if (readOnly.entityManager().isOpen()) {
+                readOnly.entityManager().setProperty(RETRIEVE_MODE, readOnly.previousRetrieveMode());
+                readOnly.entityManager().setProperty(STORE_MODE, readOnly.previousStoreMode());
+            }
+            super.cleanupTransaction(readOnly.delegate());
+            return;
+        }
+        super.cleanupTransaction(transactionData);
+    }
+    
+    // The transaction manager takes its dialect from the entity manager factory, so it is set there,
+    // for a factory whose data source routes through ReadWriteRoutingDataSource
+    public static class Installer implements BeanPostProcessor {
+        
+        @Override
+        public Object postProcessBeforeInitialization(Object bean, String beanName) {
+            if (bean instanceof LocalContainerEntityManagerFactoryBean factory) {
+                DataSource dataSource = factory.getDataSource();
+                try {
+                    if (dataSource != null && dataSource.isWrapperFor(ReadWriteRoutingDataSource.class)) {
+                        factory.setJpaDialect(new ReplicaRoutingJpaDialect(
+                            dataSource.unwrap(ReadWriteRoutingDataSource.class)));
+                    }
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Cannot unwrap the routing data source", e);
+                }
+            }
+            return bean;
+        }
+    }
+    
+    private record ReadOnlyTransactionData(Object delegate, EntityManager entityManager,
+                                           Object previousRetrieveMode, Object previousStoreMode,
+                                           Object previousPin) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,131 @@
+// src/main/java/com/regnify/dedupe/BloomFilter.java
+package com.regnify.dedupe;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size Bloom filter over strings. Lookups never return a false negative for a value that was
+ * put; a positive only means "possibly present". Safe for concurrent puts and lookups: bits are set
+ * with an atomic OR, so readers see each bit either before or after it is set, never torn.
+ */
+public final class BloomFilter {
+    
+    private static final VarHandle BITS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final double LN2_SQUARED = Math.log(2) * Math.log(2);
+    
+    private final long[] bits;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final long expectedInsertions;
+    private final LongAdder setBits = new LongAdder();
+    
+    private BloomFilter(long bitSize, int hashFunctions, long expectedInsertions) {
+        this.bits = new long[Math.toIntExact((bitSize + 63) / 64)];
+        this.bitSize = (long) bits.length * 64;
+        this.hashFunctions = hashFunctions;
+        this.expectedInsertions = expectedInsertions;
+    }
+    
+    // Optimal size and hash count for the expected number of values at the target false-positive rate
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid Bloom filter sizing: " + expectedInsertions + " / " + falsePositiveRate);
+        }
+        long bitSize = Math.max(64, (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / LN2_SQUARED));
+        int hashFunctions = (int) Math.max(1, Math.min(16, Math.round((double) bitSize / expectedInsertions * Math.log(2))));
+        return new BloomFilter(bitSize, hashFunctions, expectedInsertions);
+    }
+    
+    public void put(String value) {
+        long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = Long.remainderUnsigned(hash1 + i * hash2, bitSize);
+            long mask = 1L << index;
+            long previous = (long) BITS.getAndBitwiseOr(bits, (int) (index >>> 6), mask);
+            if ((previous & mask) == 0) {
+                setBits.increment();
+            }
+        }
+    }
+    
+    public boolean mightContain(String value) {
+        long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = Long.remainderUnsigned(hash1 + i * hash2, bitSize);
+            if (((long) BITS.getOpaque(bits, (int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    // Number of distinct values put so far, estimated from the fraction of bits set
+    public long approximateCount() {
+        double fractionSet = (double) setBits.sum() / bitSize;
+        if (fractionSet >= 1) {
+            return Long.MAX_VALUE;
+        }
+        return Math.round(-(double) bitSize / hashFunctions * Math.log1p(-fractionSet));
+    }
+    
+    // Probability that a value never put is reported as present, given the bits set so far
+    public double expectedFalsePositiveRate() {
+        return Math.pow((double) setBits.sum() / bitSize, hashFunctions);
+    }
+    
+    public long getExpectedInsertions() {
+        return expectedInsertions;
+    }
+    
+    public long getBitSize() {
+        return bitSize;
+    }
+    
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+    
+    public long memoryBytes() {
+        return (long) bits.length * Long.BYTES;
+    }
+    
+    // 64-bit Murmur3-style hash over the UTF-16 chars, four per block, so no byte[] is allocated per lookup
+    private static long hash(String value, long seed) {
+        long hash = seed ^ value.length();
+        int length = value.length();
+        int i = 0;
+        for (; i + 4 <= length; i += 4) {
+            long block = value.charAt(i)
+                | (long) value.charAt(i + 1) << 16
+                | (long) value.charAt(i + 2) << 32
+                | (long) value.charAt(i + 3) << 48;
+            hash ^= mixBlock(block);
+            hash = Long.rotateLeft(hash, 27) * 5 + 0x52DCE729;
+        }
+        long tail = 0;
+        for (int shift = 0; i < length; i++, shift += 16) {
+            tail |= (long) value.charAt(i) << shift;
+        }
+        hash ^= mixBlock(tail);
+        return finalizeHash(hash);
+    }
+    
+    private static long mixBlock(long block) {
+        block *= 0x87C37B91114253D5L;
+        block = Long.rotateLeft(block, 31);
+        return block * 0x4CF5AD432745937FL;
+    }
+    
+    private static long finalizeHash(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,184 @@
+// src/main/java/com/regnify/dedupe/InvoiceNumberFilter.java
+package com.regnify.dedupe;
+
+import com.regnify.repository.InvoiceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Answers "does this invoice number exist?" from memory for numbers that certainly do not, which is
+ * nearly every number in a bulk feed, and only goes to MySQL on a possible hit.
+ *
+ * A missed number (false negative) can only happen for an insert racing a rebuild and is harmless:
+ * the unique index on invoice_number still rejects the duplicate at insert time. Numbers are never
+ * removed from the filter, so stale entries only cost the database probe they would have cost anyway.
+ */
+@Component
+@Slf4j
+public class InvoiceNumberFilter {
+    
+    private static final int BUILD_PAGE_SIZE = 10_000;
+    
+    private final InvoiceRepository invoiceRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    
+    private final Counter definiteMisses;
+    private final Counter confirmedHits;
+    private final Counter falsePositives;
+    private final Counter bypassed;
+    private final AtomicLong lastBuildMillis = new AtomicLong();
+    
+    @Value("${app.invoice.number-filter.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.invoice.number-filter.expected-insertions:1000000}")
+    private long minimumCapacity;
+    
+    @Value("${app.invoice.number-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+    
+    // Capacity is this many times the current row count, leaving room to grow before the next resize
+    @Value("${app.invoice.number-filter.growth-factor:2.0}")
+    private double growthFactor;
+    
+    // Null until the first build completes; every check goes to the database meanwhile
+    private volatile BloomFilter active;
+    // Receives new numbers while a rebuild is streaming, so they are not lost when it is swapped in
+    private volatile BloomFilter building;
+    
+    public InvoiceNumberFilter(InvoiceRepository invoiceRepository, PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.invoiceRepository = invoiceRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        
+        this.definiteMisses = meterRegistry.counter("regnify.invoice.number_filter.checks", "result", "miss");
+        this.confirmedHits = meterRegistry.counter("regnify.invoice.number_filter.checks", "result", "hit");
+        this.falsePositives = meterRegistry.counter("regnify.invoice.number_filter.checks", "result", "false_positive");
+        this.bypassed = meterRegistry.counter("regnify.invoice.number_filter.checks", "result", "bypassed");
+        Gauge.builder("regnify.invoice.number_filter.memory", this, f -> f.active != null ? f.active.memoryBytes() : 0)
+            .baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("regnify.invoice.number_filter.capacity", this, f -> f.active != null ? f.active.getExpectedInsertions() : 0)
+            .register(meterRegistry);
+        Gauge.builder("regnify.invoice.number_filter.items", this, f -> f.active != null ? f.active.approximateCount() : 0)
+            .register(meterRegistry);
+        Gauge.builder("regnify.invoice.number_filter.expected_fpp", this, f -> f.active != null ? f.active.expectedFalsePositiveRate() : 1)
+            .register(meterRegistry);
+        Gauge.builder("regnify.invoice.number_filter.build_time", lastBuildMillis, AtomicLong::get)
+            .baseUnit("milliseconds").register(meterRegistry);
+    }
+    
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+    
+    @Async
+    public void rebuildInBackground() {
+        rebuild();
+    }
+    
+    public boolean exists(String invoiceNumber) {
+        BloomFilter filter = active;
+        if (filter == null) {
+            bypassed.increment();
+            return invoiceRepository.existsByInvoiceNumber(invoiceNumber);
+        }
+        if (!filter.mightContain(invoiceNumber)) {
+            definiteMisses.increment();
+            return false;
+        }
+        boolean exists = invoiceRepository.existsByInvoiceNumber(invoiceNumber);
+        (exists ? confirmedHits : falsePositives).increment();
+        return exists;
+    }
+    
+    // Called before the insert, a rolled back insert only leaves a harmless extra entry
+    public void add(String invoiceNumber) {
+        BloomFilter filter = active;
+        if (filter != null) {
+            filter.put(invoiceNumber);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(invoiceNumber);
+        }
+    }
+    
+    // Streams every invoice number into a filter sized for the current row count, then swaps it in
+    public void rebuild() {
+        if (!rebuildLock.tryLock()) {
+            log.info("Invoice number filter rebuild already running");
+            return;
+        }
+        try {
+            long started = System.currentTimeMillis();
+            long rows = invoiceRepository.count();
+            long capacity = Math.max(minimumCapacity, (long) (rows * growthFactor));
+            BloomFilter next = BloomFilter.create(capacity, falsePositiveRate);
+            building = next;
+            
+            // Keyset pages, each its own short read, rather than one result set held open for every row
+            long loaded = 0;
+            Long afterId = 0L;
+            while (true) {
+                Long after = afterId;
+                List<Object[]> page = readOnlyTransaction.execute(status ->
+                    invoiceRepository.findInvoiceNumbersAfter(after, PageRequest.of(0, BUILD_PAGE_SIZE)));
+                for (Object[] row : page) {
+                    next.put((String) row[1]);
+                }
+                loaded += page.size();
+                if (page.size() < BUILD_PAGE_SIZE) {
+                    break;
+                }
+                afterId = (Long) page.get(page.size() - 1)[0];
+            }
+            
+            active = next;
+            building = null;
+            lastBuildMillis.set(System.currentTimeMillis() - started);
+            log.info("Invoice number filter built: {} numbers, capacity {}, {} KiB, {} hash functions, in {} ms",
+                loaded, capacity, next.memoryBytes() / 1024, next.getHashFunctions(), lastBuildMillis.get());
+        } catch (RuntimeException e) {
+            building = null;
+            log.error("Invoice number filter rebuild failed, checks keep using the previous filter: {}", e.getMessage(), e);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+    
+    // Grows the filter once it is fuller than its capacity, where the false-positive rate starts to climb
+    @Scheduled(fixedDelayString = "${app.invoice.number-filter.resize-check-interval-ms:300000}")
+    public void resizeIfFull() {
+        BloomFilter filter = active;
+        if (enabled && filter != null && filter.approximateCount() > filter.getExpectedInsertions()) {
+            log.info("Invoice number filter holds ~{} numbers, over its capacity of {}, resizing",
+                filter.approximateCount(), filter.getExpectedInsertions());
+            rebuild();
+        }
+    }
+    
+    public boolean isReady() {
+        return active != null;
+    }
+}
\ No newline at end of file
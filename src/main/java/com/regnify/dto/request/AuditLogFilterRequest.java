@@ -0,0 +1,31 @@
+// src/main/java/com/regnify/dto/request/AuditLogFilterRequest.java
+package com.regnify.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogFilterRequest {
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime startDate;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime endDate;
+    
+    private String entityType;
+    
+    private String action;
+    
+    private String performedBy;
+    
+    private Integer page = 0;
+    
+    private Integer size = 20;
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+// src/main/java/com/regnify/dto/request/ExportFormat.java
+package com.regnify.dto.request;
+
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+    
+    private final String mediaType;
+    private final String extension;
+    
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+    
+    public String getMediaType() {
+        return mediaType;
+    }
+    
+    public String getExtension() {
+        return extension;
+    }
+}
\ No newline at end of file
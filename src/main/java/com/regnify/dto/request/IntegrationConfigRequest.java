@@ -2,6 +2,8 @@
 package com.regnify.dto.request;
 
 import com.regnify.model.IntegrationConfig;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -30,6 +32,10 @@ public class IntegrationConfigRequest {
     
     private String apiKey;
     
+    private String tokenEndpointUrl;
+    
+    private String oauthScope;
+    
     private Boolean enableDailySending = false;
     
     private String sendingTime = "09:00";
@@ -37,4 +43,21 @@ public class IntegrationConfigRequest {
     private IntegrationConfig.Frequency frequency = IntegrationConfig.Frequency.DAILY;
     
     private Boolean isActive = true;
+    
+    @Min(value = 1, message = "Max concurrent requests must be at least 1")
+    @Max(value = 64, message = "Max concurrent requests must not exceed 64")
+    private Integer maxConcurrentRequests;
+    
+    @Min(value = 100, message = "Request timeout must be at least 100 ms")
+    @Max(value = 300000, message = "Request timeout must not exceed 300000 ms")
+    private Integer requestTimeoutMs;
+    
+    @Min(value = 1, message = "Batch max items must be at least 1")
+    @Max(value = 10000, message = "Batch max items must not exceed 10000")
+    private Integer batchMaxItems;
+    
+    @Min(value = 1024, message = "Batch max bytes must be at least 1024")
+    private Long batchMaxBytes;
+    
+    private IntegrationConfig.BatchCompression batchCompression;
 }
\ No newline at end of file
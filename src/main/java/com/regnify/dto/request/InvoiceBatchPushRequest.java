@@ -0,0 +1,22 @@
+// src/main/java/com/regnify/dto/request/InvoiceBatchPushRequest.java
+package com.regnify.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoiceBatchPushRequest {
+    
+    @NotEmpty(message = "Invoice IDs are required")
+    @Size(max = 50000, message = "At most 50000 invoices can be pushed at once")
+    private List<Long> invoiceIds;
+    
+    private boolean includeAttachments = true;
+}
\ No newline at end of file
@@ -41,4 +41,6 @@ public class InvoiceFilterRequest {
     private String sortBy = "createdAt";
     
     private String sortDirection = "DESC";
+    
+    private InvoiceView view = InvoiceView.FULL;
 }
\ No newline at end of file
@@ -40,6 +40,9 @@ public class InvoiceRequest {
     
     private MultipartFile file;
     
+    // A finished resumable upload (POST /invoices/uploads), used instead of file
+    private String uploadId;
+    
     private String invoiceName;
     
     private String notes;
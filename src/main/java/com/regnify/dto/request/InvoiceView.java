@@ -0,0 +1,9 @@
+// src/main/java/com/regnify/dto/request/InvoiceView.java
+package com.regnify.dto.request;
+
+// Shape of invoice list rows: FULL is the InvoiceResponse clients have always received,
+// SUMMARY skips the TEXT columns and is only returned when asked for
+public enum InvoiceView {
+    FULL,
+    SUMMARY
+}
\ No newline at end of file
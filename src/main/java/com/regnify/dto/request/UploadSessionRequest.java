@@ -0,0 +1,25 @@
+// src/main/java/com/regnify/dto/request/UploadSessionRequest.java
+package com.regnify.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionRequest {
+    
+    @NotBlank(message = "File name is required")
+    private String fileName;
+    
+    private String contentType;
+    
+    // Total size of the file in bytes
+    @NotNull(message = "Length is required")
+    @Positive(message = "Length must be positive")
+    private Long length;
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+// src/main/java/com/regnify/dto/response/AuditLogResponse.java
+package com.regnify.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogResponse {
+    
+    private Long id;
+    private String action;
+    private String entityType;
+    private Long entityId;
+    private String oldValue;
+    private String newValue;
+    private String performedBy;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime performedAt;
+    
+    private String ipAddress;
+    private String userAgent;
+    private String status;
+    private String errorMessage;
+    
+    // HOT rows come from MySQL, COLD rows from archived segment files
+    private String storageTier;
+}
\ No newline at end of file
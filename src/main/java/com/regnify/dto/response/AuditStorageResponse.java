@@ -0,0 +1,25 @@
+// src/main/java/com/regnify/dto/response/AuditStorageResponse.java
+package com.regnify.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditStorageResponse {
+    
+    private Integer coldSegments;
+    private Long coldRows;
+    private Long coldBytes;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime coldFrom;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime coldTo;
+}
\ No newline at end of file
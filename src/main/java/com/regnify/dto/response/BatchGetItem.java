@@ -0,0 +1,23 @@
+// src/main/java/com/regnify/dto/response/BatchGetItem.java
+package com.regnify.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGetItem<T> {
+    
+    private Long id;
+    private Status status;
+    private T data;
+    
+    public enum Status {
+        FOUND,
+        NOT_FOUND,
+        // Soft-deleted, reported without data
+        DELETED
+    }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+// src/main/java/com/regnify/dto/response/BatchPushItemResult.java
+package com.regnify.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchPushItemResult {
+    
+    private Long invoiceId;
+    private String invoiceNumber;
+    private Outcome outcome;
+    private String message;
+    
+    public enum Outcome {
+        // Provider confirmed the item
+        ACCEPTED,
+        // Provider answered for the item and refused it
+        REJECTED,
+        // The batch request failed or the provider did not answer for the item, safe to retry
+        FAILED,
+        TIMEOUT
+    }
+}
\ No newline at end of file
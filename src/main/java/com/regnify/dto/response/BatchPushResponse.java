@@ -0,0 +1,28 @@
+// src/main/java/com/regnify/dto/response/BatchPushResponse.java
+package com.regnify.dto.response;
+
+import com.regnify.model.IntegrationConfig;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchPushResponse {
+    
+    private Long configId;
+    private String serviceProviderName;
+    private IntegrationConfig.BatchCompression compression;
+    private int batches;
+    private int items;
+    private int accepted;
+    private int rejected;
+    private int failed;
+    private long payloadBytes;
+    private long transferredBytes;
+    private long durationMs;
+    private List<BatchPushItemResult> results;
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+// src/main/java/com/regnify/dto/response/DashboardDeltaResponse.java
+package com.regnify.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardDeltaResponse {
+    
+    private Long totalDocuments;
+    private Map<String, Long> documentsByStatus;
+    private Map<String, Long> documentsByCountry;
+    private Map<String, Long> documentsByType;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime occurredAt;
+}
\ No newline at end of file
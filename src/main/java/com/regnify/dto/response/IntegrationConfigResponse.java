@@ -19,10 +19,17 @@ public class IntegrationConfigResponse {
     private String sendEndpointUrl;
     private String fetchEndpointUrl;
     private IntegrationConfig.AuthType authType;
+    private String tokenEndpointUrl;
+    private String oauthScope;
     private Boolean enableDailySending;
     private String sendingTime;
     private IntegrationConfig.Frequency frequency;
     private Boolean isActive;
+    private Integer maxConcurrentRequests;
+    private Integer requestTimeoutMs;
+    private Integer batchMaxItems;
+    private Long batchMaxBytes;
+    private IntegrationConfig.BatchCompression batchCompression;
     private String syncStatus;
     
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
@@ -0,0 +1,21 @@
+// src/main/java/com/regnify/dto/response/IntegrationFanOutResponse.java
+package com.regnify.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IntegrationFanOutResponse {
+    
+    private String operation;
+    private int providers;
+    private int succeeded;
+    private int failed;
+    private long durationMs;
+    private List<ProviderCallResult> results;
+}
\ No newline at end of file
@@ -2,17 +2,24 @@
 package com.regnify.dto.response;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import com.regnify.model.Invoice;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonSerialize(using = InvoiceResponse.Serializer.class)
 public class InvoiceResponse {
     
     private Long id;
@@ -46,4 +53,60 @@ public class InvoiceResponse {
     
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime updatedAt;
+    
+    // Writes the same document as the bean serializer, without per-call property lookup. The
+    // @JsonFormat patterns above still drive deserialization (idempotent replays read this back)
+    static class Serializer extends StdSerializer<InvoiceResponse> {
+        
+        private static final SerializableString ID = JsonFields.name("id");
+        private static final SerializableString INVOICE_NUMBER = JsonFields.name("invoiceNumber");
+        private static final SerializableString DOC_DATE = JsonFields.name("docDate");
+        private static final SerializableString PRO_DATE = JsonFields.name("proDate");
+        private static final SerializableString SENDER = JsonFields.name("sender");
+        private static final SerializableString RECEIVER = JsonFields.name("receiver");
+        private static final SerializableString STATUS = JsonFields.name("status");
+        private static final SerializableString BUSINESS_STATUS = JsonFields.name("businessStatus");
+        private static final SerializableString PROVIDER_RESPONSE = JsonFields.name("providerResponse");
+        private static final SerializableString COUNTRY = JsonFields.name("country");
+        private static final SerializableString DOCUMENT_TYPE = JsonFields.name("documentType");
+        private static final SerializableString FILE_NAME = JsonFields.name("fileName");
+        private static final SerializableString FILE_SIZE = JsonFields.name("fileSize");
+        private static final SerializableString UPLOADED_BY = JsonFields.name("uploadedBy");
+        private static final SerializableString PROCESSED_BY = JsonFields.name("processedBy");
+        private static final SerializableString VALIDATION_ERRORS = JsonFields.name("validationErrors");
+        private static final SerializableString VALIDATION_SCORE = JsonFields.name("validationScore");
+        private static final SerializableString PROCESSED_AT = JsonFields.name("processedAt");
+        private static final SerializableString CREATED_AT = JsonFields.name("createdAt");
+        private static final SerializableString UPDATED_AT = JsonFields.name("updatedAt");
+        
+        Serializer() {
+            super(InvoiceResponse.class);
+        }
+        
+        @Override
+        public void serialize(InvoiceResponse invoice, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(invoice);
+            JsonFields.write(gen, ID, invoice.id);
+            JsonFields.write(gen, INVOICE_NUMBER, invoice.invoiceNumber);
+            JsonFields.write(gen, DOC_DATE, invoice.docDate);
+            JsonFields.write(gen, PRO_DATE, invoice.proDate);
+            JsonFields.write(gen, SENDER, invoice.sender);
+            JsonFields.write(gen, RECEIVER, invoice.receiver);
+            JsonFields.write(gen, STATUS, invoice.status);
+            JsonFields.write(gen, BUSINESS_STATUS, invoice.businessStatus);
+            JsonFields.write(gen, PROVIDER_RESPONSE, invoice.providerResponse);
+            JsonFields.write(gen, COUNTRY, invoice.country);
+            JsonFields.write(gen, DOCUMENT_TYPE, invoice.documentType);
+            JsonFields.write(gen, FILE_NAME, invoice.fileName);
+            JsonFields.write(gen, FILE_SIZE, invoice.fileSize);
+            JsonFields.write(gen, UPLOADED_BY, invoice.uploadedBy);
+            JsonFields.write(gen, PROCESSED_BY, invoice.processedBy);
+            JsonFields.write(gen, VALIDATION_ERRORS, invoice.validationErrors);
+            JsonFields.write(gen, VALIDATION_SCORE, invoice.validationScore);
+            JsonFields.write(gen, PROCESSED_AT, invoice.processedAt);
+            JsonFields.write(gen, CREATED_AT, invoice.createdAt);
+            JsonFields.write(gen, UPDATED_AT, invoice.updatedAt);
+            gen.writeEndObject();
+        }
+    }
 }
\ No newline at end of file
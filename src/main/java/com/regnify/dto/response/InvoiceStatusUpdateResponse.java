@@ -0,0 +1,26 @@
+// src/main/java/com/regnify/dto/response/InvoiceStatusUpdateResponse.java
+package com.regnify.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.regnify.model.Invoice;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoiceStatusUpdateResponse {
+    
+    private Long invoiceId;
+    private String invoiceNumber;
+    private Invoice.Status previousStatus;
+    private Invoice.Status status;
+    private boolean deleted;
+    private String performedBy;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime occurredAt;
+}
\ No newline at end of file
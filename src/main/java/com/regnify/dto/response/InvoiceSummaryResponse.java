@@ -0,0 +1,89 @@
+// src/main/java/com/regnify/dto/response/InvoiceSummaryResponse.java
+package com.regnify.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.regnify.model.Invoice;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Row of the invoice list and search results. Selected directly by a constructor expression, so the
+// list never loads validation_errors, file paths or the deletion fields, nor manages entities
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonSerialize(using = InvoiceSummaryResponse.Serializer.class)
+public class InvoiceSummaryResponse {
+    
+    private Long id;
+    private String invoiceNumber;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate docDate;
+    
+    private String sender;
+    private String receiver;
+    private Invoice.Status status;
+    private Invoice.BusinessStatus businessStatus;
+    private Invoice.ProviderResponse providerResponse;
+    private Invoice.Country country;
+    private Invoice.DocumentType documentType;
+    private String fileName;
+    private Integer validationScore;
+    private String uploadedBy;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createdAt;
+    
+    // Writes the same document as the bean serializer, without per-call property lookup
+    static class Serializer extends StdSerializer<InvoiceSummaryResponse> {
+        
+        private static final SerializableString ID = JsonFields.name("id");
+        private static final SerializableString INVOICE_NUMBER = JsonFields.name("invoiceNumber");
+        private static final SerializableString DOC_DATE = JsonFields.name("docDate");
+        private static final SerializableString SENDER = JsonFields.name("sender");
+        private static final SerializableString RECEIVER = JsonFields.name("receiver");
+        private static final SerializableString STATUS = JsonFields.name("status");
+        private static final SerializableString BUSINESS_STATUS = JsonFields.name("businessStatus");
+        private static final SerializableString PROVIDER_RESPONSE = JsonFields.name("providerResponse");
+        private static final SerializableString COUNTRY = JsonFields.name("country");
+        private static final SerializableString DOCUMENT_TYPE = JsonFields.name("documentType");
+        private static final SerializableString FILE_NAME = JsonFields.name("fileName");
+        private static final SerializableString VALIDATION_SCORE = JsonFields.name("validationScore");
+        private static final SerializableString UPLOADED_BY = JsonFields.name("uploadedBy");
+        private static final SerializableString CREATED_AT = JsonFields.name("createdAt");
+        
+        Serializer() {
+            super(InvoiceSummaryResponse.class);
+        }
+        
+        @Override
+        public void serialize(InvoiceSummaryResponse invoice, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(invoice);
+            JsonFields.write(gen, ID, invoice.id);
+            JsonFields.write(gen, INVOICE_NUMBER, invoice.invoiceNumber);
+            JsonFields.write(gen, DOC_DATE, invoice.docDate);
+            JsonFields.write(gen, SENDER, invoice.sender);
+            JsonFields.write(gen, RECEIVER, invoice.receiver);
+            JsonFields.write(gen, STATUS, invoice.status);
+            JsonFields.write(gen, BUSINESS_STATUS, invoice.businessStatus);
+            JsonFields.write(gen, PROVIDER_RESPONSE, invoice.providerResponse);
+            JsonFields.write(gen, COUNTRY, invoice.country);
+            JsonFields.write(gen, DOCUMENT_TYPE, invoice.documentType);
+            JsonFields.write(gen, FILE_NAME, invoice.fileName);
+            JsonFields.write(gen, VALIDATION_SCORE, invoice.validationScore);
+            JsonFields.write(gen, UPLOADED_BY, invoice.uploadedBy);
+            JsonFields.write(gen, CREATED_AT, invoice.createdAt);
+            gen.writeEndObject();
+        }
+    }
+}
\ No newline at end of file
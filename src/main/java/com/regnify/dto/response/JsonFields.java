@@ -0,0 +1,103 @@
+// src/main/java/com/regnify/dto/response/JsonFields.java
+package com.regnify.dto.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// Field writers for the hand-written response serializers. Names are encoded once per JVM, and nulls
+// are written as null, the same output the bean serializer produces
+final class JsonFields {
+    
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    private JsonFields() {
+    }
+    
+    static SerializableString name(String name) {
+        return new SerializedString(name);
+    }
+    
+    static void write(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+    
+    static void write(JsonGenerator gen, SerializableString name, Long value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+    
+    static void write(JsonGenerator gen, SerializableString name, Integer value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+    
+    static void write(JsonGenerator gen, SerializableString name, Enum<?> value) throws IOException {
+        write(gen, name, value == null ? null : value.name());
+    }
+    
+    // yyyy-MM-dd
+    static void write(JsonGenerator gen, SerializableString name, LocalDate value) throws IOException {
+        if (value == null || value.getYear() < 0 || value.getYear() > 9999) {
+            write(gen, name, value == null ? null : DATE.format(value));
+            return;
+        }
+        char[] chars = new char[10];
+        writeDate(chars, value);
+        gen.writeFieldName(name);
+        gen.writeString(chars, 0, chars.length);
+    }
+    
+    // yyyy-MM-dd HH:mm:ss. DateTimeFormatter walks its printer chain per field and dominated the
+    // cost of a list row; these two patterns are fixed-width, so the digits are written directly
+    static void write(JsonGenerator gen, SerializableString name, LocalDateTime value) throws IOException {
+        if (value == null || value.getYear() < 0 || value.getYear() > 9999) {
+            write(gen, name, value == null ? null : DATE_TIME.format(value));
+            return;
+        }
+        char[] chars = new char[19];
+        writeDate(chars, value.toLocalDate());
+        chars[10] = ' ';
+        writeTwoDigits(chars, 11, value.getHour());
+        chars[13] = ':';
+        writeTwoDigits(chars, 14, value.getMinute());
+        chars[16] = ':';
+        writeTwoDigits(chars, 17, value.getSecond());
+        gen.writeFieldName(name);
+        gen.writeString(chars, 0, chars.length);
+    }
+    
+    private static void writeDate(char[] chars, LocalDate date) {
+        int year = date.getYear();
+        writeTwoDigits(chars, 0, year / 100);
+        writeTwoDigits(chars, 2, year % 100);
+        chars[4] = '-';
+        writeTwoDigits(chars, 5, date.getMonthValue());
+        chars[7] = '-';
+        writeTwoDigits(chars, 8, date.getDayOfMonth());
+    }
+    
+    private static void writeTwoDigits(char[] chars, int offset, int value) {
+        chars[offset] = (char) ('0' + value / 10);
+        chars[offset + 1] = (char) ('0' + value % 10);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+// src/main/java/com/regnify/dto/response/PageResponse.java
+package com.regnify.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+// Page envelope with the same property names Spring's Page JSON has always had, so existing
+// clients keep working. It is a plain DTO rather than PageImpl, whose JSON shape Spring Data
+// does not guarantee, and lets the content be SparseRow or summary rows
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageResponse<T> {
+    
+    private List<T> content;
+    private PageableInfo pageable;
+    private boolean last;
+    private long totalElements;
+    private int totalPages;
+    private int size;
+    private int number;
+    private SortInfo sort;
+    private boolean first;
+    private int numberOfElements;
+    private boolean empty;
+    
+    public static <T> PageResponse<T> of(Page<T> page) {
+        SortInfo sort = SortInfo.of(page.getSort());
+        Pageable pageable = page.getPageable();
+        PageableInfo pageableInfo = pageable.isPaged()
+            ? new PageableInfo(pageable.getPageNumber(), pageable.getPageSize(), sort, pageable.getOffset(), true, false)
+            : null;
+        return new PageResponse<>(page.getContent(), pageableInfo, page.isLast(), page.getTotalElements(),
+            page.getTotalPages(), page.getSize(), page.getNumber(), sort, page.isFirst(),
+            page.getNumberOfElements(), page.isEmpty());
+    }
+    
+    public record PageableInfo(int pageNumber, int pageSize, SortInfo sort, long offset, boolean paged, boolean unpaged) {
+    }
+    
+    public record SortInfo(boolean empty, boolean sorted, boolean unsorted) {
+        
+        static SortInfo of(Sort sort) {
+            return new SortInfo(sort.isEmpty(), sort.isSorted(), sort.isUnsorted());
+        }
+    }
+}
\ No newline at end of file
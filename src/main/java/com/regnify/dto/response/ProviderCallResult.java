@@ -0,0 +1,26 @@
+// src/main/java/com/regnify/dto/response/ProviderCallResult.java
+package com.regnify.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProviderCallResult {
+    
+    private Long configId;
+    private String serviceProviderName;
+    private String operation;
+    private boolean success;
+    private Integer httpStatus;
+    private long latencyMs;
+    private boolean timedOut;
+    private String message;
+    
+    // Full body for callers that parse it (batch item results), message holds the truncated form
+    @JsonIgnore
+    private String responseBody;
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+// src/main/java/com/regnify/dto/response/SparseRow.java
+package com.regnify.dto.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+// One row of a fields= response: the requested names, shared by every row of the page, and the
+// selected values in the same order. Written straight from the two arrays, no DTO or map per row
+@JsonSerialize(using = SparseRow.Serializer.class)
+public final class SparseRow {
+    
+    private final String[] names;
+    private final Object[] values;
+    
+    public SparseRow(String[] names, Object[] values) {
+        this.names = names;
+        this.values = values;
+    }
+    
+    public Object get(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return values[i];
+            }
+        }
+        throw new IllegalArgumentException("Field not selected: " + name);
+    }
+    
+    static class Serializer extends StdSerializer<SparseRow> {
+        
+        Serializer() {
+            super(SparseRow.class);
+        }
+        
+        @Override
+        public void serialize(SparseRow row, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(row);
+            for (int i = 0; i < row.names.length; i++) {
+                provider.defaultSerializeField(row.names[i], row.values[i], gen);
+            }
+            gen.writeEndObject();
+        }
+    }
+}
\ No newline at end of file
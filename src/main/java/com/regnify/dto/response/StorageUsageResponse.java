@@ -0,0 +1,22 @@
+// src/main/java/com/regnify/dto/response/StorageUsageResponse.java
+package com.regnify.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StorageUsageResponse {
+    
+    private Long usedBytes;
+    private Long fileCount;
+    private Long totalBytes;
+    private Long usableBytes;
+    private Map<String, Long> bytesByDirectory;
+    private Map<String, Long> bytesByCountry;
+    private Map<String, Long> bytesByUploader;
+}
\ No newline at end of file
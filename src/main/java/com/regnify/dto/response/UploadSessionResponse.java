@@ -0,0 +1,25 @@
+// src/main/java/com/regnify/dto/response/UploadSessionResponse.java
+package com.regnify.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionResponse {
+    
+    private String id;
+    private String fileName;
+    private String contentType;
+    private Long length;
+    private Long offset;
+    private boolean complete;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime expiresAt;
+}
\ No newline at end of file
@@ -2,16 +2,23 @@
 package com.regnify.dto.response;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import com.regnify.model.User;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonSerialize(using = UserResponse.Serializer.class)
 public class UserResponse {
     
     private Long id;
@@ -30,4 +37,39 @@ public class UserResponse {
     
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime updatedAt;
+    
+    // Writes the same document as the bean serializer, without per-call property lookup
+    static class Serializer extends StdSerializer<UserResponse> {
+        
+        private static final SerializableString ID = JsonFields.name("id");
+        private static final SerializableString FIRST_NAME = JsonFields.name("firstName");
+        private static final SerializableString LAST_NAME = JsonFields.name("lastName");
+        private static final SerializableString EMAIL = JsonFields.name("email");
+        private static final SerializableString USERNAME = JsonFields.name("username");
+        private static final SerializableString ROLE = JsonFields.name("role");
+        private static final SerializableString STATUS = JsonFields.name("status");
+        private static final SerializableString LAST_LOGIN = JsonFields.name("lastLogin");
+        private static final SerializableString CREATED_AT = JsonFields.name("createdAt");
+        private static final SerializableString UPDATED_AT = JsonFields.name("updatedAt");
+        
+        Serializer() {
+            super(UserResponse.class);
+        }
+        
+        @Override
+        public void serialize(UserResponse user, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(user);
+            JsonFields.write(gen, ID, user.id);
+            JsonFields.write(gen, FIRST_NAME, user.firstName);
+            JsonFields.write(gen, LAST_NAME, user.lastName);
+            JsonFields.write(gen, EMAIL, user.email);
+            JsonFields.write(gen, USERNAME, user.username);
+            JsonFields.write(gen, ROLE, user.role);
+            JsonFields.write(gen, STATUS, user.status);
+            JsonFields.write(gen, LAST_LOGIN, user.lastLogin);
+            JsonFields.write(gen, CREATED_AT, user.createdAt);
+            JsonFields.write(gen, UPDATED_AT, user.updatedAt);
+            gen.writeEndObject();
+        }
+    }
 }
\ No newline at end of file
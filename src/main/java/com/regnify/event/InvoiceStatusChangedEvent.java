@@ -0,0 +1,49 @@
+// src/main/java/com/regnify/event/InvoiceStatusChangedEvent.java
+package com.regnify.event;
+
+import com.regnify.model.Invoice;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class InvoiceStatusChangedEvent {
+    
+    private Long invoiceId;
+    private String invoiceNumber;
+    
+    // Null previous values mean the invoice was just created,
+    // null current values mean it was just deleted
+    private Invoice.Status previousStatus;
+    private Invoice.Status status;
+    private Invoice.Country previousCountry;
+    private Invoice.Country country;
+    private Invoice.DocumentType previousDocumentType;
+    private Invoice.DocumentType documentType;
+    
+    private String performedBy;
+    private LocalDateTime occurredAt;
+    
+    public static InvoiceStatusChangedEvent created(Invoice invoice, String performedBy) {
+        return new InvoiceStatusChangedEvent(invoice.getId(), invoice.getInvoiceNumber(),
+            null, invoice.getStatus(), null, invoice.getCountry(), null, invoice.getDocumentType(),
+            performedBy, LocalDateTime.now());
+    }
+    
+    public static InvoiceStatusChangedEvent deleted(Invoice invoice, String performedBy) {
+        return new InvoiceStatusChangedEvent(invoice.getId(), invoice.getInvoiceNumber(),
+            invoice.getStatus(), null, invoice.getCountry(), null, invoice.getDocumentType(), null,
+            performedBy, LocalDateTime.now());
+    }
+    
+    public static InvoiceStatusChangedEvent changed(Invoice invoice, Invoice.Status previousStatus,
+                                                    Invoice.Country previousCountry,
+                                                    Invoice.DocumentType previousDocumentType,
+                                                    String performedBy) {
+        return new InvoiceStatusChangedEvent(invoice.getId(), invoice.getInvoiceNumber(),
+            previousStatus, invoice.getStatus(), previousCountry, invoice.getCountry(),
+            previousDocumentType, invoice.getDocumentType(), performedBy, LocalDateTime.now());
+    }
+}
\ No newline at end of file
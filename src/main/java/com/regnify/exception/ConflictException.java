@@ -0,0 +1,13 @@
+// src/main/java/com/regnify/exception/ConflictException.java
+package com.regnify.exception;
+
+public class ConflictException extends RuntimeException {
+    
+    public ConflictException(String message) {
+        super(message);
+    }
+    
+    public ConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+// src/main/java/com/regnify/exception/TooManyRequestsException.java
+package com.regnify.exception;
+
+public class TooManyRequestsException extends RuntimeException {
+    
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,258 @@
+// src/main/java/com/regnify/integration/OAuth2TokenManager.java
+package com.regnify.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.regnify.model.IntegrationConfig;
+import com.regnify.repository.IntegrationConfigRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// Access tokens for OAUTH2 providers. Tokens are cached per config and refreshed ahead of expiry;
+// concurrent callers that need a new token share one in-flight token request. Refreshed tokens are
+// only marked dirty here and written back to integration_configs in batches
+@Component
+@Slf4j
+public class OAuth2TokenManager {
+    
+    private final IntegrationConfigRepository integrationConfigRepository;
+    private final TransactionOperations transactionOperations;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final HttpClient httpClient;
+    
+    private final Map<Long, CachedToken> tokens = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<CachedToken>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Long, CachedToken> dirty = new ConcurrentHashMap<>();
+    // Evicted configs whose stored access_token must not be trusted again until a new one is issued
+    private final Set<Long> evicted = ConcurrentHashMap.newKeySet();
+    
+    @Value("${app.integration.oauth.refresh-skew-seconds:120}")
+    private long refreshSkewSeconds;
+    
+    @Value("${app.integration.oauth.default-expires-in-seconds:3600}")
+    private long defaultExpiresInSeconds;
+    
+    public OAuth2TokenManager(IntegrationConfigRepository integrationConfigRepository,
+                              TransactionOperations transactionOperations,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.integration.client.connect-timeout-ms:5000}") long connectTimeoutMs) {
+        this.integrationConfigRepository = integrationConfigRepository;
+        this.transactionOperations = transactionOperations;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+            .build();
+    }
+    
+    public CompletableFuture<String> getAccessToken(IntegrationConfig config) {
+        CachedToken token = evicted.contains(config.getId())
+            ? null
+            : tokens.computeIfAbsent(config.getId(), id -> fromConfig(config));
+        Instant now = Instant.now();
+        
+        if (token != null && token.isUsableAt(now)) {
+            if (token.needsRefreshAt(now, refreshSkewSeconds)) {
+                // Still valid: hand it out and renew in the background
+                refresh(config);
+            }
+            return CompletableFuture.completedFuture(token.accessToken());
+        }
+        return refresh(config).thenApply(CachedToken::accessToken);
+    }
+    
+    // Drops the cached token, e.g. after the provider answered 401, the credentials changed or the
+    // config was deactivated. The token stored on the config is the same one, so the next call goes
+    // to the token endpoint, and a request already in flight under the old state is not cached
+    public void evict(Long configId) {
+        evicted.add(configId);
+        tokens.remove(configId);
+        dirty.remove(configId);
+        inFlight.remove(configId);
+    }
+    
+    @Scheduled(fixedDelayString = "${app.integration.oauth.refresh-check-interval-ms:30000}")
+    public void refreshExpiring() {
+        Instant now = Instant.now();
+        tokens.forEach((configId, token) -> {
+            if (token.needsRefreshAt(now, refreshSkewSeconds)) {
+                refresh(token.config());
+            }
+        });
+    }
+    
+    @Scheduled(fixedDelayString = "${app.integration.oauth.persist-interval-ms:5000}")
+    public void persistRefreshedTokens() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        Map<Long, CachedToken> batch = new LinkedHashMap<>();
+        for (Long configId : List.copyOf(dirty.keySet())) {
+            CachedToken token = dirty.remove(configId);
+            if (token != null) {
+                batch.put(configId, token);
+            }
+        }
+        
+        try {
+            transactionOperations.executeWithoutResult(status -> {
+                List<IntegrationConfig> configs = integrationConfigRepository.findAllById(batch.keySet());
+                for (IntegrationConfig config : configs) {
+                    CachedToken token = batch.get(config.getId());
+                    config.setAccessToken(token.accessToken());
+                    config.setRefreshToken(token.refreshToken());
+                    config.setTokenExpiry(LocalDateTime.ofInstant(token.expiresAt(), ZoneId.systemDefault()));
+                }
+                integrationConfigRepository.saveAll(configs);
+            });
+            log.debug("Persisted {} refreshed OAuth2 tokens", batch.size());
+        } catch (RuntimeException e) {
+            // Keep them for the next round unless a newer token was issued in the meantime
+            batch.forEach(dirty::putIfAbsent);
+            log.error("Failed to persist refreshed OAuth2 tokens: {}", e.getMessage());
+        }
+    }
+    
+    private CompletableFuture<CachedToken> refresh(IntegrationConfig config) {
+        CompletableFuture<CachedToken> created = new CompletableFuture<>();
+        CompletableFuture<CachedToken> existing = inFlight.putIfAbsent(config.getId(), created);
+        if (existing != null) {
+            return existing;
+        }
+        
+        requestToken(config).whenComplete((token, error) -> {
+            boolean current = inFlight.remove(config.getId(), created);
+            if (error != null) {
+                created.completeExceptionally(error);
+                return;
+            }
+            if (current) {
+                tokens.put(config.getId(), token);
+                dirty.put(config.getId(), token);
+                evicted.remove(config.getId());
+            }
+            created.complete(token);
+        });
+        return created;
+    }
+    
+    private CompletableFuture<CachedToken> requestToken(IntegrationConfig config) {
+        if (config.getTokenEndpointUrl() == null || config.getTokenEndpointUrl().isBlank()) {
+            return CompletableFuture.failedFuture(
+                new IllegalStateException("No token endpoint configured for " + config.getServiceProviderName()));
+        }
+        
+        CachedToken current = tokens.get(config.getId());
+        String refreshToken = current != null ? current.refreshToken() : config.getRefreshToken();
+        if (refreshToken == null) {
+            return tokenRequest(config, "client_credentials", null);
+        }
+        // A rejected refresh token (revoked, rotated elsewhere) falls back to a fresh grant
+        return tokenRequest(config, "refresh_token", refreshToken)
+            .exceptionallyCompose(error -> tokenRequest(config, "client_credentials", null));
+    }
+    
+    private CompletableFuture<CachedToken> tokenRequest(IntegrationConfig config, String grantType, String refreshToken) {
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("grant_type", grantType);
+        if (refreshToken != null) {
+            form.put("refresh_token", refreshToken);
+        }
+        if (config.getOauthScope() != null && !config.getOauthScope().isBlank()) {
+            form.put("scope", config.getOauthScope());
+        }
+        String credentials = config.getClientKey() + ":" + config.getClientSecret();
+        
+        HttpRequest request = HttpRequest.newBuilder(URI.create(config.getTokenEndpointUrl()))
+            .timeout(Duration.ofMillis(config.getRequestTimeoutMs() != null ? config.getRequestTimeoutMs() : 10000))
+            .header("Authorization", "Basic " + Base64.getEncoder()
+                .encodeToString(credentials.getBytes(StandardCharsets.UTF_8)))
+            .header("Content-Type", "application/x-www-form-urlencoded")
+            .header("Accept", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(encode(form)))
+            .build();
+        
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+            .thenApply(response -> {
+                boolean success = response.statusCode() >= 200 && response.statusCode() < 300;
+                meterRegistry.counter("regnify.integration.oauth.token.requests",
+                    "provider", config.getServiceProviderName(),
+                    "grant", grantType,
+                    "outcome", success ? "success" : "error").increment();
+                if (!success) {
+                    throw new IllegalStateException("Token endpoint returned HTTP " + response.statusCode());
+                }
+                return parse(config, response.body(), refreshToken);
+            });
+    }
+    
+    private CachedToken parse(IntegrationConfig config, String body, String previousRefreshToken) {
+        try {
+            JsonNode json = objectMapper.readTree(body);
+            String accessToken = json.path("access_token").asText(null);
+            if (accessToken == null) {
+                throw new IllegalStateException("Token response has no access_token");
+            }
+            long expiresIn = json.path("expires_in").asLong(defaultExpiresInSeconds);
+            // Providers that do not rotate refresh tokens omit it, keep the one we have
+            String refreshToken = json.path("refresh_token").asText(previousRefreshToken);
+            log.info("Obtained OAuth2 token for {} (expires in {}s)", config.getServiceProviderName(), expiresIn);
+            return new CachedToken(config, accessToken, refreshToken, Instant.now().plusSeconds(expiresIn));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private CachedToken fromConfig(IntegrationConfig config) {
+        if (config.getAccessToken() == null || config.getTokenExpiry() == null) {
+            return null;
+        }
+        Instant expiresAt = config.getTokenExpiry().atZone(ZoneId.systemDefault()).toInstant();
+        return new CachedToken(config, config.getAccessToken(), config.getRefreshToken(), expiresAt);
+    }
+    
+    private String encode(Map<String, String> form) {
+        return form.entrySet().stream()
+            .map(entry -> URLEncoder.encode(entry.getKey(), StandardCharsets.UTF_8) + "="
+                + URLEncoder.encode(entry.getValue(), StandardCharsets.UTF_8))
+            .collect(Collectors.joining("&"));
+    }
+    
+    private record CachedToken(IntegrationConfig config, String accessToken, String refreshToken, Instant expiresAt) {
+        
+        boolean isUsableAt(Instant now) {
+            return now.isBefore(expiresAt);
+        }
+        
+        boolean needsRefreshAt(Instant now, long skewSeconds) {
+            return !now.isBefore(expiresAt.minusSeconds(skewSeconds));
+        }
+    }
+}
\ No newline at end of file
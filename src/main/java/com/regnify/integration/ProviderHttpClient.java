@@ -0,0 +1,260 @@
+// src/main/java/com/regnify/integration/ProviderHttpClient.java
+package com.regnify.integration;
+
+import com.regnify.dto.response.ProviderCallResult;
+import com.regnify.model.IntegrationConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Non-blocking client for provider endpoints. Calls go out through HttpClient.sendAsync, so an
+// outstanding call holds no thread; each provider gets a gate that caps its in-flight calls and
+// queues the rest until a slot frees up
+@Component
+@Slf4j
+public class ProviderHttpClient {
+    
+    private static final int MAX_MESSAGE_LENGTH = 2000;
+    
+    private final HttpClient httpClient;
+    private final MeterRegistry meterRegistry;
+    private final OAuth2TokenManager tokenManager;
+    private final Map<Long, ProviderGate> gates = new ConcurrentHashMap<>();
+    
+    @Value("${app.integration.client.request-timeout-ms:10000}")
+    private long defaultRequestTimeoutMs;
+    
+    @Value("${app.integration.client.max-concurrent-requests:4}")
+    private int defaultMaxConcurrentRequests;
+    
+    @Value("${app.integration.client.queue-timeout-ms:30000}")
+    private long queueTimeoutMs;
+    
+    public ProviderHttpClient(@Value("${app.integration.client.connect-timeout-ms:5000}") long connectTimeoutMs,
+                              MeterRegistry meterRegistry,
+                              OAuth2TokenManager tokenManager) {
+        this.httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+        this.meterRegistry = meterRegistry;
+        this.tokenManager = tokenManager;
+    }
+    
+    public CompletableFuture<ProviderCallResult> get(IntegrationConfig config, String url, String operation) {
+        return execute(config, operation, request(url).GET());
+    }
+    
+    public CompletableFuture<ProviderCallResult> postJson(IntegrationConfig config, String url, String operation,
+                                                          String body) {
+        return execute(config, operation, request(url)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8)));
+    }
+    
+    public CompletableFuture<ProviderCallResult> post(IntegrationConfig config, String url, String operation,
+                                                      byte[] body, Map<String, String> headers) {
+        HttpRequest.Builder builder = request(url).POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        headers.forEach(builder::header);
+        return execute(config, operation, builder);
+    }
+    
+    private CompletableFuture<ProviderCallResult> execute(IntegrationConfig config, String operation,
+                                                          HttpRequest.Builder builder) {
+        CompletableFuture<ProviderCallResult> result = new CompletableFuture<>();
+        long timeoutMs = config.getRequestTimeoutMs() != null ? config.getRequestTimeoutMs() : defaultRequestTimeoutMs;
+        
+        // OAuth2 tokens may need a round trip to the token endpoint first, which is chained rather than awaited
+        CompletableFuture<String> authorization = config.getAuthType() == IntegrationConfig.AuthType.OAUTH2
+            ? tokenManager.getAccessToken(config).thenApply(token -> "Bearer " + token)
+            : CompletableFuture.completedFuture(authorizationHeader(config));
+        
+        authorization.whenComplete((header, error) -> {
+            if (error != null) {
+                result.complete(failure(config, operation, null, 0, false,
+                    "Token request failed: " + unwrap(error).getMessage()));
+                return;
+            }
+            try {
+                if (!header.isEmpty()) {
+                    builder.header("Authorization", header);
+                }
+                submit(config, operation, builder.timeout(Duration.ofMillis(timeoutMs)).build(), timeoutMs, result);
+            } catch (IllegalArgumentException e) {
+                result.complete(failure(config, operation, null, 0, false, "Invalid request: " + e.getMessage()));
+            }
+        });
+        return result;
+    }
+    
+    private void submit(IntegrationConfig config, String operation, HttpRequest request, long timeoutMs,
+                        CompletableFuture<ProviderCallResult> result) {
+        long queuedAt = System.nanoTime();
+        gate(config).submit(() -> {
+            // Bounded wait for a slot: a provider that is slow to answer must not build an endless queue
+            if ((System.nanoTime() - queuedAt) / 1_000_000 > queueTimeoutMs) {
+                result.complete(failure(config, operation, null, 0, true,
+                    "Timed out waiting for a free connection slot"));
+                return CompletableFuture.completedFuture(null);
+            }
+            
+            Timer.Sample sample = Timer.start(meterRegistry);
+            long started = System.nanoTime();
+            return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    long latencyMs = (System.nanoTime() - started) / 1_000_000;
+                    ProviderCallResult callResult = error == null
+                        ? fromResponse(config, operation, response, latencyMs)
+                        : fromError(config, operation, error, latencyMs, timeoutMs);
+                    sample.stop(meterRegistry.timer("regnify.integration.calls",
+                        "provider", config.getServiceProviderName(),
+                        "operation", operation,
+                        "outcome", callResult.isSuccess() ? "success" : "error"));
+                    if (callResult.getHttpStatus() != null && callResult.getHttpStatus() == 401
+                            && config.getAuthType() == IntegrationConfig.AuthType.OAUTH2) {
+                        // Revoked before its expiry, the next call fetches a new one
+                        tokenManager.evict(config.getId());
+                    }
+                    result.complete(callResult);
+                    return null;
+                });
+        });
+    }
+    
+    private String authorizationHeader(IntegrationConfig config) {
+        if (config.getAuthType() == null) {
+            return "";
+        }
+        switch (config.getAuthType()) {
+            case BASIC:
+                String auth = config.getUsername() + ":" + config.getPassword();
+                return "Basic " + Base64.getEncoder().encodeToString(auth.getBytes(StandardCharsets.UTF_8));
+            
+            case API_KEY:
+                return "ApiKey " + config.getApiKey();
+            
+            case BEARER_TOKEN:
+                return config.getAccessToken() != null ? "Bearer " + config.getAccessToken() : "";
+            
+            default:
+                return "";
+        }
+    }
+    
+    private HttpRequest.Builder request(String url) {
+        return HttpRequest.newBuilder(URI.create(url));
+    }
+    
+    private ProviderGate gate(IntegrationConfig config) {
+        int limit = config.getMaxConcurrentRequests() != null && config.getMaxConcurrentRequests() > 0
+            ? config.getMaxConcurrentRequests()
+            : defaultMaxConcurrentRequests;
+        // A changed cap takes a fresh gate, calls still running on the old one drain on their own
+        return gates.compute(config.getId(),
+            (id, gate) -> gate != null && gate.limit == limit ? gate : new ProviderGate(limit));
+    }
+    
+    private ProviderCallResult fromResponse(IntegrationConfig config, String operation,
+                                            HttpResponse<String> response, long latencyMs) {
+        int status = response.statusCode();
+        boolean success = status >= 200 && status < 300;
+        String message = success ? truncate(response.body()) : "HTTP " + status + ": " + truncate(response.body());
+        return new ProviderCallResult(config.getId(), config.getServiceProviderName(), operation,
+            success, status, latencyMs, false, message, response.body());
+    }
+    
+    private ProviderCallResult fromError(IntegrationConfig config, String operation, Throwable error,
+                                         long latencyMs, long timeoutMs) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof HttpTimeoutException) {
+            return failure(config, operation, null, latencyMs, true, "Timed out after " + timeoutMs + " ms");
+        }
+        log.warn("Call {} to {} failed: {}", operation, config.getServiceProviderName(), cause.toString());
+        return failure(config, operation, null, latencyMs, false,
+            cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName());
+    }
+    
+    private ProviderCallResult failure(IntegrationConfig config, String operation, Integer status,
+                                       long latencyMs, boolean timedOut, String message) {
+        return new ProviderCallResult(config.getId(), config.getServiceProviderName(), operation,
+            false, status, latencyMs, timedOut, message, null);
+    }
+    
+    private Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+    
+    private String truncate(String body) {
+        if (body == null) {
+            return null;
+        }
+        return body.length() > MAX_MESSAGE_LENGTH ? body.substring(0, MAX_MESSAGE_LENGTH) : body;
+    }
+    
+    // Counts in-flight calls for one provider. Waiting calls are suppliers that start the request,
+    // the slot is handed to the next one when a call's future completes
+    private static final class ProviderGate {
+        
+        private final int limit;
+        private final Deque<Supplier<CompletableFuture<?>>> waiting = new ArrayDeque<>();
+        private int active;
+        
+        private ProviderGate(int limit) {
+            this.limit = limit;
+        }
+        
+        void submit(Supplier<CompletableFuture<?>> call) {
+            synchronized (this) {
+                if (active >= limit) {
+                    waiting.add(call);
+                    return;
+                }
+                active++;
+            }
+            run(call);
+        }
+        
+        private void run(Supplier<CompletableFuture<?>> call) {
+            // Loop rather than recurse over calls that finish synchronously (expired queue entries)
+            while (call != null) {
+                CompletableFuture<?> running;
+                try {
+                    running = call.get();
+                } catch (RuntimeException e) {
+                    running = CompletableFuture.completedFuture(null);
+                }
+                if (!running.isDone()) {
+                    running.whenComplete((ignored, error) -> run(next()));
+                    return;
+                }
+                call = next();
+            }
+        }
+        
+        private synchronized Supplier<CompletableFuture<?>> next() {
+            Supplier<CompletableFuture<?>> call = waiting.poll();
+            if (call == null) {
+                active--;
+            }
+            return call;
+        }
+    }
+}
\ No newline at end of file
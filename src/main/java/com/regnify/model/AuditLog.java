@@ -5,18 +5,27 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "audit_logs")
+// Audit entries are append-only, the table is partitioned by month on performed_at (V3 migration)
+@Immutable
+@Table(name = "audit_logs", indexes = {
+    @Index(name = "idx_audit_logs_performed_at", columnList = "performed_at"),
+    @Index(name = "idx_audit_logs_entity_type_performed_at", columnList = "entity_type, performed_at"),
+    @Index(name = "idx_audit_logs_action_performed_at", columnList = "action, performed_at"),
+    @Index(name = "idx_audit_logs_performed_by_performed_at", columnList = "performed_by, performed_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class AuditLog {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_logs_seq")
+    @SequenceGenerator(name = "audit_logs_seq", sequenceName = "audit_logs_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "action", nullable = false, length = 50)
@@ -0,0 +1,57 @@
+// src/main/java/com/regnify/model/IdempotencyRecord.java
+package com.regnify.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Short-lived result of a request sent with an Idempotency-Key. The row is inserted before the work
+// starts, so the unique key is what serializes concurrent retries of the same request
+@Entity
+@Table(name = "idempotency_keys", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_idempotency_keys_username_key", columnNames = {"username", "idempotency_key"})
+}, indexes = {
+    @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, length = 100)
+    private String username;
+    
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;
+    
+    // SHA-256 of the request, a key reused for a different request is refused
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+    
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+    
+    public enum Status {
+        IN_PROGRESS, COMPLETED
+    }
+}
\ No newline at end of file
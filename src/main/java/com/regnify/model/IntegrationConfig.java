@@ -1,10 +1,13 @@
 // src/main/java/com/regnify/model/IntegrationConfig.java
 package com.regnify.model;
 
+import com.regnify.service.DataVersionListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -12,15 +15,18 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "integration_configs")
 @Table(name = "integration_configs")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, DataVersionListener.class})
 public class IntegrationConfig {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "integration_configs_seq")
+    @SequenceGenerator(name = "integration_configs_seq", sequenceName = "integration_configs_seq", allocationSize = 20)
     private Long id;
     
     @Column(name = "service_provider_name", nullable = false, length = 255)
@@ -60,6 +66,13 @@ public class IntegrationConfig {
     @Column(name = "token_expiry")
     private LocalDateTime tokenExpiry;
     
+    // OAUTH2 client-credentials grant: clientKey/clientSecret authenticate against this endpoint
+    @Column(name = "token_endpoint_url", length = 500)
+    private String tokenEndpointUrl;
+    
+    @Column(name = "oauth_scope", length = 255)
+    private String oauthScope;
+    
     @Column(name = "enable_daily_sending")
     private Boolean enableDailySending = false;
     
@@ -79,6 +92,24 @@ public class IntegrationConfig {
     @Column(name = "sync_errors", columnDefinition = "TEXT")
     private String syncErrors;
     
+    // Per-provider limits for the outbound client, null falls back to app.integration.client.*
+    @Column(name = "max_concurrent_requests")
+    private Integer maxConcurrentRequests;
+    
+    @Column(name = "request_timeout_ms")
+    private Integer requestTimeoutMs;
+    
+    // Batch push limits, null falls back to app.integration.batch.*
+    @Column(name = "batch_max_items")
+    private Integer batchMaxItems;
+    
+    @Column(name = "batch_max_bytes")
+    private Long batchMaxBytes;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "batch_compression", length = 10)
+    private BatchCompression batchCompression;
+    
     @Column(name = "is_active")
     private Boolean isActive = true;
     
@@ -104,6 +135,11 @@ public class IntegrationConfig {
         CUSTOM
     }
     
+    public enum BatchCompression {
+        NONE,
+        GZIP
+    }
+    
     public enum Frequency {
         DAILY,
         WEEKLY,
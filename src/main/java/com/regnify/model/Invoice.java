@@ -1,6 +1,7 @@
 // src/main/java/com/regnify/model/Invoice.java
 package com.regnify.model;
 
+import com.regnify.service.DataVersionListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -13,22 +14,30 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+// Every list query filters on deleted = false first, so the composite indexes lead with it and
+// end with created_at to serve the default sort without a filesort
 @Table(name = "invoices", indexes = {
     @Index(name = "idx_invoices_invoice_number", columnList = "invoice_number", unique = true),
-    @Index(name = "idx_invoices_status", columnList = "status"),
-    @Index(name = "idx_invoices_country", columnList = "country"),
-    @Index(name = "idx_invoices_doc_date", columnList = "doc_date"),
+    @Index(name = "idx_invoices_deleted_created_at", columnList = "deleted, created_at"),
+    @Index(name = "idx_invoices_deleted_status_created_at", columnList = "deleted, status, created_at"),
+    @Index(name = "idx_invoices_deleted_country_created_at", columnList = "deleted, country, created_at"),
+    @Index(name = "idx_invoices_deleted_country_status_created_at", columnList = "deleted, country, status, created_at"),
+    @Index(name = "idx_invoices_deleted_document_type_created_at", columnList = "deleted, document_type, created_at"),
+    @Index(name = "idx_invoices_deleted_uploaded_by_created_at", columnList = "deleted, uploaded_by, created_at"),
+    @Index(name = "idx_invoices_deleted_doc_date", columnList = "deleted, doc_date"),
+    @Index(name = "idx_invoices_deleted_status_processed_at", columnList = "deleted, status, processed_at"),
     @Index(name = "idx_invoices_sender", columnList = "sender"),
     @Index(name = "idx_invoices_receiver", columnList = "receiver")
 })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, DataVersionListener.class})
 public class Invoice {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "invoices_seq")
+    @SequenceGenerator(name = "invoices_seq", sequenceName = "invoices_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "invoice_number", nullable = false, unique = true, length = 100)
@@ -78,6 +87,14 @@ public class Invoice {
     @Column(name = "file_path", length = 500)
     private String filePath;
     
+    // How the file is stored on disk; fileSize is the original size, storedFileSize the size on disk
+    @Enumerated(EnumType.STRING)
+    @Column(name = "file_codec", nullable = false, length = 10)
+    private FileCodec fileCodec = FileCodec.NONE;
+    
+    @Column(name = "stored_file_size")
+    private Long storedFileSize;
+    
     @Column(name = "validation_errors", columnDefinition = "TEXT")
     private String validationErrors;
     
@@ -156,4 +173,9 @@ public class Invoice {
         ORDER,
         DELIVERY_NOTE
     }
+    
+    public enum FileCodec {
+        NONE,
+        GZIP
+    }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+// src/main/java/com/regnify/model/InvoicePushStatus.java
+package com.regnify.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+// Delivery state of one invoice at one provider. An invoice without a row for a provider has not
+// been pushed there yet; the invoice's own providerResponse only keeps the latest outcome
+@Entity
+@Table(name = "invoice_push_status")
+@IdClass(InvoicePushStatus.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoicePushStatus {
+    
+    @Id
+    @Column(name = "integration_config_id")
+    private Long integrationConfigId;
+    
+    @Id
+    @Column(name = "invoice_id")
+    private Long invoiceId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "provider_response", nullable = false, length = 20)
+    private Invoice.ProviderResponse providerResponse;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long integrationConfigId;
+        private Long invoiceId;
+    }
+}
\ No newline at end of file
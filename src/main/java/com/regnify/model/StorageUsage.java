@@ -0,0 +1,44 @@
+// src/main/java/com/regnify/model/StorageUsage.java
+package com.regnify.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Running totals of stored file bytes, maintained incrementally as files are written and removed
+@Entity
+@Table(name = "storage_usage", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_storage_usage_dimension_key", columnNames = {"dimension", "dimension_key"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StorageUsage {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Dimension dimension;
+    
+    @Column(name = "dimension_key", nullable = false, length = 255)
+    private String dimensionKey;
+    
+    @Column(nullable = false)
+    private Long bytes = 0L;
+    
+    @Column(name = "file_count", nullable = false)
+    private Long fileCount = 0L;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    public enum Dimension {
+        DIRECTORY, COUNTRY, UPLOADER
+    }
+}
\ No newline at end of file
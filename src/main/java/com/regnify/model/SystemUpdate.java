@@ -1,24 +1,31 @@
 // src/main/java/com/regnify/model/SystemUpdate.java
 package com.regnify.model;
 
+import com.regnify.service.DataVersionListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "system_updates")
 @Table(name = "system_updates")
+@EntityListeners(DataVersionListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class SystemUpdate {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "system_updates_seq")
+    @SequenceGenerator(name = "system_updates_seq", sequenceName = "system_updates_seq", allocationSize = 20)
     private Long id;
     
     @Column(nullable = false, length = 255)
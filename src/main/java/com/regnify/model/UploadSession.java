@@ -0,0 +1,54 @@
+// src/main/java/com/regnify/model/UploadSession.java
+package com.regnify.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// A resumable upload in progress. uploadOffset only moves once the chunk before it is on disk and
+// its checksum matched, so it is always the point a client can resume from
+@Entity
+@Table(name = "upload_sessions", indexes = {
+    @Index(name = "idx_upload_sessions_expires_at", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSession {
+    
+    // Random UUID, also the name of the partial file
+    @Id
+    @Column(length = 36)
+    private String id;
+    
+    @Column(nullable = false, length = 100)
+    private String username;
+    
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+    
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+    
+    @Column(name = "upload_length", nullable = false)
+    private Long uploadLength;
+    
+    @Column(name = "upload_offset", nullable = false)
+    private Long uploadOffset;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+    
+    public boolean isComplete() {
+        return uploadOffset.equals(uploadLength);
+    }
+}
\ No newline at end of file
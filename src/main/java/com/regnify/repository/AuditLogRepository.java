@@ -2,14 +2,20 @@
 package com.regnify.repository;
 
 import com.regnify.model.AuditLog;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
@@ -20,12 +26,14 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     
     Page<AuditLog> findByAction(String action, Pageable pageable);
     
-    @Query("SELECT al FROM AuditLog al WHERE " +
+    String FILTER_CONDITIONS =
            "(:startDate IS NULL OR al.performedAt >= :startDate) AND " +
            "(:endDate IS NULL OR al.performedAt <= :endDate) AND " +
            "(:entityType IS NULL OR al.entityType = :entityType) AND " +
            "(:action IS NULL OR al.action = :action) AND " +
-           "(:performedBy IS NULL OR al.performedBy = :performedBy)")
+           "(:performedBy IS NULL OR al.performedBy = :performedBy)";
+    
+    @Query("SELECT al FROM AuditLog al WHERE " + FILTER_CONDITIONS)
     Page<AuditLog> findWithFilters(
         @Param("startDate") LocalDateTime startDate,
         @Param("endDate") LocalDateTime endDate,
@@ -33,4 +41,19 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
         @Param("action") String action,
         @Param("performedBy") String performedBy,
         Pageable pageable);
+    
+    // One keyset chunk of an export, see InvoiceRepository.findExportChunk
+    @QueryHints({
+        @QueryHint(name = HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT al FROM AuditLog al WHERE " + FILTER_CONDITIONS + " AND al.id > :afterId ORDER BY al.id")
+    List<AuditLog> findExportChunk(
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate,
+        @Param("entityType") String entityType,
+        @Param("action") String action,
+        @Param("performedBy") String performedBy,
+        @Param("afterId") Long afterId,
+        Pageable pageable);
 }
\ No newline at end of file
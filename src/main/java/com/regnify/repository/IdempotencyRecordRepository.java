@@ -0,0 +1,31 @@
+// src/main/java/com/regnify/repository/IdempotencyRecordRepository.java
+package com.regnify.repository;
+
+import com.regnify.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+    
+    Optional<IdempotencyRecord> findByUsernameAndIdempotencyKey(String username, String idempotencyKey);
+    
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = com.regnify.model.IdempotencyRecord.Status.COMPLETED, " +
+           "r.responseBody = :responseBody, r.updatedAt = :now WHERE r.id = :id")
+    int complete(@Param("id") Long id, @Param("responseBody") String responseBody, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id")
+    int deleteClaim(@Param("id") Long id);
+    
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
\ No newline at end of file
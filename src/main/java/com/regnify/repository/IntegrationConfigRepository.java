@@ -2,16 +2,21 @@
 package com.regnify.repository;
 
 import com.regnify.model.IntegrationConfig;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 @Repository
 public interface IntegrationConfigRepository extends JpaRepository<IntegrationConfig, Long> {
     
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<IntegrationConfig> findByServiceProviderName(String serviceProviderName);
     
     List<IntegrationConfig> findByIsActiveTrue();
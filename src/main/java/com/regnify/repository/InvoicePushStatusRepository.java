@@ -0,0 +1,28 @@
+// src/main/java/com/regnify/repository/InvoicePushStatusRepository.java
+package com.regnify.repository;
+
+import com.regnify.model.Invoice;
+import com.regnify.model.InvoicePushStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface InvoicePushStatusRepository extends JpaRepository<InvoicePushStatus, InvoicePushStatus.Key> {
+    
+    @Modifying
+    @Query("DELETE FROM InvoicePushStatus s WHERE s.integrationConfigId = :configId AND s.invoiceId IN :invoiceIds")
+    int deleteForInvoices(@Param("configId") Long configId, @Param("invoiceIds") Collection<Long> invoiceIds);
+    
+    // One statement per outcome instead of a merge per invoice; replaces rows removed by deleteForInvoices
+    @Modifying
+    @Query("INSERT INTO InvoicePushStatus (integrationConfigId, invoiceId, providerResponse, updatedAt) " +
+           "SELECT :configId, i.id, :response, LOCAL_DATETIME FROM Invoice i WHERE i.id IN :invoiceIds")
+    int insertForInvoices(@Param("configId") Long configId,
+                          @Param("invoiceIds") Collection<Long> invoiceIds,
+                          @Param("response") Invoice.ProviderResponse response);
+}
\ No newline at end of file
@@ -1,19 +1,27 @@
 // src/main/java/com/regnify/repository/InvoiceRepository.java
 package com.regnify.repository;
 
+import com.regnify.dto.response.InvoiceSummaryResponse;
 import com.regnify.model.Invoice;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 @Repository
 public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
     
@@ -21,6 +29,12 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
     
     boolean existsByInvoiceNumber(String invoiceNumber);
     
+    // Feeds the in-memory invoice number filter in id order, [id, invoiceNumber] per row.
+    // Soft-deleted rows are included, the unique index covers them too
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "false"))
+    @Query("SELECT i.id, i.invoiceNumber FROM Invoice i WHERE i.id > :afterId ORDER BY i.id")
+    List<Object[]> findInvoiceNumbersAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
     Page<Invoice> findByStatus(Invoice.Status status, Pageable pageable);
     
     Page<Invoice> findByCountry(Invoice.Country country, Pageable pageable);
@@ -29,7 +43,20 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
     
     Page<Invoice> findByStatusAndCountry(Invoice.Status status, Invoice.Country country, Pageable pageable);
     
-    @Query("SELECT i FROM Invoice i WHERE " +
+    String SUMMARY_SELECT = "SELECT new com.regnify.dto.response.InvoiceSummaryResponse(" +
+           "i.id, i.invoiceNumber, i.docDate, i.sender, i.receiver, i.status, i.businessStatus, " +
+           "i.providerResponse, i.country, i.documentType, i.fileName, i.validationScore, i.uploadedBy, " +
+           "i.createdAt) FROM Invoice i WHERE ";
+    
+    // Properties a fields= request may pick from: the summary columns, never the TEXT ones
+    SparseFields SUMMARY_FIELDS = SparseFields.builder("Invoice", "i")
+        .field("id", "invoiceNumber", "sender", "receiver", "status", "businessStatus", "providerResponse",
+               "country", "documentType", "fileName", "validationScore", "uploadedBy")
+        .temporal("docDate", "yyyy-MM-dd")
+        .temporal("createdAt", "yyyy-MM-dd HH:mm:ss")
+        .build();
+    
+    String FILTER_CONDITIONS =
            "(:startDate IS NULL OR i.docDate >= :startDate) AND " +
            "(:endDate IS NULL OR i.docDate <= :endDate) AND " +
            "(:status IS NULL OR i.status = :status) AND " +
@@ -38,7 +65,17 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
            "(:sender IS NULL OR LOWER(i.sender) LIKE LOWER(CONCAT('%', :sender, '%'))) AND " +
            "(:receiver IS NULL OR LOWER(i.receiver) LIKE LOWER(CONCAT('%', :receiver, '%'))) AND " +
            "(:uploadedBy IS NULL OR i.uploadedBy = :uploadedBy) AND " +
-           "i.deleted = false")
+           "i.deleted = false";
+    
+    String SEARCH_CONDITIONS =
+           "(:search IS NULL OR " +
+           "LOWER(i.invoiceNumber) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(i.sender) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(i.receiver) LIKE LOWER(CONCAT('%', :search, '%'))) AND " +
+           "i.deleted = false";
+    
+    @Query(value = "SELECT i FROM Invoice i WHERE " + FILTER_CONDITIONS,
+           countQuery = "SELECT COUNT(i) FROM Invoice i WHERE " + FILTER_CONDITIONS)
     Page<Invoice> findWithFilters(
         @Param("startDate") LocalDate startDate,
         @Param("endDate") LocalDate endDate,
@@ -50,13 +87,46 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
         @Param("uploadedBy") String uploadedBy,
         Pageable pageable);
     
-    @Query("SELECT i FROM Invoice i WHERE " +
-           "(:search IS NULL OR " +
-           "LOWER(i.invoiceNumber) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(i.sender) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(i.receiver) LIKE LOWER(CONCAT('%', :search, '%'))) AND " +
-           "i.deleted = false")
-    Page<Invoice> searchInvoices(@Param("search") String search, Pageable pageable);
+    // Summary rows are DTOs, not entities: only the listed columns are read and nothing enters the
+    // persistence context, so there is nothing to dirty-check at flush
+    @Query(value = SUMMARY_SELECT + FILTER_CONDITIONS,
+           countQuery = "SELECT COUNT(i) FROM Invoice i WHERE " + FILTER_CONDITIONS)
+    Page<InvoiceSummaryResponse> findSummariesWithFilters(
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        @Param("status") Invoice.Status status,
+        @Param("country") Invoice.Country country,
+        @Param("documentType") Invoice.DocumentType documentType,
+        @Param("sender") String sender,
+        @Param("receiver") String receiver,
+        @Param("uploadedBy") String uploadedBy,
+        Pageable pageable);
+    
+    // One keyset chunk of an export: the next rows after afterId in id order. Each chunk is a short
+    // query of its own, so an export never holds a connection or an open result set between chunks
+    @QueryHints({
+        @QueryHint(name = HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT i FROM Invoice i WHERE " + FILTER_CONDITIONS + " AND i.id > :afterId ORDER BY i.id")
+    List<Invoice> findExportChunk(
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        @Param("status") Invoice.Status status,
+        @Param("country") Invoice.Country country,
+        @Param("documentType") Invoice.DocumentType documentType,
+        @Param("sender") String sender,
+        @Param("receiver") String receiver,
+        @Param("uploadedBy") String uploadedBy,
+        @Param("afterId") Long afterId,
+        Pageable pageable);
+    
+    // Both searches return a List so the page limit applies without a count query
+    @Query("SELECT i FROM Invoice i WHERE " + SEARCH_CONDITIONS)
+    List<Invoice> searchInvoices(@Param("search") String search, Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + SEARCH_CONDITIONS)
+    List<InvoiceSummaryResponse> searchSummaries(@Param("search") String search, Pageable pageable);
     
     @Query("SELECT COUNT(i) FROM Invoice i WHERE i.deleted = false")
     Long countTotalDocuments();
@@ -70,9 +140,17 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
     @Query("SELECT COUNT(i) FROM Invoice i WHERE i.status = 'ERROR' AND i.deleted = false")
     Long countErrorDocuments();
     
+    @Query("SELECT COUNT(i) FROM Invoice i WHERE i.deleted = false AND i.status = 'COMPLETE' " +
+           "AND i.processedAt >= :start AND i.processedAt < :end")
+    Long countProcessedBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+    
     @Query("SELECT i.country, COUNT(i) FROM Invoice i WHERE i.deleted = false GROUP BY i.country")
     List<Object[]> countByCountry();
     
+    // The detail ETag's input on its own, empty for a missing or deleted invoice
+    @Query("SELECT COALESCE(i.updatedAt, i.createdAt) FROM Invoice i WHERE i.id = :id AND i.deleted = false")
+    Optional<LocalDateTime> findChangedAtById(@Param("id") Long id);
+    
     @Query("SELECT i.status, COUNT(i) FROM Invoice i WHERE i.deleted = false GROUP BY i.status")
     List<Object[]> countByStatus();
     
@@ -99,4 +177,20 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
            "@@ plainto_tsquery('english', :query) AND deleted = false",
            nativeQuery = true)
     Page<Invoice> fullTextSearch(@Param("query") String query, Pageable pageable);
+    
+    // Complete invoices the provider has not settled: never pushed there, or left awaiting a retry.
+    // Keyset pagination: pushed invoices leave the result set, so offsets would skip rows
+    @Query("SELECT i.id FROM Invoice i WHERE i.deleted = false AND i.status = 'COMPLETE' AND i.id > :afterId " +
+           "AND NOT EXISTS (SELECT 1 FROM InvoicePushStatus s WHERE s.integrationConfigId = :configId " +
+           "AND s.invoiceId = i.id AND s.providerResponse NOT IN :awaiting) ORDER BY i.id")
+    List<Long> findIdsAwaitingPush(@Param("configId") Long configId,
+                                   @Param("awaiting") Collection<Invoice.ProviderResponse> awaiting,
+                                   @Param("afterId") Long afterId,
+                                   Pageable pageable);
+    
+    // Stamps updatedAt itself, a bulk update skips the auditing listener and it feeds the detail ETag
+    @Modifying
+    @Query("UPDATE Invoice i SET i.providerResponse = :response, i.updatedAt = LOCAL_DATETIME WHERE i.id IN :ids")
+    int updateProviderResponse(@Param("ids") Collection<Long> ids,
+                               @Param("response") Invoice.ProviderResponse response);
 }
\ No newline at end of file
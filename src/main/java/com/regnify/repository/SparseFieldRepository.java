@@ -0,0 +1,58 @@
+// src/main/java/com/regnify/repository/SparseFieldRepository.java
+package com.regnify.repository;
+
+import com.regnify.dto.response.SparseRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.List;
+import java.util.Map;
+
+// Runs fields= list requests: the SELECT list holds only the requested columns, the WHERE clause is
+// the one the full list query uses, and rows come back as scalar tuples, never entities
+@Repository
+@RequiredArgsConstructor
+public class SparseFieldRepository {
+    
+    private final EntityManager entityManager;
+    
+    public Page<SparseRow> findPage(SparseFields.Selection selection, String where, Map<String, Object> params,
+                                    Pageable pageable) {
+        String whereClause = where == null ? "" : " WHERE " + where;
+        
+        TypedQuery<Tuple> query = entityManager.createQuery(
+            selection.jpql() + whereClause + selection.catalog().orderBy(pageable.getSort()), Tuple.class);
+        params.forEach(query::setParameter);
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize());
+        
+        String[] names = selection.names();
+        DateTimeFormatter[] formatters = selection.formatters();
+        List<SparseRow> rows = query.getResultList().stream()
+            .map(tuple -> {
+                Object[] values = tuple.toArray();
+                for (int i = 0; i < values.length; i++) {
+                    if (formatters[i] != null && values[i] instanceof TemporalAccessor temporal) {
+                        values[i] = formatters[i].format(temporal);
+                    }
+                }
+                return new SparseRow(names, values);
+            })
+            .toList();
+        
+        // Skips the count when the page is the first and only one, like the derived queries do
+        return PageableExecutionUtils.getPage(rows, pageable, () -> {
+            TypedQuery<Long> count = entityManager.createQuery(selection.catalog().count() + whereClause, Long.class);
+            params.forEach(count::setParameter);
+            return count.getSingleResult();
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+// src/main/java/com/regnify/repository/SparseFields.java
+package com.regnify.repository;
+
+import com.regnify.exception.ValidationException;
+import org.springframework.data.domain.Sort;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Whitelist of the properties a list endpoint accepts in {@code fields=}, each mapped to the entity
+ * attribute it is selected from. Names double as JPQL paths, so only catalogued names ever reach a
+ * query string. Temporal fields carry the same pattern as the {@code @JsonFormat} on the full DTO.
+ */
+public final class SparseFields {
+    
+    private final String entity;
+    private final String alias;
+    private final Map<String, DateTimeFormatter> fields;
+    
+    private SparseFields(String entity, String alias, Map<String, DateTimeFormatter> fields) {
+        this.entity = entity;
+        this.alias = alias;
+        this.fields = fields;
+    }
+    
+    public static Builder builder(String entity, String alias) {
+        return new Builder(entity, alias);
+    }
+    
+    public Selection select(String requested) {
+        String[] names = Arrays.stream(requested.split(","))
+            .map(String::trim)
+            .filter(name -> !name.isEmpty())
+            .distinct()
+            .toArray(String[]::new);
+        if (names.length == 0) {
+            throw new ValidationException("fields must name at least one of " + fields.keySet());
+        }
+        
+        DateTimeFormatter[] formatters = new DateTimeFormatter[names.length];
+        StringBuilder select = new StringBuilder("SELECT ");
+        for (int i = 0; i < names.length; i++) {
+            requireKnown(names[i]);
+            formatters[i] = fields.get(names[i]);
+            select.append(i == 0 ? "" : ", ").append(alias).append('.').append(names[i]);
+        }
+        select.append(" FROM ").append(entity).append(' ').append(alias);
+        return new Selection(this, names, formatters, select.toString());
+    }
+    
+    String count() {
+        return "SELECT COUNT(" + alias + ") FROM " + entity + " " + alias;
+    }
+    
+    String orderBy(Sort sort) {
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            requireKnown(order.getProperty());
+            orders.add(alias + "." + order.getProperty() + " " + order.getDirection().name());
+        }
+        return orders.isEmpty() ? "" : " ORDER BY " + String.join(", ", orders);
+    }
+    
+    private void requireKnown(String name) {
+        if (!fields.containsKey(name)) {
+            throw new ValidationException("Unknown field '" + name + "', expected one of " + fields.keySet());
+        }
+    }
+    
+    public record Selection(SparseFields catalog, String[] names, DateTimeFormatter[] formatters, String jpql) {
+    }
+    
+    public static final class Builder {
+        
+        private final String entity;
+        private final String alias;
+        // LinkedHashMap keeps the error message in declaration order; null marks a plain field
+        private final Map<String, DateTimeFormatter> fields = new LinkedHashMap<>();
+        
+        private Builder(String entity, String alias) {
+            this.entity = entity;
+            this.alias = alias;
+        }
+        
+        public Builder field(String... names) {
+            for (String name : names) {
+                fields.put(name, null);
+            }
+            return this;
+        }
+        
+        public Builder temporal(String name, String pattern) {
+            fields.put(name, DateTimeFormatter.ofPattern(pattern));
+            return this;
+        }
+        
+        public SparseFields build() {
+            return new SparseFields(entity, alias, fields);
+        }
+    }
+}
\ No newline at end of file
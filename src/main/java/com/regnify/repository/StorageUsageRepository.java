@@ -0,0 +1,38 @@
+// src/main/java/com/regnify/repository/StorageUsageRepository.java
+package com.regnify.repository;
+
+import com.regnify.model.StorageUsage;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+@Repository
+public interface StorageUsageRepository extends JpaRepository<StorageUsage, Long> {
+    
+    // Atomic upsert, concurrent uploads add to the same row without a read-modify-write race.
+    // The native space keeps Hibernate from invalidating every second-level cache region.
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "storage_usage"))
+    @Query(value = "INSERT INTO storage_usage (dimension, dimension_key, bytes, file_count, updated_at) " +
+                   "VALUES (:dimension, :dimensionKey, :bytes, :files, NOW(6)) " +
+                   "ON DUPLICATE KEY UPDATE bytes = bytes + VALUES(bytes), " +
+                   "file_count = file_count + VALUES(file_count), updated_at = VALUES(updated_at)",
+           nativeQuery = true)
+    int addUsage(@Param("dimension") String dimension,
+                 @Param("dimensionKey") String dimensionKey,
+                 @Param("bytes") long bytes,
+                 @Param("files") long files);
+    
+    List<StorageUsage> findByDimensionOrderByBytesDesc(StorageUsage.Dimension dimension);
+    
+    @Query("SELECT COALESCE(SUM(s.bytes), 0) FROM StorageUsage s WHERE s.dimension = :dimension")
+    Long sumBytes(@Param("dimension") StorageUsage.Dimension dimension);
+}
\ No newline at end of file
@@ -2,16 +2,21 @@
 package com.regnify.repository;
 
 import com.regnify.model.SystemUpdate;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 @Repository
 public interface SystemUpdateRepository extends JpaRepository<SystemUpdate, Long> {
     
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<SystemUpdate> findByIsActiveTrueOrderByUpdateDateDesc();
     
     List<SystemUpdate> findByTypeOrderByUpdateDateDesc(SystemUpdate.UpdateType type);
@@ -0,0 +1,29 @@
+// src/main/java/com/regnify/repository/UploadSessionRepository.java
+package com.regnify.repository;
+
+import com.regnify.model.UploadSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+    
+    // Only moves from the offset the chunk was written at, a concurrent PATCH gets 0
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.uploadOffset = :newOffset, s.updatedAt = :now, s.expiresAt = :expiresAt " +
+           "WHERE s.id = :id AND s.uploadOffset = :offset")
+    int advance(@Param("id") String id, @Param("offset") long offset, @Param("newOffset") long newOffset,
+                @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+    
+    @Modifying
+    @Query("DELETE FROM UploadSession s WHERE s.id = :id")
+    int deleteSession(@Param("id") String id);
+    
+    List<UploadSession> findByExpiresAtBefore(LocalDateTime now);
+}
\ No newline at end of file
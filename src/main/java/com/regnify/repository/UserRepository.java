@@ -2,10 +2,12 @@
 package com.regnify.repository;
 
 import com.regnify.model.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,11 +15,34 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
+    // Properties a fields= request may pick from; the password and lockout columns are not listed
+    SparseFields RESPONSE_FIELDS = SparseFields.builder("User", "u")
+        .field("id", "firstName", "lastName", "email", "username", "role", "status")
+        .temporal("lastLogin", "yyyy-MM-dd HH:mm:ss")
+        .temporal("createdAt", "yyyy-MM-dd HH:mm:ss")
+        .temporal("updatedAt", "yyyy-MM-dd HH:mm:ss")
+        .build();
+    
+    // For display and ownership lookups, which can live with a copy up to the cache TTL old
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
     
+    // Authentication reads the row itself: the caches are local to each node, so a suspension, role
+    // change or new password made on another node would otherwise go unnoticed here until the
+    // entries expire
+    @QueryHints({
+        @QueryHint(name = HINT_CACHEABLE, value = "false"),
+        @QueryHint(name = HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS")
+    })
+    @Query("SELECT u FROM User u WHERE u.username = :username")
+    Optional<User> findForAuthenticationByUsername(@Param("username") String username);
+    
     Optional<User> findByEmail(String email);
     
     boolean existsByUsername(String username);
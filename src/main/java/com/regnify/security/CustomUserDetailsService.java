@@ -19,7 +19,7 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+        User user = userRepository.findForAuthenticationByUsername(username)
             .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
         
         if (!user.isEnabled()) {
@@ -1,6 +1,8 @@
 // src/main/java/com/regnify/security/JwtTokenFilter.java
 package com.regnify.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,13 +27,20 @@ public class JwtTokenFilter extends OncePerRequestFilter {
     
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService;
+    private final MeterRegistry meterRegistry;
     
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                    HttpServletResponse response,
                                    FilterChain filterChain) throws ServletException, IOException {
+        // Times token validation and user lookup only, not the rest of the chain
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "anonymous";
         try {
             String jwt = getJwtFromRequest(request);
+            if (StringUtils.hasText(jwt)) {
+                outcome = "rejected";
+            }
             
             if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
                 String username = jwtTokenProvider.getUsernameFromToken(jwt);
@@ -45,13 +54,17 @@ public class JwtTokenFilter extends OncePerRequestFilter {
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     
                     SecurityContextHolder.getContext().setAuthentication(authentication);
+                    outcome = "authenticated";
                     
                     // Log successful authentication
                     log.debug("Authenticated user: {}", username);
                 }
             }
         } catch (Exception ex) {
+            outcome = "error";
             log.error("Could not set user authentication in security context: {}", ex.getMessage());
+        } finally {
+            sample.stop(meterRegistry.timer("regnify.security.jwt.filter", "outcome", outcome));
         }
         
         filterChain.doFilter(request, response);
@@ -5,6 +5,7 @@ import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
@@ -30,6 +31,8 @@ public class JwtTokenProvider {
     @Value("${app.jwt.refresh-expiration}")
     private int jwtRefreshExpiration;
     
+    // Revoked tokens until they expire; only single-key operations are used on the hot path, so
+    // lookups never block (and never pin a virtual thread)
     private final Map<String, Date> invalidatedTokens = new ConcurrentHashMap<>();
     
     public String generateToken(Authentication authentication) {
@@ -127,22 +130,23 @@ public class JwtTokenProvider {
         try {
             Date expiration = getExpirationFromToken(token);
             invalidatedTokens.put(token, expiration);
-            
-            // Schedule cleanup after expiration
-            new Thread(() -> {
-                try {
-                    Thread.sleep(expiration.getTime() - System.currentTimeMillis() + 1000);
-                    invalidatedTokens.remove(token);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-            }).start();
-            
         } catch (Exception e) {
             log.error("Failed to invalidate token: {}", e.getMessage());
         }
     }
     
+    // Expired tokens fail signature validation anyway, so they can leave the revocation map
+    @Scheduled(fixedDelayString = "${app.jwt.revocation-purge-interval-ms:60000}")
+    public void purgeExpiredInvalidations() {
+        Date now = new Date();
+        int before = invalidatedTokens.size();
+        invalidatedTokens.values().removeIf(expiration -> expiration.before(now));
+        int purged = before - invalidatedTokens.size();
+        if (purged > 0) {
+            log.debug("Purged {} expired invalidated tokens", purged);
+        }
+    }
+    
     public Long getTokenExpiration() {
         return Long.valueOf(jwtExpiration);
     }
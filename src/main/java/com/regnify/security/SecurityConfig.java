@@ -1,10 +1,16 @@
 // src/main/java/com/regnify/security/SecurityConfig.java
 package com.regnify.security;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationManagers;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -13,12 +19,15 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
+import java.util.List;
 
 @Configuration
 @EnableWebSecurity
@@ -29,6 +38,12 @@ public class SecurityConfig {
     private final JwtTokenFilter jwtTokenFilter;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     
+    // Addresses allowed to scrape Prometheus without a token, matched against the socket peer. None
+    // by default: behind a reverse proxy every caller shares the proxy's address, so listing it (or
+    // loopback, for a proxy on the same host) would open the endpoint to everyone
+    @Value("${app.monitoring.prometheus.allowed-addresses:}")
+    private String[] prometheusAllowedAddresses;
+    
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -41,7 +56,11 @@ public class SecurityConfig {
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 .and()
             .authorizeHttpRequests(authz -> authz
+                // Async dispatches complete streaming responses that were already authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers(SecurityConstants.PUBLIC_URLS).permitAll()
+                .requestMatchers(SecurityConstants.MONITORING_URLS).permitAll()
+                .requestMatchers(SecurityConstants.PROMETHEUS_URL).access(prometheusAccess())
                 .requestMatchers(SecurityConstants.USER_URLS).hasAnyRole("VIEWER", "SUPER_USER", "ADMIN_MODERATOR")
                 .requestMatchers(SecurityConstants.ADMIN_URLS).hasAnyRole("SUPER_USER", "ADMIN_MODERATOR")
                 .anyRequest().authenticated()
@@ -52,6 +71,18 @@ public class SecurityConfig {
         return http.build();
     }
     
+    private AuthorizationManager<RequestAuthorizationContext> prometheusAccess() {
+        List<IpAddressMatcher> scrapers = Arrays.stream(prometheusAllowedAddresses)
+            .map(String::trim)
+            .filter(address -> !address.isEmpty())
+            .map(IpAddressMatcher::new)
+            .toList();
+        AuthorizationManager<RequestAuthorizationContext> fromScraper = (authentication, context) ->
+            new AuthorizationDecision(scrapers.stream().anyMatch(scraper -> scraper.matches(context.getRequest())));
+        return AuthorizationManagers.anyOf(fromScraper,
+            AuthorityAuthorizationManager.hasAnyRole("SUPER_USER", "ADMIN_MODERATOR"));
+    }
+    
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -65,14 +96,16 @@ public class SecurityConfig {
             "Origin", 
             "Access-Control-Request-Method", 
             "Access-Control-Request-Headers",
-            "Refresh-Token"
+            "Refresh-Token",
+            "Idempotency-Key"
         ));
         configuration.setExposedHeaders(Arrays.asList(
             "Authorization", 
             "Content-Type", 
             "Access-Control-Allow-Origin", 
             "Access-Control-Allow-Credentials",
-            "Refresh-Token"
+            "Refresh-Token",
+            "Idempotent-Replayed"
         ));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
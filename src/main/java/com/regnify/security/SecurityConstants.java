@@ -15,6 +15,15 @@ public class SecurityConstants {
         "/configuration/security"
     };
     
+    // Health probes run without a token
+    public static final String[] MONITORING_URLS = {
+        "/actuator/health",
+        "/actuator/health/**"
+    };
+    
+    // Scraped from the allowlisted addresses without a token, otherwise admin only
+    public static final String PROMETHEUS_URL = "/actuator/prometheus";
+    
     public static final String[] USER_URLS = {
         "/invoices/**",
         "/dashboard/**",
@@ -25,7 +34,8 @@ public class SecurityConstants {
         "/users/**",
         "/integration/**",
         "/audit/**",
-        "/system/**"
+        "/system/**",
+        "/actuator/**"
     };
     
     public static final String TOKEN_PREFIX = "Bearer ";
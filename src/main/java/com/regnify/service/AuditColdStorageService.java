@@ -0,0 +1,239 @@
+// src/main/java/com/regnify/service/AuditColdStorageService.java
+package com.regnify.service;
+
+import com.regnify.dto.request.AuditLogFilterRequest;
+import com.regnify.dto.response.AuditStorageResponse;
+import com.regnify.model.AuditLog;
+import com.regnify.storage.AuditSegment;
+import com.regnify.storage.AuditSegmentWriter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cold tier of the audit log: columnar segment files written when monthly partitions leave
+ * MySQL. Only segment footers are kept in memory; queries prune segments by time range and
+ * dictionary membership before reading any column data.
+ */
+@Service
+@Slf4j
+public class AuditColdStorageService {
+    
+    private static final String SEGMENT_SUFFIX = ".seg";
+    
+    @Value("${app.audit.cold.dir:archive/audit}")
+    private String coldDir;
+    
+    @Value("${app.audit.cold.segment-rows:100000}")
+    private int segmentRows;
+    
+    // Newest first, so a descending scan can stop as soon as the page is full
+    private volatile List<AuditSegment> segments = List.of();
+    
+    // Guards catalog updates, which read segment footers from disk (a lock so virtual threads
+    // are not pinned while they wait on that I/O)
+    private final ReentrantLock catalogLock = new ReentrantLock();
+    
+    @PostConstruct
+    public void loadCatalog() {
+        Path directory = Paths.get(coldDir);
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        
+        Map<Path, AuditSegment> loaded = new LinkedHashMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                try {
+                    loaded.put(file, AuditSegment.open(file));
+                } catch (IOException e) {
+                    log.error("Skipping unreadable audit segment {}: {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to list audit segments in {}: {}", directory, e.getMessage());
+        }
+        
+        replaceCatalog(loaded);
+        log.info("Loaded {} cold audit segments from {}", loaded.size(), directory);
+    }
+    
+    public AuditSegmentWriter openWriter(String baseName) {
+        return new AuditSegmentWriter(Paths.get(coldDir), baseName, segmentRows);
+    }
+    
+    public void register(List<Path> files) throws IOException {
+        catalogLock.lock();
+        try {
+            Map<Path, AuditSegment> updated = new LinkedHashMap<>();
+            segments.forEach(segment -> updated.put(segment.getPath(), segment));
+            for (Path file : files) {
+                updated.put(file, AuditSegment.open(file));
+            }
+            replaceCatalog(updated);
+        } finally {
+            catalogLock.unlock();
+        }
+    }
+    
+    // Everything up to and including this instant lives in the cold tier
+    public LocalDateTime getWatermark() {
+        List<AuditSegment> current = segments;
+        return current.isEmpty() ? null : current.get(0).getMaxPerformedAt();
+    }
+    
+    // Archived months are dropped from MySQL, so the tiers never overlap: a range needs the cold
+    // tier when it starts at or before the watermark and the hot tier when it ends after it
+    public TierPlan plan(LocalDateTime startDate, LocalDateTime endDate) {
+        LocalDateTime watermark = getWatermark();
+        boolean cold = watermark != null && (startDate == null || !startDate.isAfter(watermark));
+        boolean hot = watermark == null || endDate == null || endDate.isAfter(watermark);
+        return new TierPlan(hot, cold, watermark);
+    }
+    
+    public ColdResult query(AuditLogFilterRequest filter, long offset, int limit) {
+        long total = 0;
+        long toSkip = offset;
+        int remaining = limit;
+        int scanned = 0;
+        List<AuditLog> rows = new ArrayList<>();
+        
+        for (AuditSegment segment : segments) {
+            if (!segment.overlaps(filter.getStartDate(), filter.getEndDate())) {
+                continue;
+            }
+            Map<AuditSegment.Column, Integer> codes = dictionaryFilters(segment, filter);
+            if (codes == null) {
+                continue;
+            }
+            
+            try {
+                scanned++;
+                int[] positions = segment.match(filter.getStartDate(), filter.getEndDate(), codes);
+                total += positions.length;
+                if (remaining == 0 || positions.length == 0) {
+                    continue;
+                }
+                if (toSkip >= positions.length) {
+                    toSkip -= positions.length;
+                    continue;
+                }
+                
+                // Positions are ascending in time, the page wants the newest rows first
+                int end = positions.length - (int) toSkip;
+                int start = Math.max(0, end - remaining);
+                List<AuditLog> page = segment.readRows(Arrays.copyOfRange(positions, start, end));
+                Collections.reverse(page);
+                rows.addAll(page);
+                remaining -= page.size();
+                toSkip = 0;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read audit segment " + segment.getPath(), e);
+            }
+        }
+        
+        log.debug("Cold audit query scanned {} of {} segments, {} matches", scanned, segments.size(), total);
+        return new ColdResult(total, rows);
+    }
+    
+    // Hands every matching row to the sink, oldest segment first and in time order within a segment.
+    // Rows are read chunkSize at a time, so a large segment is never held in memory at once
+    public long scan(AuditLogFilterRequest filter, int chunkSize, RowSink sink) throws IOException {
+        List<AuditSegment> oldestFirst = new ArrayList<>(segments);
+        Collections.reverse(oldestFirst);
+        
+        long total = 0;
+        for (AuditSegment segment : oldestFirst) {
+            if (!segment.overlaps(filter.getStartDate(), filter.getEndDate())) {
+                continue;
+            }
+            Map<AuditSegment.Column, Integer> codes = dictionaryFilters(segment, filter);
+            if (codes == null) {
+                continue;
+            }
+            int[] positions = segment.match(filter.getStartDate(), filter.getEndDate(), codes);
+            for (int start = 0; start < positions.length; start += chunkSize) {
+                int end = Math.min(positions.length, start + chunkSize);
+                sink.accept(segment.readRows(Arrays.copyOfRange(positions, start, end)));
+            }
+            total += positions.length;
+        }
+        return total;
+    }
+    
+    public AuditStorageResponse getStorageSummary() {
+        List<AuditSegment> current = segments;
+        return new AuditStorageResponse(
+            current.size(),
+            current.stream().mapToLong(AuditSegment::getRowCount).sum(),
+            current.stream().mapToLong(AuditSegment::getFileSize).sum(),
+            current.isEmpty() ? null : current.get(current.size() - 1).getMinPerformedAt(),
+            getWatermark()
+        );
+    }
+    
+    // Returns null when a filtered value is missing from the segment dictionary,
+    // which rules the whole segment out without reading it
+    private Map<AuditSegment.Column, Integer> dictionaryFilters(AuditSegment segment, AuditLogFilterRequest filter) {
+        Map<AuditSegment.Column, Integer> codes = new EnumMap<>(AuditSegment.Column.class);
+        if (!addCode(codes, segment, AuditSegment.Column.ACTION, filter.getAction())
+                || !addCode(codes, segment, AuditSegment.Column.ENTITY_TYPE, filter.getEntityType())
+                || !addCode(codes, segment, AuditSegment.Column.PERFORMED_BY, filter.getPerformedBy())) {
+            return null;
+        }
+        return codes;
+    }
+    
+    private boolean addCode(Map<AuditSegment.Column, Integer> codes, AuditSegment segment,
+                            AuditSegment.Column column, String value) {
+        if (value == null) {
+            return true;
+        }
+        Integer code = segment.dictionaryCode(column, value);
+        if (code == null) {
+            return false;
+        }
+        codes.put(column, code);
+        return true;
+    }
+    
+    private void replaceCatalog(Map<Path, AuditSegment> catalog) {
+        catalogLock.lock();
+        try {
+            List<AuditSegment> sorted = new ArrayList<>(catalog.values());
+            sorted.sort(Comparator.comparing(AuditSegment::getMaxPerformedAt).reversed());
+            segments = List.copyOf(sorted);
+        } finally {
+            catalogLock.unlock();
+        }
+    }
+    
+    public record ColdResult(long total, List<AuditLog> rows) {
+    }
+    
+    public record TierPlan(boolean hot, boolean cold, LocalDateTime watermark) {
+    }
+    
+    @FunctionalInterface
+    public interface RowSink {
+        void accept(List<AuditLog> rows) throws IOException;
+    }
+}
\ No newline at end of file
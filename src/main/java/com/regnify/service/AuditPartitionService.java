@@ -0,0 +1,217 @@
+// src/main/java/com/regnify/service/AuditPartitionService.java
+package com.regnify.service;
+
+import com.regnify.model.AuditLog;
+import com.regnify.storage.AuditSegmentWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly RANGE partitions of audit_logs rolling: creates partitions ahead of time by
+ * splitting p_future, and moves partitions that fall out of the retention window to the cold tier.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuditPartitionService {
+    
+    private static final String TABLE = "audit_logs";
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final String MAXVALUE = "MAXVALUE";
+    private static final Pattern PARTITION_NAME = Pattern.compile("[A-Za-z0-9_]+");
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("'p'yyyyMM");
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditColdStorageService coldStorageService;
+    
+    // A lock rather than synchronized: maintenance blocks on JDBC and file I/O, which would pin
+    // the carrier thread when scheduled work runs on virtual threads
+    private final ReentrantLock maintenanceLock = new ReentrantLock();
+    
+    @Value("${app.audit.partitions.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.audit.partitions.months-ahead:3}")
+    private int monthsAhead;
+    
+    @Value("${app.audit.partitions.retention-months:24}")
+    private int retentionMonths;
+    
+    @Value("${app.audit.partitions.archive-enabled:true}")
+    private boolean archiveEnabled;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void maintainOnStartup() {
+        maintainPartitions();
+    }
+    
+    @Scheduled(cron = "${app.audit.partitions.maintenance-cron:0 30 2 * * *}")
+    public void maintainPartitions() {
+        if (!enabled) {
+            return;
+        }
+        
+        maintenanceLock.lock();
+        try {
+            List<Partition> partitions = loadPartitions();
+            if (partitions.isEmpty()) {
+                log.warn("Table {} is not partitioned, skipping partition maintenance", TABLE);
+                return;
+            }
+            
+            createFuturePartitions(partitions);
+            expirePartitions(partitions);
+        } catch (DataAccessException e) {
+            log.error("Audit log partition maintenance failed: {}", e.getMessage());
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+    
+    private List<Partition> loadPartitions() {
+        return jdbcTemplate.query(
+            "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL " +
+            "ORDER BY PARTITION_ORDINAL_POSITION",
+            (rs, rowNum) -> new Partition(rs.getString(1), parseBound(rs.getString(2))),
+            TABLE);
+    }
+    
+    private void createFuturePartitions(List<Partition> partitions) {
+        boolean hasFuturePartition = partitions.stream().anyMatch(p -> FUTURE_PARTITION.equals(p.name()));
+        LocalDate lastBound = partitions.stream()
+            .map(Partition::upperBound)
+            .filter(bound -> bound != null)
+            .max(LocalDate::compareTo)
+            .orElse(null);
+        if (!hasFuturePartition || lastBound == null) {
+            log.warn("Table {} has no {} partition to split, skipping partition creation", TABLE, FUTURE_PARTITION);
+            return;
+        }
+        
+        LocalDate target = LocalDate.now().withDayOfMonth(1).plusMonths(monthsAhead + 1L);
+        List<String> definitions = new ArrayList<>();
+        for (LocalDate from = lastBound; from.isBefore(target); from = from.plusMonths(1)) {
+            definitions.add("PARTITION " + from.format(NAME_FORMAT) +
+                " VALUES LESS THAN ('" + from.plusMonths(1).atStartOfDay().format(BOUND_FORMAT) + "')");
+        }
+        if (definitions.isEmpty()) {
+            return;
+        }
+        definitions.add("PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (" + MAXVALUE + ")");
+        
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + FUTURE_PARTITION +
+            " INTO (" + String.join(", ", definitions) + ")");
+        log.info("Created {} audit log partitions up to {}", definitions.size() - 1, target);
+    }
+    
+    private void expirePartitions(List<Partition> partitions) {
+        LocalDate cutoff = LocalDate.now().withDayOfMonth(1).minusMonths(retentionMonths);
+        
+        for (Partition partition : partitions) {
+            if (partition.upperBound() == null || partition.upperBound().isAfter(cutoff)) {
+                continue;
+            }
+            if (!PARTITION_NAME.matcher(partition.name()).matches()) {
+                log.warn("Skipping audit log partition with unexpected name {}", partition.name());
+                continue;
+            }
+            
+            if (archiveEnabled) {
+                try {
+                    long rows = archivePartition(partition.name());
+                    log.info("Archived {} audit logs from partition {}", rows, partition.name());
+                } catch (IOException | UncheckedIOException e) {
+                    // Never drop a partition whose rows did not make it to the archive
+                    log.error("Failed to archive audit log partition {}: {}", partition.name(), e.getMessage());
+                    continue;
+                }
+            }
+            
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + partition.name());
+            log.info("Dropped audit log partition {} (rows before {})", partition.name(), partition.upperBound());
+        }
+    }
+    
+    // Streams the partition in performed_at order into cold-tier segments; the segments only
+    // become visible to queries once every row has been written
+    private long archivePartition(String partitionName) throws IOException {
+        AtomicLong rows = new AtomicLong();
+        List<Path> segments;
+        try (AuditSegmentWriter writer = coldStorageService.openWriter(TABLE + "_" + partitionName)) {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                    "SELECT * FROM " + TABLE + " PARTITION (" + partitionName + ") ORDER BY performed_at, id",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(Integer.MIN_VALUE);
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                try {
+                    writer.append(mapRow(rs));
+                    rows.incrementAndGet();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            segments = writer.finish();
+        }
+        
+        coldStorageService.register(segments);
+        return rows.get();
+    }
+    
+    private AuditLog mapRow(ResultSet rs) throws SQLException {
+        return new AuditLog(
+            rs.getLong("id"),
+            rs.getString("action"),
+            rs.getString("entity_type"),
+            rs.getObject("entity_id", Long.class),
+            rs.getString("old_value"),
+            rs.getString("new_value"),
+            rs.getString("performed_by"),
+            rs.getObject("performed_at", LocalDateTime.class),
+            rs.getString("ip_address"),
+            rs.getString("user_agent"),
+            rs.getString("status"),
+            rs.getString("error_message")
+        );
+    }
+    
+    private static LocalDate parseBound(String description) {
+        if (description == null || MAXVALUE.equalsIgnoreCase(description)) {
+            return null;
+        }
+        String value = description.replace("'", "").trim();
+        if (value.length() == 10) {
+            return LocalDate.parse(value);
+        }
+        return LocalDateTime.parse(value, BOUND_FORMAT).toLocalDate();
+    }
+    
+    private record Partition(String name, LocalDate upperBound) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,91 @@
+// src/main/java/com/regnify/service/AuditQueryService.java
+package com.regnify.service;
+
+import com.regnify.dto.request.AuditLogFilterRequest;
+import com.regnify.dto.response.AuditLogResponse;
+import com.regnify.model.AuditLog;
+import com.regnify.repository.AuditLogRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plans audit searches across the hot tier (partitioned audit_logs table) and the cold tier
+ * (archived segments). Archived months are dropped from MySQL, so the tiers never overlap:
+ * everything up to the cold watermark is cold, everything after it is hot. Results are ordered
+ * newest first, so a page is filled from the hot tier before the cold tier is read.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuditQueryService {
+    
+    private static final String HOT = "HOT";
+    private static final String COLD = "COLD";
+    
+    private final AuditLogRepository auditLogRepository;
+    private final AuditColdStorageService coldStorageService;
+    
+    @Transactional(readOnly = true)
+    public Page<AuditLogResponse> search(AuditLogFilterRequest filter) {
+        Pageable pageable = PageRequest.of(filter.getPage(), filter.getSize(),
+            Sort.by(Sort.Direction.DESC, "performedAt").and(Sort.by(Sort.Direction.DESC, "id")));
+        
+        AuditColdStorageService.TierPlan plan = coldStorageService.plan(filter.getStartDate(), filter.getEndDate());
+        
+        List<AuditLogResponse> content = new ArrayList<>();
+        long hotTotal = 0;
+        if (plan.hot()) {
+            Page<AuditLog> hot = auditLogRepository.findWithFilters(
+                filter.getStartDate(),
+                filter.getEndDate(),
+                filter.getEntityType(),
+                filter.getAction(),
+                filter.getPerformedBy(),
+                pageable
+            );
+            hotTotal = hot.getTotalElements();
+            hot.forEach(auditLog -> content.add(mapToResponse(auditLog, HOT)));
+        }
+        
+        long coldTotal = 0;
+        if (plan.cold()) {
+            long coldOffset = Math.max(0, pageable.getOffset() - hotTotal);
+            AuditColdStorageService.ColdResult cold = coldStorageService.query(
+                filter, coldOffset, pageable.getPageSize() - content.size());
+            coldTotal = cold.total();
+            cold.rows().forEach(auditLog -> content.add(mapToResponse(auditLog, COLD)));
+        }
+        
+        log.debug("Audit search planned hot={} cold={} (watermark {}), {} hot and {} cold matches",
+            plan.hot(), plan.cold(), plan.watermark(), hotTotal, coldTotal);
+        return new PageImpl<>(content, pageable, hotTotal + coldTotal);
+    }
+    
+    private AuditLogResponse mapToResponse(AuditLog auditLog, String storageTier) {
+        return new AuditLogResponse(
+            auditLog.getId(),
+            auditLog.getAction(),
+            auditLog.getEntityType(),
+            auditLog.getEntityId(),
+            auditLog.getOldValue(),
+            auditLog.getNewValue(),
+            auditLog.getPerformedBy(),
+            auditLog.getPerformedAt(),
+            auditLog.getIpAddress(),
+            auditLog.getUserAgent(),
+            auditLog.getStatus(),
+            auditLog.getErrorMessage(),
+            storageTier
+        );
+    }
+}
\ No newline at end of file
@@ -38,7 +38,7 @@ public class AuthService {
     @Transactional
     public LoginResponse login(LoginRequest request) {
         String username = request.getUsername();
-        User user = userRepository.findByUsername(username)
+        User user = userRepository.findForAuthenticationByUsername(username)
             .orElseThrow(() -> new BadCredentialsException("Invalid credentials"));
         
         // Check if account is locked
@@ -108,7 +108,7 @@ public class AuthService {
         }
         
         String username = jwtTokenProvider.getUsernameFromToken(refreshToken);
-        User user = userRepository.findByUsername(username)
+        User user = userRepository.findForAuthenticationByUsername(username)
             .orElseThrow(() -> new BadCredentialsException("User not found"));
         
         if (!user.isEnabled()) {
@@ -128,7 +128,7 @@ public class AuthService {
     
     @Transactional
     public void resetPassword(String username, String newPassword) {
-        User user = userRepository.findByUsername(username)
+        User user = userRepository.findForAuthenticationByUsername(username)
             .orElseThrow(() -> new RuntimeException("User not found"));
         
         user.setPassword(passwordEncoder.encode(newPassword));
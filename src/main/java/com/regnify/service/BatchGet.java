@@ -0,0 +1,64 @@
+// src/main/java/com/regnify/service/BatchGet.java
+package com.regnify.service;
+
+import com.regnify.dto.response.BatchGetItem;
+import com.regnify.exception.ValidationException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// Multi-get behind the /batch endpoints: one IN query for the distinct ids, results returned in
+// request order with a status per id
+final class BatchGet {
+    
+    private BatchGet() {
+    }
+    
+    static Set<Long> distinctIds(List<Long> ids, int maxIds) {
+        if (ids == null || ids.isEmpty()) {
+            throw new ValidationException("At least one id is required");
+        }
+        Set<Long> distinct = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id == null) {
+                throw new ValidationException("Ids must be numbers");
+            }
+            distinct.add(id);
+        }
+        if (distinct.size() > maxIds) {
+            throw new ValidationException("At most " + maxIds + " ids can be requested at once");
+        }
+        return distinct;
+    }
+    
+    // Repeated ids get repeated items, so the response lines up with the request
+    static <E, T> List<BatchGetItem<T>> resolve(List<Long> ids, Iterable<E> found, Function<E, Long> idOf,
+                                                Predicate<E> deleted, Function<E, T> mapper) {
+        Map<Long, E> byId = new HashMap<>();
+        for (E entity : found) {
+            byId.put(idOf.apply(entity), entity);
+        }
+        
+        Map<Long, BatchGetItem<T>> items = new HashMap<>();
+        List<BatchGetItem<T>> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            result.add(items.computeIfAbsent(id, key -> {
+                E entity = byId.get(key);
+                if (entity == null) {
+                    return new BatchGetItem<>(key, BatchGetItem.Status.NOT_FOUND, null);
+                }
+                if (deleted.test(entity)) {
+                    return new BatchGetItem<>(key, BatchGetItem.Status.DELETED, null);
+                }
+                return new BatchGetItem<>(key, BatchGetItem.Status.FOUND, mapper.apply(entity));
+            }));
+        }
+        return result;
+    }
+}
\ No newline at end of file
@@ -2,12 +2,15 @@
 package com.regnify.service;
 
 import com.regnify.dto.response.DashboardStatsResponse;
+import com.regnify.dto.response.StorageUsageResponse;
 import com.regnify.repository.InvoiceRepository;
 import com.regnify.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
@@ -20,6 +23,7 @@ public class DashboardService {
     
     private final InvoiceRepository invoiceRepository;
     private final UserRepository userRepository;
+    private final StorageUsageService storageUsageService;
     
     @Transactional(readOnly = true)
     public DashboardStatsResponse getDashboardStats() {
@@ -148,10 +152,7 @@ public class DashboardService {
     
     private Long getProcessedTodayCount() {
         LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
-        LocalDateTime endOfDay = LocalDate.now().atTime(23, 59, 59);
-        
-        // This would need a custom query - simplified for now
-        return invoiceRepository.countCompletedDocuments();
+        return invoiceRepository.countProcessedBetween(startOfDay, startOfDay.plusDays(1));
     }
     
     private Double getErrorRate() {
@@ -165,12 +166,27 @@ public class DashboardService {
     }
     
     private String getSystemUptime() {
-        // Simplified - in production would track actual start time
-        return "99.9%";
+        Duration uptime = Duration.ofMillis(ManagementFactory.getRuntimeMXBean().getUptime());
+        return String.format("%dd %dh %dm", uptime.toDays(), uptime.toHoursPart(), uptime.toMinutesPart());
     }
     
     private String getStorageUsage() {
-        // Simplified - in production would calculate actual storage
-        return "2.5 GB / 10 GB";
+        StorageUsageResponse usage = storageUsageService.getUsage();
+        String used = formatBytes(usage.getUsedBytes());
+        return usage.getTotalBytes() != null ? used + " / " + formatBytes(usage.getTotalBytes()) : used;
+    }
+    
+    private String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        String[] units = {"KB", "MB", "GB", "TB", "PB"};
+        double value = bytes;
+        int unit = -1;
+        while (value >= 1024 && unit < units.length - 1) {
+            value /= 1024;
+            unit++;
+        }
+        return String.format("%.1f %s", value, units[unit]);
     }
 }
\ No newline at end of file
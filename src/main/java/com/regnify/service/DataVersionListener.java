@@ -0,0 +1,40 @@
+// src/main/java/com/regnify/service/DataVersionListener.java
+package com.regnify.service;
+
+import com.regnify.model.IntegrationConfig;
+import com.regnify.model.Invoice;
+import com.regnify.model.SystemUpdate;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+// Entity callback feeding DataVersionService. Hibernate creates it through Spring; the provider keeps
+// it usable in slices (@DataJpaTest) that have no DataVersionService bean
+@Component
+public class DataVersionListener {
+    
+    private final ObjectProvider<DataVersionService> dataVersionService;
+    
+    public DataVersionListener(ObjectProvider<DataVersionService> dataVersionService) {
+        this.dataVersionService = dataVersionService;
+    }
+    
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void changed(Object entity) {
+        DataVersionService service = dataVersionService.getIfAvailable();
+        if (service == null) {
+            return;
+        }
+        if (entity instanceof Invoice) {
+            service.changed(DataVersionService.Scope.INVOICES);
+        } else if (entity instanceof SystemUpdate) {
+            service.changed(DataVersionService.Scope.SYSTEM_UPDATES);
+        } else if (entity instanceof IntegrationConfig) {
+            service.changed(DataVersionService.Scope.INTEGRATION_CONFIGS);
+        }
+    }
+}
\ No newline at end of file
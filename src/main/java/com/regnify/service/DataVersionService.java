@@ -0,0 +1,119 @@
+// src/main/java/com/regnify/service/DataVersionService.java
+package com.regnify.service;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.CacheControl;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Change counters behind the ETag/Last-Modified validators of the read endpoints, so a conditional
+ * GET is answered with a primary-key lookup instead of the full query. The counters live in the
+ * data_versions table and the writing transaction bumps them on its own connection: they commit or
+ * roll back with the change, and every instance hands out the same tag for the same data. A
+ * request reads the validator before querying, so at worst it pairs an older tag with newer data
+ * and the next poll gets a 200.
+ */
+@Service
+public class DataVersionService {
+    
+    // Authenticated data: browsers may keep it but must revalidate on every use
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    
+    private static final String BUMP = "UPDATE data_versions SET version = version + 1, changed_at = ? WHERE scope = ?";
+    private static final String INSERT = "INSERT INTO data_versions (scope, version, changed_at) VALUES (?, 1, ?)";
+    private static final String READ = "SELECT version, changed_at FROM data_versions WHERE scope = ?";
+    
+    public enum Scope {
+        INVOICES,
+        SYSTEM_UPDATES,
+        INTEGRATION_CONFIGS
+    }
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public DataVersionService(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+    
+    // Called from entity callbacks and after bulk updates. Inside a transaction each scope is bumped
+    // once, on the transaction's connection; the row stays locked until the commit, so concurrent
+    // writers of one scope queue for that short window
+    public void changed(Scope scope) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump(scope);
+            return;
+        }
+        BumpedScopes bumped = (BumpedScopes) TransactionSynchronizationManager.getResource(this);
+        if (bumped == null) {
+            bumped = new BumpedScopes();
+            TransactionSynchronizationManager.bindResource(this, bumped);
+            TransactionSynchronizationManager.registerSynchronization(bumped);
+        }
+        if (bumped.scopes.add(scope)) {
+            bump(scope);
+        }
+    }
+    
+    // Read outside any transaction, which the routing datasource sends to the primary
+    public Validator validator(Scope scope) {
+        List<Validator> rows = jdbcTemplate.query(READ, (rs, rowNum) -> new Validator(
+            "W/\"" + scope.ordinal() + "." + rs.getLong(1) + "\"",
+            rs.getTimestamp(2).toInstant().truncatedTo(ChronoUnit.SECONDS).toEpochMilli()), scope.name());
+        return rows.isEmpty() ? new Validator("W/\"" + scope.ordinal() + ".0\"", 0) : rows.get(0);
+    }
+    
+    // Validator of a single row from its own last-modified stamp: only a change to that row moves
+    // it, and it always describes the body it is sent with, whichever node or replica served it
+    public static Validator rowValidator(String kind, Object id, LocalDateTime changedAt) {
+        Instant instant = changedAt.atZone(ZoneId.systemDefault()).toInstant();
+        long micros = ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+        return new Validator("W/\"" + kind + "-" + id + "." + micros + "\"",
+            instant.truncatedTo(ChronoUnit.SECONDS).toEpochMilli());
+    }
+    
+    private void bump(Scope scope) {
+        Timestamp now = Timestamp.from(Instant.now());
+        if (jdbcTemplate.update(BUMP, now, scope.name()) > 0) {
+            return;
+        }
+        // Only a database that missed the V13 seed rows gets here
+        try {
+            jdbcTemplate.update(INSERT, scope.name(), now);
+        } catch (DuplicateKeyException e) {
+            jdbcTemplate.update(BUMP, now, scope.name());
+        }
+    }
+    
+    public record Validator(String etag, long lastModified) {
+        
+        // For responses that also change with time, e.g. a rolling seven-day window: the tag
+        // changes with the variant and Last-Modified is never older than notBefore
+        public Validator variant(String variant, Instant notBefore) {
+            String tag = etag.substring(0, etag.length() - 1) + "." + variant + "\"";
+            return new Validator(tag, Math.max(lastModified, notBefore.toEpochMilli()));
+        }
+    }
+    
+    private class BumpedScopes implements TransactionSynchronization {
+        
+        private final Set<Scope> scopes = EnumSet.noneOf(Scope.class);
+        
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(DataVersionService.this);
+        }
+    }
+}
\ No newline at end of file
@@ -3,6 +3,8 @@ package com.regnify.service;
 
 import com.regnify.model.Invoice;
 import com.regnify.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +26,7 @@ public class EmailService {
     
     private final JavaMailSender mailSender;
     private final TemplateEngine templateEngine;
+    private final MeterRegistry meterRegistry;
     
     @Value("${spring.mail.username}")
     private String fromEmail;
@@ -42,7 +45,7 @@ public class EmailService {
             
             String htmlContent = templateEngine.process("welcome-email", context);
             
-            sendEmail(to, "Welcome to Regnify Invoice Validator", htmlContent);
+            sendEmail("welcome-email", to, "Welcome to Regnify Invoice Validator", htmlContent);
             
             log.info("Welcome email sent to: {}", to);
             
@@ -62,7 +65,7 @@ public class EmailService {
             
             String htmlContent = templateEngine.process("invoice-processed-email", context);
             
-            sendEmail(to, "Invoice Processed: " + invoice.getInvoiceNumber(), htmlContent);
+            sendEmail("invoice-processed-email", to, "Invoice Processed: " + invoice.getInvoiceNumber(), htmlContent);
             
             log.info("Invoice processed email sent to: {}", to);
             
@@ -81,7 +84,7 @@ public class EmailService {
             
             String htmlContent = templateEngine.process("invoice-validation-failed-email", context);
             
-            sendEmail(to, "Invoice Validation Failed: " + invoice.getInvoiceNumber(), htmlContent);
+            sendEmail("invoice-validation-failed-email", to, "Invoice Validation Failed: " + invoice.getInvoiceNumber(), htmlContent);
             
             log.info("Invoice validation failed email sent to: {}", to);
             
@@ -103,7 +106,7 @@ public class EmailService {
             String subject = status == User.Status.ACTIVE ? 
                 "Account Activated - Regnify" : "Account Deactivated - Regnify";
             
-            sendEmail(to, subject, htmlContent);
+            sendEmail("account-status-change-email", to, subject, htmlContent);
             
             log.info("Account status change email sent to: {}", to);
             
@@ -122,7 +125,7 @@ public class EmailService {
             
             String htmlContent = templateEngine.process("role-change-email", context);
             
-            sendEmail(to, "Role Updated - Regnify", htmlContent);
+            sendEmail("role-change-email", to, "Role Updated - Regnify", htmlContent);
             
             log.info("Role change email sent to: {}", to);
             
@@ -140,7 +143,7 @@ public class EmailService {
             
             String htmlContent = templateEngine.process("account-unlocked-email", context);
             
-            sendEmail(to, "Account Unlocked - Regnify", htmlContent);
+            sendEmail("account-unlocked-email", to, "Account Unlocked - Regnify", htmlContent);
             
             log.info("Account unlocked email sent to: {}", to);
             
@@ -158,7 +161,7 @@ public class EmailService {
             
             String htmlContent = templateEngine.process("password-reset-email", context);
             
-            sendEmail(to, "Password Reset Request - Regnify", htmlContent);
+            sendEmail("password-reset-email", to, "Password Reset Request - Regnify", htmlContent);
             
             log.info("Password reset email sent to: {}", to);
             
@@ -176,7 +179,7 @@ public class EmailService {
             
             String htmlContent = templateEngine.process("system-alert-email", context);
             
-            sendEmail(to, "System Alert: " + subject, htmlContent);
+            sendEmail("system-alert-email", to, "System Alert: " + subject, htmlContent);
             
             log.info("System alert email sent to: {}", to);
             
@@ -185,15 +188,22 @@ public class EmailService {
         }
     }
     
-    private void sendEmail(String to, String subject, String htmlContent) throws MessagingException {
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-        
-        helper.setFrom(fromEmail);
-        helper.setTo(to);
-        helper.setSubject(subject);
-        helper.setText(htmlContent, true);
-        
-        mailSender.send(message);
+    private void sendEmail(String template, String to, String subject, String htmlContent) throws MessagingException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+            
+            helper.setFrom(fromEmail);
+            helper.setTo(to);
+            helper.setSubject(subject);
+            helper.setText(htmlContent, true);
+            
+            mailSender.send(message);
+            outcome = "success";
+        } finally {
+            sample.stop(meterRegistry.timer("regnify.email.send", "template", template, "outcome", outcome));
+        }
     }
 }
\ No newline at end of file
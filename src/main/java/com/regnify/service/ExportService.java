@@ -0,0 +1,314 @@
+// src/main/java/com/regnify/service/ExportService.java
+package com.regnify.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.regnify.dto.request.AuditLogFilterRequest;
+import com.regnify.dto.request.ExportFormat;
+import com.regnify.dto.request.InvoiceFilterRequest;
+import com.regnify.model.AuditLog;
+import com.regnify.model.Invoice;
+import com.regnify.repository.AuditLogRepository;
+import com.regnify.repository.InvoiceRepository;
+import com.regnify.exception.TooManyRequestsException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+@Slf4j
+public class ExportService {
+    
+    // Rows are read by id in keyset chunks of this size, each in its own short read-only
+    // transaction, and flushed after every chunk so the client starts receiving data immediately
+    static final int CHUNK_SIZE = 1000;
+    
+    private static final Map<String, Function<Invoice, Object>> INVOICE_COLUMNS = new LinkedHashMap<>();
+    private static final Map<String, Function<AuditLog, Object>> AUDIT_LOG_COLUMNS = new LinkedHashMap<>();
+    
+    static {
+        INVOICE_COLUMNS.put("id", Invoice::getId);
+        INVOICE_COLUMNS.put("invoiceNumber", Invoice::getInvoiceNumber);
+        INVOICE_COLUMNS.put("docDate", Invoice::getDocDate);
+        INVOICE_COLUMNS.put("proDate", Invoice::getProDate);
+        INVOICE_COLUMNS.put("sender", Invoice::getSender);
+        INVOICE_COLUMNS.put("receiver", Invoice::getReceiver);
+        INVOICE_COLUMNS.put("status", Invoice::getStatus);
+        INVOICE_COLUMNS.put("businessStatus", Invoice::getBusinessStatus);
+        INVOICE_COLUMNS.put("providerResponse", Invoice::getProviderResponse);
+        INVOICE_COLUMNS.put("country", Invoice::getCountry);
+        INVOICE_COLUMNS.put("documentType", Invoice::getDocumentType);
+        INVOICE_COLUMNS.put("fileName", Invoice::getFileName);
+        INVOICE_COLUMNS.put("fileSize", Invoice::getFileSize);
+        INVOICE_COLUMNS.put("validationScore", Invoice::getValidationScore);
+        INVOICE_COLUMNS.put("validationErrors", Invoice::getValidationErrors);
+        INVOICE_COLUMNS.put("uploadedBy", Invoice::getUploadedBy);
+        INVOICE_COLUMNS.put("processedBy", Invoice::getProcessedBy);
+        INVOICE_COLUMNS.put("processedAt", Invoice::getProcessedAt);
+        INVOICE_COLUMNS.put("createdAt", Invoice::getCreatedAt);
+        INVOICE_COLUMNS.put("updatedAt", Invoice::getUpdatedAt);
+        
+        AUDIT_LOG_COLUMNS.put("id", AuditLog::getId);
+        AUDIT_LOG_COLUMNS.put("action", AuditLog::getAction);
+        AUDIT_LOG_COLUMNS.put("entityType", AuditLog::getEntityType);
+        AUDIT_LOG_COLUMNS.put("entityId", AuditLog::getEntityId);
+        AUDIT_LOG_COLUMNS.put("oldValue", AuditLog::getOldValue);
+        AUDIT_LOG_COLUMNS.put("newValue", AuditLog::getNewValue);
+        AUDIT_LOG_COLUMNS.put("performedBy", AuditLog::getPerformedBy);
+        AUDIT_LOG_COLUMNS.put("performedAt", AuditLog::getPerformedAt);
+        AUDIT_LOG_COLUMNS.put("ipAddress", AuditLog::getIpAddress);
+        AUDIT_LOG_COLUMNS.put("userAgent", AuditLog::getUserAgent);
+        AUDIT_LOG_COLUMNS.put("status", AuditLog::getStatus);
+        AUDIT_LOG_COLUMNS.put("errorMessage", AuditLog::getErrorMessage);
+    }
+    
+    private final InvoiceRepository invoiceRepository;
+    private final AuditLogRepository auditLogRepository;
+    private final AuditColdStorageService coldStorageService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    
+    // Every running export is a pool connection per chunk and a worker thread for its whole
+    // duration, so only this many run at once and further requests are turned away with 429
+    private final Semaphore exportPermits;
+    
+    public ExportService(InvoiceRepository invoiceRepository, AuditLogRepository auditLogRepository,
+                         AuditColdStorageService coldStorageService, ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${app.export.max-concurrent:2}") int maxConcurrent) {
+        this.invoiceRepository = invoiceRepository;
+        this.auditLogRepository = auditLogRepository;
+        this.coldStorageService = coldStorageService;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.exportPermits = new Semaphore(maxConcurrent);
+    }
+    
+    public long exportInvoices(InvoiceFilterRequest filter, ExportFormat format, OutputStream out) throws IOException {
+        RowWriter writer = openWriter(INVOICE_COLUMNS, format, out);
+        long rows = writeKeysetChunks(writer, (afterId, chunk) -> invoiceRepository.findExportChunk(
+                filter.getStartDate(),
+                filter.getEndDate(),
+                filter.getStatus(),
+                filter.getCountry(),
+                filter.getDocumentType(),
+                filter.getSender(),
+                filter.getReceiver(),
+                filter.getUploadedBy(),
+                afterId,
+                chunk),
+            Invoice::getId, INVOICE_COLUMNS);
+        log.info("Exported {} invoices as {}", rows, format);
+        return rows;
+    }
+    
+    public long exportAuditLogs(LocalDateTime startDate, LocalDateTime endDate, String entityType,
+                                String action, String performedBy, ExportFormat format,
+                                OutputStream out) throws IOException {
+        RowWriter writer = openWriter(AUDIT_LOG_COLUMNS, format, out);
+        AuditColdStorageService.TierPlan plan = coldStorageService.plan(startDate, endDate);
+        
+        // Same tier split as the audit search: archived rows come first, they are all older than
+        // anything still in audit_logs
+        long coldRows = 0;
+        if (plan.cold()) {
+            AuditLogFilterRequest filter = new AuditLogFilterRequest();
+            filter.setStartDate(startDate);
+            filter.setEndDate(endDate);
+            filter.setEntityType(entityType);
+            filter.setAction(action);
+            filter.setPerformedBy(performedBy);
+            coldRows = coldStorageService.scan(filter, CHUNK_SIZE, rows -> writeChunk(writer, rows, AUDIT_LOG_COLUMNS));
+        }
+        
+        long hotRows = 0;
+        if (plan.hot()) {
+            hotRows = writeKeysetChunks(writer, (afterId, chunk) -> auditLogRepository.findExportChunk(
+                    startDate, endDate, entityType, action, performedBy, afterId, chunk),
+                AuditLog::getId, AUDIT_LOG_COLUMNS);
+        }
+        log.info("Exported {} hot and {} cold audit logs as {}", hotRows, coldRows, format);
+        return hotRows + coldRows;
+    }
+    
+    // Takes an export slot before the response starts, so a full house is a clean 429 rather
+    // than a truncated download. The slot is given back once the body has been written
+    public StreamingResponseBody stream(ExportTask task, boolean gzip) {
+        if (!exportPermits.tryAcquire()) {
+            throw new TooManyRequestsException("Too many exports are running, please retry shortly");
+        }
+        return out -> {
+            try {
+                if (!gzip) {
+                    task.write(out);
+                    return;
+                }
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                task.write(compressed);
+                compressed.finish();
+            } finally {
+                exportPermits.release();
+            }
+        };
+    }
+    
+    private RowWriter openWriter(Map<String, ?> columns, ExportFormat format, OutputStream out) throws IOException {
+        RowWriter writer = format == ExportFormat.NDJSON
+            ? new NdjsonRowWriter(objectMapper, out)
+            : new CsvRowWriter(out);
+        writer.writeHeader(columns.keySet());
+        return writer;
+    }
+    
+    private <T> long writeKeysetChunks(RowWriter writer, ChunkReader<T> reader, Function<T, Long> idOf,
+                                       Map<String, Function<T, Object>> columns) throws IOException {
+        Pageable chunkSize = PageRequest.of(0, CHUNK_SIZE);
+        long count = 0;
+        long afterId = 0;
+        List<T> rows;
+        do {
+            // The transaction, and with it the connection and persistence context, ends before
+            // the rows are written, so a slow client never holds a connection
+            long from = afterId;
+            rows = readOnlyTransaction.execute(status -> reader.read(from, chunkSize));
+            writeChunk(writer, rows, columns);
+            if (!rows.isEmpty()) {
+                afterId = idOf.apply(rows.get(rows.size() - 1));
+            }
+            count += rows.size();
+        } while (rows.size() == CHUNK_SIZE);
+        return count;
+    }
+    
+    private <T> void writeChunk(RowWriter writer, List<T> rows, Map<String, Function<T, Object>> columns) throws IOException {
+        for (T row : rows) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            columns.forEach((name, getter) -> values.put(name, getter.apply(row)));
+            writer.writeRow(values);
+        }
+        // A disconnected client surfaces here as an IOException, before the next chunk is read
+        writer.flush();
+    }
+    
+    @FunctionalInterface
+    public interface ExportTask {
+        long write(OutputStream out) throws IOException;
+    }
+    
+    @FunctionalInterface
+    private interface ChunkReader<T> {
+        List<T> read(long afterId, Pageable chunkSize);
+    }
+    
+    private interface RowWriter {
+        void writeHeader(Iterable<String> columns) throws IOException;
+        
+        void writeRow(Map<String, Object> values) throws IOException;
+        
+        void flush() throws IOException;
+    }
+    
+    private static class CsvRowWriter implements RowWriter {
+        // Spreadsheets evaluate a text cell starting with one of these as a formula
+        private static final String FORMULA_PREFIXES = "=+-@\t\r";
+        
+        private final Writer writer;
+        
+        private CsvRowWriter(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        }
+        
+        @Override
+        public void writeHeader(Iterable<String> columns) throws IOException {
+            writeLine(columns);
+        }
+        
+        @Override
+        public void writeRow(Map<String, Object> values) throws IOException {
+            writeLine(values.values());
+        }
+        
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+        
+        private void writeLine(Iterable<?> values) throws IOException {
+            boolean first = true;
+            for (Object value : values) {
+                if (!first) {
+                    writer.write(',');
+                }
+                writer.write(escape(value));
+                first = false;
+            }
+            writer.write("\r\n");
+        }
+        
+        private String escape(Object value) {
+            if (value == null) {
+                return "";
+            }
+            String text = value.toString();
+            // A leading quote keeps user-supplied text such as =HYPERLINK(...) a plain string
+            if (value instanceof CharSequence && !text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+                text = "'" + text;
+            }
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                    || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                return "\"" + text.replace("\"", "\"\"") + "\"";
+            }
+            return text;
+        }
+    }
+    
+    private static class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+        
+        private NdjsonRowWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+            this.generator = objectMapper.createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+        
+        @Override
+        public void writeHeader(Iterable<String> columns) {
+            // NDJSON rows are self-describing
+        }
+        
+        @Override
+        public void writeRow(Map<String, Object> values) throws IOException {
+            generator.writeStartObject();
+            for (Map.Entry<String, Object> entry : values.entrySet()) {
+                generator.writeObjectField(entry.getKey(), entry.getValue());
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+        
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+}
\ No newline at end of file
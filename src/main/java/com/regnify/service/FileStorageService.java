@@ -1,26 +1,50 @@
 // src/main/java/com/regnify/service/FileStorageService.java
 package com.regnify.service;
 
+import com.regnify.model.Invoice;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Set;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 @Service
 @Slf4j
 public class FileStorageService {
     
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    // Text formats compress 5-10x; PDFs and xlsx (a zip container) are compressed already
+    private static final Set<String> COMPRESSIBLE_TYPES = Set.of(
+        "application/xml", "text/xml", "application/json", "text/json", "text/csv", "application/csv", "text/plain");
+    private static final Set<String> COMPRESSIBLE_EXTENSIONS = Set.of("xml", "json", "csv");
+    
     @Value("${app.file.upload-dir:uploads}")
     private String uploadDir;
     
+    @Value("${app.file.compression.enabled:true}")
+    private boolean compressionEnabled;
+    
+    // Smaller files gain a few bytes at most, not worth a second stream on every read
+    @Value("${app.file.compression.min-size-bytes:1024}")
+    private long compressionMinSize;
+    
     public String storeFile(MultipartFile file, String subDirectory) throws IOException {
         // Normalize file name
         String originalFileName = StringUtils.cleanPath(file.getOriginalFilename());
@@ -60,6 +84,76 @@ public class FileStorageService {
         }
     }
     
+    // A file written for a row that never commits (duplicate, validation or save failure) is orphaned,
+    // remove it once the transaction has rolled back
+    public void deleteOnRollback(String filePath) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                try {
+                    deleteFile(filePath);
+                } catch (IOException e) {
+                    log.warn("Could not remove orphaned file {}: {}", filePath, e.getMessage());
+                }
+            }
+        });
+    }
+    
+    // Chosen by content type; a missing or generic (octet-stream) type falls back to the extension
+    public Invoice.FileCodec codecFor(String contentType, String fileName, long size) {
+        if (!compressionEnabled || size < compressionMinSize) {
+            return Invoice.FileCodec.NONE;
+        }
+        String type = contentType == null ? "" : contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        boolean compressible;
+        if (type.isEmpty() || type.equals("application/octet-stream")) {
+            compressible = COMPRESSIBLE_EXTENSIONS.contains(getFileExtension(fileName).toLowerCase(Locale.ROOT));
+        } else {
+            compressible = COMPRESSIBLE_TYPES.contains(type) || type.endsWith("+xml") || type.endsWith("+json");
+        }
+        return compressible ? Invoice.FileCodec.GZIP : Invoice.FileCodec.NONE;
+    }
+    
+    // Compressed files get a .gz suffix, so the directory is readable without the database
+    public Path storedPath(Path target, Invoice.FileCodec codec) {
+        return codec == Invoice.FileCodec.GZIP ? target.resolveSibling(target.getFileName() + ".gz") : target;
+    }
+    
+    // Streams content into a new file through the codec and returns the bytes on disk
+    public long writeStored(InputStream content, Path target, Invoice.FileCodec codec) throws IOException {
+        OutputStream file = Files.newOutputStream(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        try (OutputStream out = codec == Invoice.FileCodec.GZIP ? new GZIPOutputStream(file, BUFFER_SIZE) : file) {
+            content.transferTo(out);
+        }
+        return Files.size(target);
+    }
+    
+    // The original bytes of a stored file
+    public InputStream openStored(Path path, Invoice.FileCodec codec) throws IOException {
+        InputStream in = Files.newInputStream(path);
+        if (codec != Invoice.FileCodec.GZIP) {
+            return in;
+        }
+        try {
+            return new GZIPInputStream(in, BUFFER_SIZE);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+    
+    public byte[] readStored(Path path, Invoice.FileCodec codec) throws IOException {
+        try (InputStream in = openStored(path, codec)) {
+            return in.readAllBytes();
+        }
+    }
+    
     public boolean fileExists(String filePath) {
         return Files.exists(Paths.get(filePath));
     }
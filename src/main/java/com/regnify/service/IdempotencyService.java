@@ -0,0 +1,172 @@
+// src/main/java/com/regnify/service/IdempotencyService.java
+package com.regnify.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.regnify.exception.BusinessException;
+import com.regnify.exception.ConflictException;
+import com.regnify.model.IdempotencyRecord;
+import com.regnify.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Objects;
+
+/**
+ * Makes a request safe to retry: the first request with a given Idempotency-Key claims it by
+ * inserting a row, runs, and stores its response in the same transaction as its own writes.
+ * Retries with the same key replay the stored response without repeating the work, and a retry
+ * racing the original fails fast on the unique key instead of doing the work twice.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+    
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    
+    private static final int MAX_KEY_LENGTH = 100;
+    
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate claimTemplate;
+    
+    @Value("${app.idempotency.ttl-hours:24}")
+    private long ttlHours;
+    
+    // A claim left IN_PROGRESS longer than this belongs to a request that died, a retry may take it over
+    @Value("${app.idempotency.in-progress-timeout-seconds:300}")
+    private long inProgressTimeoutSeconds;
+    
+    public IdempotencyService(IdempotencyRecordRepository repository, ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.claimTemplate = new TransactionTemplate(transactionManager);
+        this.claimTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    public <T> Result<T> execute(String key, String username, String requestHash, Class<T> responseType,
+                                 IdempotentAction<T> action) throws IOException {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException(HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        
+        IdempotencyRecord record = claim(key, username, requestHash);
+        if (record.getStatus() == IdempotencyRecord.Status.COMPLETED) {
+            meterRegistry.counter("regnify.idempotency.requests", "outcome", "replayed").increment();
+            return new Result<>(objectMapper.readValue(record.getResponseBody(), responseType), true);
+        }
+        
+        try {
+            // The stored response commits or rolls back together with the work itself
+            T response = transactionTemplate.execute(status -> {
+                try {
+                    T value = action.run();
+                    repository.complete(record.getId(), objectMapper.writeValueAsString(value), LocalDateTime.now());
+                    return value;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            meterRegistry.counter("regnify.idempotency.requests", "outcome", "executed").increment();
+            return new Result<>(response, false);
+        } catch (RuntimeException e) {
+            // Release the key so the client can retry after a failure
+            claimTemplate.executeWithoutResult(status -> repository.deleteClaim(record.getId()));
+            meterRegistry.counter("regnify.idempotency.requests", "outcome", "failed").increment();
+            if (e instanceof UncheckedIOException unchecked) {
+                throw unchecked.getCause();
+            }
+            throw e;
+        }
+    }
+    
+    public static String fingerprint(Object... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : parts) {
+                digest.update(Objects.toString(part, "").getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        Integer purged = transactionTemplate.execute(status -> repository.deleteExpired(LocalDateTime.now()));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+    
+    // Insert first: the unique (username, key) constraint decides which of several racing
+    // requests does the work, the others read the winner's row
+    private IdempotencyRecord claim(String key, String username, String requestHash) {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            LocalDateTime now = LocalDateTime.now();
+            IdempotencyRecord record = new IdempotencyRecord();
+            record.setUsername(username);
+            record.setIdempotencyKey(key);
+            record.setRequestHash(requestHash);
+            record.setStatus(IdempotencyRecord.Status.IN_PROGRESS);
+            record.setCreatedAt(now);
+            record.setUpdatedAt(now);
+            record.setExpiresAt(now.plusHours(ttlHours));
+            try {
+                return claimTemplate.execute(status -> repository.saveAndFlush(record));
+            } catch (DataIntegrityViolationException e) {
+                IdempotencyRecord existing = claimTemplate.execute(status ->
+                    repository.findByUsernameAndIdempotencyKey(username, key).orElse(null));
+                if (existing == null) {
+                    continue;
+                }
+                if (!existing.getRequestHash().equals(requestHash)) {
+                    throw new BusinessException(HEADER + " was already used for a different request");
+                }
+                boolean expired = existing.getExpiresAt().isBefore(now);
+                boolean abandoned = existing.getStatus() == IdempotencyRecord.Status.IN_PROGRESS
+                    && existing.getUpdatedAt().isBefore(now.minusSeconds(inProgressTimeoutSeconds));
+                if (expired || abandoned) {
+                    claimTemplate.executeWithoutResult(status -> repository.deleteClaim(existing.getId()));
+                    continue;
+                }
+                if (existing.getStatus() == IdempotencyRecord.Status.COMPLETED) {
+                    return existing;
+                }
+                meterRegistry.counter("regnify.idempotency.requests", "outcome", "conflict").increment();
+                throw new ConflictException("A request with this " + HEADER + " is still being processed");
+            }
+        }
+        throw new ConflictException("Could not claim " + HEADER + ", please retry");
+    }
+    
+    @FunctionalInterface
+    public interface IdempotentAction<T> {
+        T run() throws IOException;
+    }
+    
+    public record Result<T>(T response, boolean replayed) {
+    }
+}
\ No newline at end of file
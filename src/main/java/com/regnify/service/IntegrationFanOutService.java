@@ -0,0 +1,170 @@
+// src/main/java/com/regnify/service/IntegrationFanOutService.java
+package com.regnify.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.regnify.dto.response.IntegrationFanOutResponse;
+import com.regnify.dto.response.InvoiceResponse;
+import com.regnify.dto.response.ProviderCallResult;
+import com.regnify.integration.ProviderHttpClient;
+import com.regnify.model.IntegrationConfig;
+import com.regnify.model.Invoice;
+import com.regnify.repository.IntegrationConfigRepository;
+import com.regnify.repository.InvoiceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Runs one operation against every active provider at once. The calls are in flight together on
+// the non-blocking client and only the caller waits for the aggregate; results are written back
+// in a single transaction afterwards, so no connection is held while providers answer
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IntegrationFanOutService {
+    
+    private final IntegrationConfigRepository integrationConfigRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final InvoiceService invoiceService;
+    private final AuditService auditService;
+    private final ProviderHttpClient providerHttpClient;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+    
+    public IntegrationFanOutResponse testConnectionAll(String performedBy) {
+        return fanOut("test_connection", config -> List.of(
+            providerHttpClient.get(config, config.getSendEndpointUrl(), "test_send"),
+            providerHttpClient.get(config, config.getFetchEndpointUrl(), "test_fetch")
+        ), (config, results) -> {
+            boolean connected = allSucceeded(results);
+            config.setSyncStatus(connected ? "CONNECTED" : "DISCONNECTED");
+            config.setSyncErrors(connected ? null : errors(results));
+            auditService.logConnectionTest(performedBy, config.getId(), config.getServiceProviderName(),
+                connected, connected ? "Connection test successful" : errors(results));
+        }, performedBy);
+    }
+    
+    public IntegrationFanOutResponse fetchStatusAll(String performedBy) {
+        return fanOut("fetch_status", config -> List.of(
+            providerHttpClient.get(config, config.getFetchEndpointUrl(), "fetch_status")
+        ), (config, results) -> {
+            boolean success = allSucceeded(results);
+            if (success) {
+                config.setLastSyncAt(LocalDateTime.now());
+            }
+            config.setSyncStatus(success ? "SYNC_SUCCESS" : "SYNC_FAILED");
+            config.setSyncErrors(success ? null : errors(results));
+            auditService.logStatusFetch(performedBy, config.getId(), config.getServiceProviderName(),
+                success, success ? "Status fetch successful" : errors(results));
+        }, performedBy);
+    }
+    
+    public IntegrationFanOutResponse pushInvoice(Long invoiceId, String performedBy) {
+        InvoiceResponse invoice = invoiceService.getInvoiceById(invoiceId);
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(invoice);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize invoice: " + e.getMessage());
+        }
+        
+        IntegrationFanOutResponse response = fanOut("push_invoice", config -> List.of(
+            providerHttpClient.postJson(config, config.getSendEndpointUrl(), "push_invoice", payload)
+        ), (config, results) -> {
+            boolean success = allSucceeded(results);
+            if (success) {
+                config.setLastSyncAt(LocalDateTime.now());
+            }
+            config.setSyncStatus(success ? "PUSH_SUCCESS" : "PUSH_FAILED");
+            config.setSyncErrors(success ? null : errors(results));
+            auditService.logInvoicePush(performedBy, invoiceId, config.getServiceProviderName(),
+                success, errors(results));
+        }, performedBy);
+        
+        if (response.getProviders() > 0) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                invoiceRepository.findById(invoiceId).ifPresent(entity -> {
+                    entity.setProviderResponse(providerResponse(response.getResults()));
+                    invoiceRepository.save(entity);
+                }));
+        }
+        return response;
+    }
+    
+    private IntegrationFanOutResponse fanOut(String operation,
+                                             Function<IntegrationConfig, List<CompletableFuture<ProviderCallResult>>> calls,
+                                             ResultWriter writer, String performedBy) {
+        long started = System.nanoTime();
+        List<IntegrationConfig> configs = integrationConfigRepository.findByIsActiveTrue();
+        
+        Map<Long, List<CompletableFuture<ProviderCallResult>>> pending = new LinkedHashMap<>();
+        for (IntegrationConfig config : configs) {
+            pending.put(config.getId(), calls.apply(config));
+        }
+        
+        // One wait for the whole batch; the calls themselves complete on the client's own threads
+        CompletableFuture.allOf(pending.values().stream()
+            .flatMap(List::stream)
+            .toArray(CompletableFuture[]::new)).join();
+        
+        Map<Long, List<ProviderCallResult>> results = new LinkedHashMap<>();
+        pending.forEach((configId, futures) -> results.put(configId,
+            futures.stream().map(CompletableFuture::join).collect(Collectors.toList())));
+        
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (IntegrationConfig config : integrationConfigRepository.findAllById(results.keySet())) {
+                writer.write(config, results.get(config.getId()));
+                config.setUpdatedBy(performedBy);
+                config.setUpdatedAt(LocalDateTime.now());
+            }
+        });
+        
+        List<ProviderCallResult> flat = new ArrayList<>();
+        results.values().forEach(flat::addAll);
+        int succeeded = (int) results.values().stream().filter(this::allSucceeded).count();
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        
+        log.info("Integration {} across {} providers: {} succeeded, {} failed in {} ms",
+            operation, results.size(), succeeded, results.size() - succeeded, durationMs);
+        return new IntegrationFanOutResponse(operation, results.size(), succeeded,
+            results.size() - succeeded, durationMs, flat);
+    }
+    
+    private boolean allSucceeded(List<ProviderCallResult> results) {
+        return results.stream().allMatch(ProviderCallResult::isSuccess);
+    }
+    
+    private String errors(List<ProviderCallResult> results) {
+        String errors = results.stream()
+            .filter(result -> !result.isSuccess())
+            .map(result -> result.getOperation() + ": " + result.getMessage())
+            .collect(Collectors.joining("; "));
+        return errors.isEmpty() ? null : errors;
+    }
+    
+    private Invoice.ProviderResponse providerResponse(List<ProviderCallResult> results) {
+        if (allSucceeded(results)) {
+            return Invoice.ProviderResponse.SUCCESS;
+        }
+        boolean onlyTimeouts = results.stream()
+            .filter(result -> !result.isSuccess())
+            .allMatch(ProviderCallResult::isTimedOut);
+        return onlyTimeouts ? Invoice.ProviderResponse.TIMEOUT : Invoice.ProviderResponse.FAILED;
+    }
+    
+    @FunctionalInterface
+    private interface ResultWriter {
+        void write(IntegrationConfig config, List<ProviderCallResult> results);
+    }
+}
\ No newline at end of file
@@ -3,6 +3,9 @@ package com.regnify.service;
 
 import com.regnify.dto.request.IntegrationConfigRequest;
 import com.regnify.dto.response.IntegrationConfigResponse;
+import com.regnify.dto.response.ProviderCallResult;
+import com.regnify.integration.OAuth2TokenManager;
+import com.regnify.integration.ProviderHttpClient;
 import com.regnify.model.IntegrationConfig;
 import com.regnify.repository.IntegrationConfigRepository;
 import jakarta.persistence.EntityNotFoundException;
@@ -11,12 +14,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
-import java.util.Base64;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,7 +28,9 @@ public class IntegrationService {
     
     private final IntegrationConfigRepository integrationConfigRepository;
     private final AuditService auditService;
-    private final RestTemplate restTemplate;
+    private final ProviderHttpClient providerHttpClient;
+    private final OAuth2TokenManager tokenManager;
+    private final InvoiceBatchPushService invoiceBatchPushService;
     
     @Transactional(readOnly = true)
     public List<IntegrationConfigResponse> getAllConfigs() {
@@ -81,6 +85,8 @@ public class IntegrationService {
         config.setUpdatedAt(LocalDateTime.now());
         
         IntegrationConfig updatedConfig = integrationConfigRepository.save(config);
+        // Credentials or token endpoint may have changed, cached tokens are no longer trusted
+        tokenManager.evict(config.getId());
         
         auditService.logIntegrationConfigUpdate(updatedBy, config.getId(), 
             config.getServiceProviderName());
@@ -97,6 +103,8 @@ public class IntegrationService {
         config.setUpdatedBy(deletedBy);
         config.setUpdatedAt(LocalDateTime.now());
         integrationConfigRepository.save(config);
+        // Stops the proactive refresh from renewing tokens for a provider that is no longer used
+        tokenManager.evict(config.getId());
         
         auditService.logIntegrationConfigDelete(deletedBy, config.getId(), 
             config.getServiceProviderName());
@@ -113,6 +121,9 @@ public class IntegrationService {
         config.setUpdatedAt(LocalDateTime.now());
         
         IntegrationConfig updatedConfig = integrationConfigRepository.save(config);
+        // Either way the cached token belongs to the previous state: no refreshes while inactive,
+        // and a fresh token once it is switched back on
+        tokenManager.evict(config.getId());
         
         auditService.logIntegrationConfigStatusChange(performedBy, config.getId(), 
             config.getServiceProviderName(), newStatus);
@@ -134,6 +145,8 @@ public class IntegrationService {
         config.setUpdatedAt(LocalDateTime.now());
         
         IntegrationConfig updatedConfig = integrationConfigRepository.save(config);
+        // Credentials or token endpoint may have changed, cached tokens are no longer trusted
+        tokenManager.evict(config.getId());
         
         auditService.logCredentialsGenerate(performedBy, config.getId(), 
             config.getServiceProviderName());
@@ -147,11 +160,13 @@ public class IntegrationService {
             .orElseThrow(() -> new EntityNotFoundException("Integration configuration not found"));
         
         try {
-            // Test send endpoint
-            String sendResult = testEndpoint(config.getSendEndpointUrl(), config);
-            
-            // Test fetch endpoint
-            String fetchResult = testEndpoint(config.getFetchEndpointUrl(), config);
+            // Both endpoints are probed concurrently
+            CompletableFuture<ProviderCallResult> send =
+                providerHttpClient.get(config, config.getSendEndpointUrl(), "test_send");
+            CompletableFuture<ProviderCallResult> fetch =
+                providerHttpClient.get(config, config.getFetchEndpointUrl(), "test_fetch");
+            String sendResult = endpointResult(send.join());
+            String fetchResult = endpointResult(fetch.join());
             
             config.setSyncStatus("CONNECTED");
             config.setSyncErrors(null);
@@ -185,11 +200,12 @@ public class IntegrationService {
             .orElseThrow(() -> new EntityNotFoundException("Integration configuration not found"));
         
         try {
-            String authHeader = createAuthHeader(config);
-            
-            // Make API call to fetch status
-            // This is a simplified example
-            String response = restTemplate.getForObject(config.getFetchEndpointUrl(), String.class);
+            ProviderCallResult result =
+                providerHttpClient.get(config, config.getFetchEndpointUrl(), "fetch_status").join();
+            if (!result.isSuccess()) {
+                throw new RuntimeException(result.getMessage());
+            }
+            String response = result.getMessage();
             
             config.setLastSyncAt(LocalDateTime.now());
             config.setSyncStatus("SYNC_SUCCESS");
@@ -217,8 +233,8 @@ public class IntegrationService {
         }
     }
     
+    // Not transactional: each batch commits its own invoice updates while the push is running
     @Scheduled(cron = "0 0 9 * * *") // Daily at 9:00 AM
-    @Transactional
     public void sendScheduledInvoices() {
         List<IntegrationConfig> configs = integrationConfigRepository.findActiveScheduledConfigs();
         
@@ -226,10 +242,7 @@ public class IntegrationService {
             if (config.getEnableDailySending() && config.getIsActive()) {
                 try {
                     log.info("Processing scheduled invoices for: {}", config.getServiceProviderName());
-                    // Implementation would fetch pending invoices and send them
-                    config.setLastSyncAt(LocalDateTime.now());
-                    config.setSyncStatus("SCHEDULED_SEND_SUCCESS");
-                    integrationConfigRepository.save(config);
+                    invoiceBatchPushService.pushAwaiting(config);
                     
                 } catch (Exception e) {
                     log.error("Failed to send scheduled invoices for {}: {}", 
@@ -250,44 +263,24 @@ public class IntegrationService {
         config.setUsername(request.getUsername());
         config.setPassword(request.getPassword());
         config.setApiKey(request.getApiKey());
+        config.setTokenEndpointUrl(request.getTokenEndpointUrl());
+        config.setOauthScope(request.getOauthScope());
         config.setEnableDailySending(request.getEnableDailySending());
         config.setSendingTime(request.getSendingTime());
         config.setFrequency(request.getFrequency());
         config.setIsActive(request.getIsActive());
+        config.setMaxConcurrentRequests(request.getMaxConcurrentRequests());
+        config.setRequestTimeoutMs(request.getRequestTimeoutMs());
+        config.setBatchMaxItems(request.getBatchMaxItems());
+        config.setBatchMaxBytes(request.getBatchMaxBytes());
+        config.setBatchCompression(request.getBatchCompression());
     }
     
-    private String testEndpoint(String endpointUrl, IntegrationConfig config) {
-        try {
-            String authHeader = createAuthHeader(config);
-            
-            // Simple GET request to test connectivity
-            restTemplate.getForObject(endpointUrl, String.class);
-            return "OK";
-            
-        } catch (Exception e) {
-            throw new RuntimeException("Endpoint test failed: " + e.getMessage());
-        }
-    }
-    
-    private String createAuthHeader(IntegrationConfig config) {
-        switch (config.getAuthType()) {
-            case BASIC:
-                String auth = config.getUsername() + ":" + config.getPassword();
-                return "Basic " + Base64.getEncoder().encodeToString(auth.getBytes());
-                
-            case API_KEY:
-                return "ApiKey " + config.getApiKey();
-                
-            case BEARER_TOKEN:
-                return "Bearer " + config.getAccessToken();
-                
-            case OAUTH2:
-                // OAuth2 implementation would be more complex
-                return "Bearer " + config.getAccessToken();
-                
-            default:
-                return "";
+    private String endpointResult(ProviderCallResult result) {
+        if (!result.isSuccess()) {
+            throw new RuntimeException("Endpoint test failed: " + result.getMessage());
         }
+        return "OK";
     }
     
     private IntegrationConfigResponse mapToResponse(IntegrationConfig config) {
@@ -297,10 +290,17 @@ public class IntegrationService {
             config.getSendEndpointUrl(),
             config.getFetchEndpointUrl(),
             config.getAuthType(),
+            config.getTokenEndpointUrl(),
+            config.getOauthScope(),
             config.getEnableDailySending(),
             config.getSendingTime(),
             config.getFrequency(),
             config.getIsActive(),
+            config.getMaxConcurrentRequests(),
+            config.getRequestTimeoutMs(),
+            config.getBatchMaxItems(),
+            config.getBatchMaxBytes(),
+            config.getBatchCompression(),
             config.getSyncStatus(),
             config.getLastSyncAt(),
             config.getCreatedAt(),
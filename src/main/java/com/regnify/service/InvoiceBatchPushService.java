@@ -0,0 +1,407 @@
+// src/main/java/com/regnify/service/InvoiceBatchPushService.java
+package com.regnify.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.regnify.dto.request.InvoiceBatchPushRequest;
+import com.regnify.dto.response.BatchPushItemResult;
+import com.regnify.dto.response.BatchPushItemResult.Outcome;
+import com.regnify.dto.response.BatchPushResponse;
+import com.regnify.dto.response.InvoiceResponse;
+import com.regnify.dto.response.ProviderCallResult;
+import com.regnify.integration.ProviderHttpClient;
+import com.regnify.model.IntegrationConfig;
+import com.regnify.model.Invoice;
+import com.regnify.repository.IntegrationConfigRepository;
+import com.regnify.repository.InvoicePushStatusRepository;
+import com.regnify.repository.InvoiceRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+// Pushes invoices to a provider's send endpoint in batches: each request body is NDJSON, one line
+// per invoice (metadata plus the attachment, base64) keyed by itemId, optionally gzip-compressed.
+// The provider answers with one result per itemId (JSON array, {"results": [...]} or NDJSON), so a
+// batch can partially succeed; an empty 2xx body acknowledges the whole batch
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InvoiceBatchPushService {
+    
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int ID_PAGE_SIZE = 1000;
+    private static final Set<String> ACCEPTED_STATUSES = Set.of("ACCEPTED", "OK", "SUCCESS");
+    private static final List<Invoice.ProviderResponse> AWAITING_PUSH = List.of(
+        Invoice.ProviderResponse.PENDING, Invoice.ProviderResponse.RETRY, Invoice.ProviderResponse.TIMEOUT);
+    
+    private final IntegrationConfigRepository integrationConfigRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final InvoicePushStatusRepository invoicePushStatusRepository;
+    private final InvoiceService invoiceService;
+    private final AuditService auditService;
+    private final ProviderHttpClient providerHttpClient;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final PlatformTransactionManager transactionManager;
+    private final DataVersionService dataVersionService;
+    private final FileStorageService fileStorageService;
+    
+    @Value("${app.integration.batch.max-items:500}")
+    private int defaultMaxItems;
+    
+    @Value("${app.integration.batch.max-bytes:10485760}")
+    private long defaultMaxBytes;
+    
+    @Value("${app.integration.batch.compression:GZIP}")
+    private IntegrationConfig.BatchCompression defaultCompression;
+    
+    @Value("${app.integration.batch.max-in-flight:4}")
+    private int maxInFlight;
+    
+    public BatchPushResponse pushInvoices(Long configId, InvoiceBatchPushRequest request, String performedBy) {
+        IntegrationConfig config = integrationConfigRepository.findById(configId)
+            .orElseThrow(() -> new EntityNotFoundException("Integration configuration not found"));
+        if (!Boolean.TRUE.equals(config.getIsActive())) {
+            throw new RuntimeException("Integration configuration is not active");
+        }
+        
+        PushRun run = new PushRun(config, request.isIncludeAttachments(), true);
+        pushIds(run, request.getInvoiceIds());
+        BatchPushResponse response = run.finish(compression(config));
+        
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            integrationConfigRepository.findById(configId).ifPresent(stored -> {
+                recordSync(stored, response);
+                stored.setUpdatedBy(performedBy);
+                stored.setUpdatedAt(LocalDateTime.now());
+            });
+            auditService.logBatchPush(performedBy, configId, config.getServiceProviderName(),
+                response.getItems(), response.getAccepted(), response.getRejected(), response.getFailed());
+        });
+        return response;
+    }
+    
+    // Scheduled delivery of everything awaiting push to this provider; only counts are kept, not
+    // per-item results
+    public BatchPushResponse pushAwaiting(IntegrationConfig config) {
+        PushRun run = new PushRun(config, true, false);
+        Long afterId = 0L;
+        while (true) {
+            List<Long> ids = invoiceRepository.findIdsAwaitingPush(config.getId(), AWAITING_PUSH, afterId,
+                PageRequest.of(0, ID_PAGE_SIZE));
+            if (ids.isEmpty()) {
+                break;
+            }
+            pushIds(run, ids);
+            afterId = ids.get(ids.size() - 1);
+        }
+        BatchPushResponse response = run.finish(compression(config));
+        
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            integrationConfigRepository.findById(config.getId()).ifPresent(stored -> recordSync(stored, response)));
+        log.info("Scheduled push to {}: {} invoices in {} batches, {} accepted, {} rejected, {} failed ({} -> {} bytes)",
+            config.getServiceProviderName(), response.getItems(), response.getBatches(), response.getAccepted(),
+            response.getRejected(), response.getFailed(), response.getPayloadBytes(), response.getTransferredBytes());
+        return response;
+    }
+    
+    private void pushIds(PushRun run, List<Long> invoiceIds) {
+        for (int from = 0; from < invoiceIds.size(); from += ID_PAGE_SIZE) {
+            List<Long> page = invoiceIds.subList(from, Math.min(from + ID_PAGE_SIZE, invoiceIds.size()));
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            Map<Long, Invoice> invoices = readOnly.execute(status -> invoiceRepository.findAllById(page).stream()
+                .collect(Collectors.toMap(Invoice::getId, Function.identity())));
+            
+            for (Long id : page) {
+                Invoice invoice = invoices.get(id);
+                if (invoice == null || Boolean.TRUE.equals(invoice.getDeleted())) {
+                    run.complete(id, invoice != null ? invoice.getInvoiceNumber() : null, Outcome.REJECTED,
+                        invoice == null ? "Invoice not found" : "Invoice has been deleted");
+                    continue;
+                }
+                run.add(invoice);
+            }
+        }
+        run.flush();
+    }
+    
+    private IntegrationConfig.BatchCompression compression(IntegrationConfig config) {
+        return config.getBatchCompression() != null ? config.getBatchCompression() : defaultCompression;
+    }
+    
+    private void recordSync(IntegrationConfig config, BatchPushResponse response) {
+        boolean success = response.getFailed() == 0 && response.getRejected() == 0;
+        if (response.getAccepted() > 0) {
+            config.setLastSyncAt(LocalDateTime.now());
+        }
+        config.setSyncStatus(success ? "PUSH_SUCCESS" : "PUSH_PARTIAL");
+        config.setSyncErrors(success ? null : response.getRejected() + " rejected, "
+            + response.getFailed() + " failed of " + response.getItems() + " invoices");
+    }
+    
+    // State of one push: the batch being filled, batches built but not yet sent, and the tallies
+    private class PushRun {
+        
+        private final IntegrationConfig config;
+        private final boolean includeAttachments;
+        private final boolean keepResults;
+        private final int maxItems;
+        private final long maxBytes;
+        
+        private final List<BatchPushItemResult> results = new ArrayList<>();
+        private final Map<Outcome, Integer> counts = new EnumMap<>(Outcome.class);
+        private final List<Batch> ready = new ArrayList<>();
+        private final long started = System.nanoTime();
+        private Batch current = new Batch();
+        private int batches;
+        private long payloadBytes;
+        private long transferredBytes;
+        
+        private PushRun(IntegrationConfig config, boolean includeAttachments, boolean keepResults) {
+            this.config = config;
+            this.includeAttachments = includeAttachments;
+            this.keepResults = keepResults;
+            this.maxItems = config.getBatchMaxItems() != null ? config.getBatchMaxItems() : defaultMaxItems;
+            this.maxBytes = config.getBatchMaxBytes() != null ? config.getBatchMaxBytes() : defaultMaxBytes;
+        }
+        
+        void add(Invoice invoice) {
+            byte[] line;
+            try {
+                line = serialize(invoice);
+            } catch (IOException e) {
+                complete(invoice.getId(), invoice.getInvoiceNumber(), Outcome.FAILED,
+                    "Could not read attachment: " + e.getMessage());
+                return;
+            }
+            if (line.length > maxBytes) {
+                complete(invoice.getId(), invoice.getInvoiceNumber(), Outcome.REJECTED,
+                    "Invoice payload of " + line.length + " bytes exceeds the batch limit of " + maxBytes);
+                return;
+            }
+            if (current.items.size() >= maxItems || current.payload.size() + line.length > maxBytes) {
+                closeBatch();
+            }
+            current.items.put(String.valueOf(invoice.getId()), invoice);
+            current.payload.writeBytes(line);
+        }
+        
+        void flush() {
+            closeBatch();
+            send();
+        }
+        
+        void complete(Long invoiceId, String invoiceNumber, Outcome outcome, String message) {
+            counts.merge(outcome, 1, Integer::sum);
+            if (keepResults) {
+                results.add(new BatchPushItemResult(invoiceId, invoiceNumber, outcome, message));
+            }
+            meterRegistry.counter("regnify.integration.batch.items",
+                "provider", config.getServiceProviderName(),
+                "outcome", outcome.name().toLowerCase(Locale.ROOT)).increment();
+        }
+        
+        BatchPushResponse finish(IntegrationConfig.BatchCompression compression) {
+            flush();
+            int items = counts.values().stream().mapToInt(Integer::intValue).sum();
+            return new BatchPushResponse(config.getId(), config.getServiceProviderName(), compression, batches,
+                items, counts.getOrDefault(Outcome.ACCEPTED, 0), counts.getOrDefault(Outcome.REJECTED, 0),
+                counts.getOrDefault(Outcome.FAILED, 0) + counts.getOrDefault(Outcome.TIMEOUT, 0),
+                payloadBytes, transferredBytes, (System.nanoTime() - started) / 1_000_000, results);
+        }
+        
+        private void closeBatch() {
+            if (current.items.isEmpty()) {
+                return;
+            }
+            ready.add(current);
+            current = new Batch();
+            // Only a bounded number of encoded batches is held in memory at a time
+            if (ready.size() >= maxInFlight) {
+                send();
+            }
+        }
+        
+        private void send() {
+            if (ready.isEmpty()) {
+                return;
+            }
+            IntegrationConfig.BatchCompression compression = compression(config);
+            List<CompletableFuture<ProviderCallResult>> calls = new ArrayList<>();
+            for (Batch batch : ready) {
+                byte[] payload = batch.payload.toByteArray();
+                byte[] body = compression == IntegrationConfig.BatchCompression.GZIP ? gzip(payload) : payload;
+                payloadBytes += payload.length;
+                transferredBytes += body.length;
+                batches++;
+                
+                Map<String, String> headers = new LinkedHashMap<>();
+                headers.put("Content-Type", NDJSON);
+                headers.put("Accept", "application/json, " + NDJSON);
+                headers.put("X-Batch-Id", UUID.randomUUID().toString());
+                headers.put("X-Batch-Items", String.valueOf(batch.items.size()));
+                if (compression == IntegrationConfig.BatchCompression.GZIP) {
+                    headers.put("Content-Encoding", "gzip");
+                }
+                calls.add(providerHttpClient.post(config, config.getSendEndpointUrl(), "push_batch", body, headers));
+            }
+            CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).join();
+            
+            Map<Outcome, List<Long>> byOutcome = new EnumMap<>(Outcome.class);
+            for (int i = 0; i < ready.size(); i++) {
+                applyResult(ready.get(i), calls.get(i).join(), byOutcome);
+            }
+            ready.clear();
+            
+            // The provider's own row decides what it is sent next; the invoice keeps the latest outcome.
+            // Bulk updates skip entity callbacks, so the invoice version is bumped here
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                byOutcome.forEach((outcome, ids) -> {
+                    invoicePushStatusRepository.deleteForInvoices(config.getId(), ids);
+                    invoicePushStatusRepository.insertForInvoices(config.getId(), ids, providerResponse(outcome));
+                    invoiceRepository.updateProviderResponse(ids, providerResponse(outcome));
+                });
+                dataVersionService.changed(DataVersionService.Scope.INVOICES);
+            });
+        }
+        
+        private void applyResult(Batch batch, ProviderCallResult call, Map<Outcome, List<Long>> byOutcome) {
+            Map<String, ItemAck> acks = call.isSuccess() ? parseAcks(call.getResponseBody()) : Map.of();
+            boolean wholeBatchAcknowledged = call.isSuccess() && acks.isEmpty();
+            
+            batch.items.forEach((itemId, invoice) -> {
+                Outcome outcome;
+                String message;
+                if (!call.isSuccess()) {
+                    outcome = call.isTimedOut() ? Outcome.TIMEOUT : Outcome.FAILED;
+                    message = call.getMessage();
+                } else if (wholeBatchAcknowledged) {
+                    outcome = Outcome.ACCEPTED;
+                    message = null;
+                } else {
+                    ItemAck ack = acks.get(itemId);
+                    outcome = ack == null ? Outcome.FAILED : ack.accepted() ? Outcome.ACCEPTED : Outcome.REJECTED;
+                    message = ack == null ? "No result returned for item" : ack.message();
+                }
+                complete(invoice.getId(), invoice.getInvoiceNumber(), outcome, message);
+                byOutcome.computeIfAbsent(outcome, key -> new ArrayList<>()).add(invoice.getId());
+            });
+        }
+        
+        private byte[] serialize(Invoice invoice) throws IOException {
+            Attachment attachment = null;
+            if (includeAttachments && invoice.getFilePath() != null) {
+                Path file = Paths.get(invoice.getFilePath());
+                attachment = new Attachment(invoice.getFileName(), invoice.getFileContentType(),
+                    invoice.getFileSize(), fileStorageService.readStored(file, invoice.getFileCodec()));
+            }
+            BatchItem item = new BatchItem(String.valueOf(invoice.getId()),
+                invoiceService.mapToInvoiceResponse(invoice), attachment);
+            byte[] json = objectMapper.writeValueAsBytes(item);
+            byte[] line = new byte[json.length + 1];
+            System.arraycopy(json, 0, line, 0, json.length);
+            line[json.length] = '\n';
+            return line;
+        }
+    }
+    
+    private Map<String, ItemAck> parseAcks(String body) {
+        Map<String, ItemAck> acks = new HashMap<>();
+        if (body == null || body.isBlank()) {
+            return acks;
+        }
+        // Reads a JSON array, an object with "results", or NDJSON (a sequence of root values)
+        try (MappingIterator<JsonNode> values = objectMapper.readerFor(JsonNode.class).readValues(body)) {
+            while (values.hasNext()) {
+                JsonNode value = values.next();
+                JsonNode items = value.isArray() ? value : value.has("results") ? value.get("results") : null;
+                if (items != null) {
+                    items.forEach(item -> addAck(acks, item));
+                } else {
+                    addAck(acks, value);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unreadable batch response, treating items without a result as failed: {}", e.getMessage());
+        }
+        return acks;
+    }
+    
+    private void addAck(Map<String, ItemAck> acks, JsonNode item) {
+        String itemId = item.path("itemId").asText(null);
+        if (itemId == null) {
+            return;
+        }
+        String status = item.path("status").asText("").toUpperCase(Locale.ROOT);
+        acks.put(itemId, new ItemAck(ACCEPTED_STATUSES.contains(status), item.path("message").asText(null)));
+    }
+    
+    private Invoice.ProviderResponse providerResponse(Outcome outcome) {
+        switch (outcome) {
+            case ACCEPTED:
+                return Invoice.ProviderResponse.SUCCESS;
+            case REJECTED:
+                return Invoice.ProviderResponse.FAILED;
+            case TIMEOUT:
+                return Invoice.ProviderResponse.TIMEOUT;
+            default:
+                return Invoice.ProviderResponse.RETRY;
+        }
+    }
+    
+    private static byte[] gzip(byte[] payload) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, payload.length / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed, 64 * 1024)) {
+            out.write(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+    
+    private static final class Batch {
+        private final Map<String, Invoice> items = new LinkedHashMap<>();
+        private final ByteArrayOutputStream payload = new ByteArrayOutputStream(64 * 1024);
+    }
+    
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private record BatchItem(String itemId, InvoiceResponse invoice, Attachment attachment) {
+    }
+    
+    // data is serialized as base64 by Jackson
+    private record Attachment(String fileName, String contentType, Long size, byte[] data) {
+    }
+    
+    private record ItemAck(boolean accepted, String message) {
+    }
+}
\ No newline at end of file
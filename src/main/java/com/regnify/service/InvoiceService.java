@@ -3,14 +3,27 @@ package com.regnify.service;
 
 import com.regnify.dto.request.InvoiceFilterRequest;
 import com.regnify.dto.request.InvoiceRequest;
+import com.regnify.dedupe.InvoiceNumberFilter;
+import com.regnify.dto.response.BatchGetItem;
 import com.regnify.dto.response.InvoiceResponse;
+import com.regnify.dto.response.InvoiceSummaryResponse;
+import com.regnify.dto.response.SparseRow;
+import com.regnify.event.InvoiceStatusChangedEvent;
+import com.regnify.exception.ConflictException;
 import com.regnify.model.Invoice;
+import com.regnify.model.UploadSession;
 import com.regnify.model.User;
 import com.regnify.repository.InvoiceRepository;
+import com.regnify.repository.SparseFieldRepository;
 import com.regnify.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -27,7 +40,11 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -41,14 +58,48 @@ public class InvoiceService {
     private final FileStorageService fileStorageService;
     private final AuditService auditService;
     private final EmailService emailService;
+    private final StorageUsageService storageUsageService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final InvoiceNumberFilter invoiceNumberFilter;
+    private final SparseFieldRepository sparseFieldRepository;
+    private final UploadSessionService uploadSessionService;
+    
+    static final List<String> ALLOWED_FILE_EXTENSIONS = List.of("xml", "json", "csv", "xls", "xlsx", "pdf");
     
     private static final String UPLOAD_DIR = "uploads/invoices";
+    private static final String INVOICE_NUMBER_INDEX = "idx_invoices_invoice_number";
+    
+    @Value("${app.batch-get.max-ids:100}")
+    private int batchGetMaxIds;
     
     @Transactional
     public InvoiceResponse uploadInvoice(InvoiceRequest request) throws IOException {
-        // Validate invoice number uniqueness
-        if (invoiceRepository.existsByInvoiceNumber(request.getInvoiceNumber())) {
-            throw new RuntimeException("Invoice number already exists");
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            InvoiceResponse response = doUploadInvoice(request);
+            outcome = "success";
+            return response;
+        } finally {
+            sample.stop(meterRegistry.timer("regnify.invoice.upload", "outcome", outcome));
+        }
+    }
+    
+    // Identifies a retried upload for Idempotency-Key replay; the file is identified by name and size
+    // so a retry is not charged a full read of the upload
+    public String uploadFingerprint(InvoiceRequest request) {
+        MultipartFile file = request.getFile();
+        return IdempotencyService.fingerprint("invoice-upload", request.getInvoiceNumber(), request.getDocDate(),
+            request.getProDate(), request.getSender(), request.getReceiver(), request.getCountry(),
+            request.getDocumentType(), file != null ? file.getOriginalFilename() : null,
+            file != null ? file.getSize() : null, request.getUploadId());
+    }
+    
+    private InvoiceResponse doUploadInvoice(InvoiceRequest request) throws IOException {
+        // Cheap early rejection; the unique index is what actually guarantees uniqueness
+        if (invoiceNumberFilter.exists(request.getInvoiceNumber())) {
+            throw new ConflictException("Invoice number already exists");
         }
         
         // Get current user
@@ -62,38 +113,49 @@ public class InvoiceService {
         Long fileSize = null;
         String fileContentType = null;
         String filePath = null;
+        Invoice.FileCodec fileCodec = Invoice.FileCodec.NONE;
+        Long storedFileSize = null;
         
         if (request.getFile() != null && !request.getFile().isEmpty()) {
+            Timer.Sample storeSample = Timer.start(meterRegistry);
             MultipartFile file = request.getFile();
             
             // Validate file
             validateFile(file);
             
-            // Generate unique filename
+            // Save file, compressed when the content type compresses well
             String originalFileName = file.getOriginalFilename();
-            String fileExtension = getFileExtension(originalFileName);
-            String uniqueFileName = UUID.randomUUID().toString() + "_" + 
-                System.currentTimeMillis() + "." + fileExtension;
-            
-            // Create upload directory if it doesn't exist
-            Path uploadPath = Paths.get(UPLOAD_DIR);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
-            
-            // Save file
-            Path targetLocation = uploadPath.resolve(uniqueFileName);
-            Files.copy(file.getInputStream(), targetLocation);
+            fileCodec = fileStorageService.codecFor(file.getContentType(), originalFileName, file.getSize());
+            Path targetLocation = uploadTarget(originalFileName, fileCodec);
+            fileStorageService.deleteOnRollback(targetLocation.toString());
+            storedFileSize = fileStorageService.writeStored(file.getInputStream(), targetLocation, fileCodec);
             
             fileName = originalFileName;
             fileSize = file.getSize();
             fileContentType = file.getContentType();
             filePath = targetLocation.toString();
+            storeSample.stop(uploadStageTimer("store"));
+        } else if (request.getUploadId() != null) {
+            Timer.Sample storeSample = Timer.start(meterRegistry);
+            
+            // Already checked against the size and format limits when the session was created
+            UploadSession upload = uploadSessionService.getSession(request.getUploadId(), username);
+            fileCodec = fileStorageService.codecFor(upload.getContentType(), upload.getFileName(), upload.getUploadLength());
+            Path targetLocation = uploadTarget(upload.getFileName(), fileCodec);
+            storedFileSize = uploadSessionService.claim(upload.getId(), username, targetLocation, fileCodec);
+            
+            fileName = upload.getFileName();
+            fileSize = upload.getUploadLength();
+            fileContentType = upload.getContentType();
+            filePath = targetLocation.toString();
+            storeSample.stop(uploadStageTimer("store"));
         }
         
         // Validate invoice based on country rules
+        Timer.Sample validateSample = Timer.start(meterRegistry);
         String validationErrors = validateInvoice(request);
         Integer validationScore = calculateValidationScore(request, validationErrors);
+        validateSample.stop(uploadStageTimer("validate"));
         
         // Determine status based on validation
         Invoice.Status status = validationErrors.isEmpty() ? 
@@ -122,17 +184,29 @@ public class InvoiceService {
         invoice.setFileSize(fileSize);
         invoice.setFileContentType(fileContentType);
         invoice.setFilePath(filePath);
+        invoice.setFileCodec(fileCodec);
+        invoice.setStoredFileSize(storedFileSize);
         invoice.setValidationErrors(validationErrors);
         invoice.setValidationScore(validationScore);
         invoice.setUploadedBy(user.getUsername());
+        if (status == Invoice.Status.COMPLETE) {
+            // Invoices that pass validation are processed as part of the upload
+            invoice.setProcessedBy(user.getUsername());
+            invoice.setProcessedAt(LocalDateTime.now());
+        }
         invoice.setCreatedAt(LocalDateTime.now());
         invoice.setUpdatedAt(LocalDateTime.now());
         
-        Invoice savedInvoice = invoiceRepository.save(invoice);
+        Timer.Sample saveSample = Timer.start(meterRegistry);
+        Invoice savedInvoice = insertInvoice(invoice);
+        storageUsageService.recordStored(savedInvoice);
         
         // Log the action
         auditService.logInvoiceUpload(user.getUsername(), savedInvoice.getId(), 
             savedInvoice.getInvoiceNumber(), status.name());
+        saveSample.stop(uploadStageTimer("save"));
+        
+        eventPublisher.publishEvent(InvoiceStatusChangedEvent.created(savedInvoice, user.getUsername()));
         
         // Send notification email
         if (validationErrors.isEmpty()) {
@@ -144,14 +218,23 @@ public class InvoiceService {
         return mapToInvoiceResponse(savedInvoice);
     }
     
+    // Flushes right away so a concurrent upload of the same number fails here, before the audit and
+    // email side effects, and surfaces as a conflict instead of a failed commit
+    private Invoice insertInvoice(Invoice invoice) {
+        invoiceNumberFilter.add(invoice.getInvoiceNumber());
+        try {
+            return invoiceRepository.saveAndFlush(invoice);
+        } catch (DataIntegrityViolationException e) {
+            String cause = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+            if (cause.contains(INVOICE_NUMBER_INDEX)) {
+                throw new ConflictException("Invoice number already exists", e);
+            }
+            throw e;
+        }
+    }
+    
     @Transactional(readOnly = true)
     public Page<InvoiceResponse> getInvoices(InvoiceFilterRequest filter) {
-        Pageable pageable = PageRequest.of(
-            filter.getPage(),
-            filter.getSize(),
-            Sort.by(Sort.Direction.fromString(filter.getSortDirection()), filter.getSortBy())
-        );
-        
         Page<Invoice> invoices = invoiceRepository.findWithFilters(
             filter.getStartDate(),
             filter.getEndDate(),
@@ -161,12 +244,57 @@ public class InvoiceService {
             filter.getSender(),
             filter.getReceiver(),
             filter.getUploadedBy(),
-            pageable
+            pageable(filter)
         );
-        
         return invoices.map(this::mapToInvoiceResponse);
     }
     
+    @Transactional(readOnly = true)
+    public Page<InvoiceSummaryResponse> getInvoiceSummaries(InvoiceFilterRequest filter) {
+        return invoiceRepository.findSummariesWithFilters(
+            filter.getStartDate(),
+            filter.getEndDate(),
+            filter.getStatus(),
+            filter.getCountry(),
+            filter.getDocumentType(),
+            filter.getSender(),
+            filter.getReceiver(),
+            filter.getUploadedBy(),
+            pageable(filter)
+        );
+    }
+    
+    // Same filters as getInvoices, selecting only the requested columns
+    @Transactional(readOnly = true)
+    public Page<SparseRow> getInvoiceFields(InvoiceFilterRequest filter, String fields) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("startDate", filter.getStartDate());
+        params.put("endDate", filter.getEndDate());
+        params.put("status", filter.getStatus());
+        params.put("country", filter.getCountry());
+        params.put("documentType", filter.getDocumentType());
+        params.put("sender", filter.getSender());
+        params.put("receiver", filter.getReceiver());
+        params.put("uploadedBy", filter.getUploadedBy());
+        
+        return sparseFieldRepository.findPage(InvoiceRepository.SUMMARY_FIELDS.select(fields),
+            InvoiceRepository.FILTER_CONDITIONS, params, pageable(filter));
+    }
+    
+    private Pageable pageable(InvoiceFilterRequest filter) {
+        return PageRequest.of(
+            filter.getPage(),
+            filter.getSize(),
+            Sort.by(Sort.Direction.fromString(filter.getSortDirection()), filter.getSortBy())
+        );
+    }
+    
+    // Lets a conditional GET be answered before the invoice is loaded and mapped
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> getInvoiceChangedAt(Long id) {
+        return invoiceRepository.findChangedAtById(id);
+    }
+    
     @Transactional(readOnly = true)
     public InvoiceResponse getInvoiceById(Long id) {
         Invoice invoice = invoiceRepository.findById(id)
@@ -179,6 +307,12 @@ public class InvoiceService {
         return mapToInvoiceResponse(invoice);
     }
     
+    @Transactional(readOnly = true)
+    public List<BatchGetItem<InvoiceResponse>> getInvoicesByIds(List<Long> ids) {
+        List<Invoice> invoices = invoiceRepository.findAllById(BatchGet.distinctIds(ids, batchGetMaxIds));
+        return BatchGet.resolve(ids, invoices, Invoice::getId, Invoice::getDeleted, this::mapToInvoiceResponse);
+    }
+    
     @Transactional
     public InvoiceResponse updateInvoice(Long id, InvoiceRequest request) {
         Invoice invoice = invoiceRepository.findById(id)
@@ -188,6 +322,10 @@ public class InvoiceService {
             throw new RuntimeException("Cannot update deleted invoice");
         }
         
+        Invoice.Status previousStatus = invoice.getStatus();
+        Invoice.Country previousCountry = invoice.getCountry();
+        Invoice.DocumentType previousDocumentType = invoice.getDocumentType();
+        
         // Update fields
         invoice.setDocDate(request.getDocDate());
         invoice.setProDate(request.getProDate());
@@ -206,6 +344,10 @@ public class InvoiceService {
         
         // Update status based on validation
         if (validationErrors.isEmpty()) {
+            if (previousStatus != Invoice.Status.COMPLETE) {
+                invoice.setProcessedBy(SecurityContextHolder.getContext().getAuthentication().getName());
+                invoice.setProcessedAt(LocalDateTime.now());
+            }
             invoice.setStatus(Invoice.Status.COMPLETE);
             invoice.setBusinessStatus(Invoice.BusinessStatus.APPROVED);
             invoice.setProviderResponse(Invoice.ProviderResponse.SUCCESS);
@@ -216,12 +358,16 @@ public class InvoiceService {
         }
         
         Invoice updatedInvoice = invoiceRepository.save(invoice);
+        storageUsageService.recordCountryChange(updatedInvoice, previousCountry);
         
         // Log the update
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
         auditService.logInvoiceUpdate(username, invoice.getId(), invoice.getInvoiceNumber());
         
+        eventPublisher.publishEvent(InvoiceStatusChangedEvent.changed(updatedInvoice, previousStatus,
+            previousCountry, previousDocumentType, username));
+        
         return mapToInvoiceResponse(updatedInvoice);
     }
     
@@ -232,6 +378,7 @@ public class InvoiceService {
         
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
+        boolean alreadyDeleted = invoice.getDeleted();
         
         invoice.setDeleted(true);
         invoice.setDeletedAt(LocalDateTime.now());
@@ -239,6 +386,10 @@ public class InvoiceService {
         invoiceRepository.save(invoice);
         
         auditService.logInvoiceDelete(username, invoice.getId(), invoice.getInvoiceNumber());
+        
+        if (!alreadyDeleted) {
+            eventPublisher.publishEvent(InvoiceStatusChangedEvent.deleted(invoice, username));
+        }
     }
     
     @Transactional
@@ -252,6 +403,7 @@ public class InvoiceService {
         
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
+        Invoice.Status previousStatus = invoice.getStatus();
         
         invoice.setStatus(Invoice.Status.COMPLETE);
         invoice.setBusinessStatus(Invoice.BusinessStatus.APPROVED);
@@ -264,20 +416,26 @@ public class InvoiceService {
         
         auditService.logInvoiceProcess(username, invoice.getId(), invoice.getInvoiceNumber());
         
+        eventPublisher.publishEvent(InvoiceStatusChangedEvent.changed(processedInvoice, previousStatus,
+            processedInvoice.getCountry(), processedInvoice.getDocumentType(), username));
+        
         return mapToInvoiceResponse(processedInvoice);
     }
     
     @Transactional(readOnly = true)
     public List<InvoiceResponse> searchInvoices(String query, int limit) {
-        Pageable pageable = PageRequest.of(0, limit);
-        Page<Invoice> invoices = invoiceRepository.searchInvoices(query, pageable);
-        return invoices.getContent().stream()
+        return invoiceRepository.searchInvoices(query, PageRequest.of(0, limit)).stream()
             .map(this::mapToInvoiceResponse)
             .collect(Collectors.toList());
     }
     
     @Transactional(readOnly = true)
-    public byte[] downloadInvoiceFile(Long id) throws IOException {
+    public List<InvoiceSummaryResponse> searchInvoiceSummaries(String query, int limit) {
+        return invoiceRepository.searchSummaries(query, PageRequest.of(0, limit));
+    }
+    
+    @Transactional(readOnly = true)
+    public InvoiceFile getInvoiceFile(Long id) throws IOException {
         Invoice invoice = invoiceRepository.findById(id)
             .orElseThrow(() -> new EntityNotFoundException("Invoice not found"));
         
@@ -290,7 +448,10 @@ public class InvoiceService {
             throw new RuntimeException("File not found");
         }
         
-        return Files.readAllBytes(filePath);
+        long storedSize = Files.size(filePath);
+        long size = invoice.getFileCodec() == Invoice.FileCodec.GZIP && invoice.getFileSize() != null
+            ? invoice.getFileSize() : storedSize;
+        return new InvoiceFile(filePath, invoice.getFileCodec(), size, storedSize);
     }
     
     private void validateFile(MultipartFile file) {
@@ -305,10 +466,26 @@ public class InvoiceService {
         String fileName = file.getOriginalFilename();
         String fileExtension = getFileExtension(fileName).toLowerCase();
         
-        List<String> allowedExtensions = List.of("xml", "json", "csv", "xls", "xlsx", "pdf");
-        if (!allowedExtensions.contains(fileExtension)) {
-            throw new RuntimeException("Invalid file format. Allowed formats: " + allowedExtensions);
+        if (!ALLOWED_FILE_EXTENSIONS.contains(fileExtension)) {
+            throw new RuntimeException("Invalid file format. Allowed formats: " + ALLOWED_FILE_EXTENSIONS);
+        }
+    }
+    
+    // Unique name under the upload directory, created if it doesn't exist
+    private Path uploadTarget(String originalFileName, Invoice.FileCodec codec) throws IOException {
+        String fileExtension = getFileExtension(originalFileName);
+        String uniqueFileName = UUID.randomUUID().toString() + "_" + 
+            System.currentTimeMillis() + "." + fileExtension;
+        
+        Path uploadPath = Paths.get(UPLOAD_DIR);
+        if (!Files.exists(uploadPath)) {
+            Files.createDirectories(uploadPath);
         }
+        return fileStorageService.storedPath(uploadPath.resolve(uniqueFileName), codec);
+    }
+    
+    private Timer uploadStageTimer(String stage) {
+        return meterRegistry.timer("regnify.invoice.upload.stage", "stage", stage);
     }
     
     private String validateInvoice(InvoiceRequest request) {
@@ -411,7 +588,7 @@ public class InvoiceService {
         return lastDotIndex > 0 ? fileName.substring(lastDotIndex + 1) : "";
     }
     
-    private InvoiceResponse mapToInvoiceResponse(Invoice invoice) {
+    InvoiceResponse mapToInvoiceResponse(Invoice invoice) {
         return new InvoiceResponse(
             invoice.getId(),
             invoice.getInvoiceNumber(),
@@ -435,4 +612,8 @@ public class InvoiceService {
             invoice.getUpdatedAt()
         );
     }
+    
+    // size is the original file size, storedSize what is on disk (the same unless compressed)
+    public record InvoiceFile(Path path, Invoice.FileCodec codec, long size, long storedSize) {
+    }
 }
\ No newline at end of file
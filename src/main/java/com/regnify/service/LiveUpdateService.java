@@ -0,0 +1,267 @@
+// src/main/java/com/regnify/service/LiveUpdateService.java
+package com.regnify.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.regnify.dto.response.DashboardDeltaResponse;
+import com.regnify.dto.response.InvoiceStatusUpdateResponse;
+import com.regnify.event.InvoiceStatusChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LiveUpdateService {
+    
+    private static final String INVOICE_STATUS_EVENT = "invoice-status";
+    private static final String DASHBOARD_DELTA_EVENT = "dashboard-delta";
+    
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${app.live.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+    
+    @Value("${app.live.queue-capacity:256}")
+    private int queueCapacity;
+    
+    @Value("${app.live.dispatcher-threads:4}")
+    private int dispatcherThreads;
+    
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    
+    private ExecutorService dispatcher;
+    private Timer deliveryLag;
+    private Counter publishedEvents;
+    private Counter evictions;
+    
+    @PostConstruct
+    void init() {
+        dispatcher = Executors.newFixedThreadPool(dispatcherThreads, runnable -> {
+            Thread thread = new Thread(runnable, "live-update-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        Gauge.builder("regnify.live.connections", subscribers, Set::size)
+            .description("Open server-sent event connections")
+            .register(meterRegistry);
+        deliveryLag = Timer.builder("regnify.live.delivery.lag")
+            .description("Time between an event being published and written to a subscriber")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        publishedEvents = Counter.builder("regnify.live.events.published")
+            .description("Events fanned out to live update subscribers")
+            .register(meterRegistry);
+        evictions = Counter.builder("regnify.live.evictions")
+            .description("Subscribers dropped because they could not keep up or disconnected")
+            .register(meterRegistry);
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        dispatcher.shutdownNow();
+    }
+    
+    public SseEmitter subscribe(String username) throws IOException {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(username, emitter, new ArrayBlockingQueue<>(queueCapacity));
+        
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        
+        // Flush the response headers so the client sees the stream as open
+        emitter.send(SseEmitter.event().comment("connected"));
+        subscribers.add(subscriber);
+        
+        log.debug("Live update subscriber {} connected for user: {}", subscriber.id, username);
+        return emitter;
+    }
+    
+    @TransactionalEventListener
+    public void onInvoiceStatusChanged(InvoiceStatusChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        
+        InvoiceStatusUpdateResponse statusUpdate = new InvoiceStatusUpdateResponse(
+            event.getInvoiceId(),
+            event.getInvoiceNumber(),
+            event.getPreviousStatus(),
+            event.getStatus(),
+            event.getStatus() == null,
+            event.getPerformedBy(),
+            event.getOccurredAt()
+        );
+        broadcast(INVOICE_STATUS_EVENT, statusUpdate);
+        
+        DashboardDeltaResponse delta = toDashboardDelta(event);
+        if (delta != null) {
+            broadcast(DASHBOARD_DELTA_EVENT, delta);
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${app.live.heartbeat-ms:15000}")
+    public void sendHeartbeat() {
+        // Heartbeats keep proxies from closing idle streams and surface dead connections
+        long publishedAt = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, new Frame(null, null, publishedAt));
+        }
+    }
+    
+    public int getConnectionCount() {
+        return subscribers.size();
+    }
+    
+    private void broadcast(String eventName, Object payload) {
+        String json;
+        try {
+            // Serialize once, every subscriber receives the same frame
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize live update {}: {}", eventName, e.getMessage());
+            return;
+        }
+        
+        Frame frame = new Frame(eventName, json, System.nanoTime());
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, frame);
+        }
+        publishedEvents.increment();
+    }
+    
+    private void enqueue(Subscriber subscriber, Frame frame) {
+        if (!subscriber.queue.offer(frame)) {
+            evict(subscriber, "slow consumer");
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+    
+    private void drain(Subscriber subscriber) {
+        try {
+            Frame frame;
+            while ((frame = subscriber.queue.poll()) != null) {
+                if (frame.eventName == null) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                    continue;
+                }
+                subscriber.emitter.send(SseEmitter.event()
+                    .name(frame.eventName)
+                    .data(frame.json, MediaType.APPLICATION_JSON));
+                deliveryLag.record(System.nanoTime() - frame.publishedAt, TimeUnit.NANOSECONDS);
+            }
+        } catch (IOException | IllegalStateException e) {
+            evict(subscriber, "disconnected");
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        
+        // A frame may have been queued between the last poll and releasing the flag
+        if (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+    
+    private void evict(Subscriber subscriber, String reason) {
+        if (subscribers.remove(subscriber)) {
+            evictions.increment();
+            subscriber.queue.clear();
+            subscriber.emitter.complete();
+            log.debug("Live update subscriber {} ({}) evicted: {}", subscriber.id, subscriber.username, reason);
+        }
+    }
+    
+    private DashboardDeltaResponse toDashboardDelta(InvoiceStatusChangedEvent event) {
+        Map<String, Long> byStatus = new HashMap<>();
+        Map<String, Long> byCountry = new HashMap<>();
+        Map<String, Long> byType = new HashMap<>();
+        
+        applyDelta(byStatus, event.getPreviousStatus(), event.getStatus());
+        applyDelta(byCountry, event.getPreviousCountry(), event.getCountry());
+        applyDelta(byType, event.getPreviousDocumentType(), event.getDocumentType());
+        
+        long total = 0;
+        if (event.getPreviousStatus() == null && event.getStatus() != null) {
+            total = 1;
+        } else if (event.getPreviousStatus() != null && event.getStatus() == null) {
+            total = -1;
+        }
+        
+        if (total == 0 && byStatus.isEmpty() && byCountry.isEmpty() && byType.isEmpty()) {
+            return null;
+        }
+        return new DashboardDeltaResponse(total, byStatus, byCountry, byType, event.getOccurredAt());
+    }
+    
+    private void applyDelta(Map<String, Long> counters, Enum<?> previous, Enum<?> current) {
+        if (previous == current) {
+            return;
+        }
+        if (previous != null) {
+            counters.merge(previous.name(), -1L, Long::sum);
+        }
+        if (current != null) {
+            counters.merge(current.name(), 1L, Long::sum);
+        }
+    }
+    
+    private static class Frame {
+        private final String eventName;
+        private final String json;
+        private final long publishedAt;
+        
+        private Frame(String eventName, String json, long publishedAt) {
+            this.eventName = eventName;
+            this.json = json;
+            this.publishedAt = publishedAt;
+        }
+    }
+    
+    private static class Subscriber {
+        private final String id = UUID.randomUUID().toString();
+        private final String username;
+        private final SseEmitter emitter;
+        private final Queue<Frame> queue;
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+        
+        private Subscriber(String username, SseEmitter emitter, Queue<Frame> queue) {
+            this.username = username;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+// src/main/java/com/regnify/service/StorageUsageService.java
+package com.regnify.service;
+
+import com.regnify.dto.response.StorageUsageResponse;
+import com.regnify.model.Invoice;
+import com.regnify.model.StorageUsage;
+import com.regnify.repository.StorageUsageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps per-directory, per-country and per-uploader byte totals up to date as invoice files are
+ * stored and removed, so reporting never has to walk the upload directories.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StorageUsageService {
+    
+    private static final int TOP_UPLOADERS = 10;
+    
+    private final StorageUsageRepository storageUsageRepository;
+    
+    @Value("${app.file.upload-dir:uploads}")
+    private String uploadDir;
+    
+    // Joins the caller's transaction so the totals roll back together with the invoice
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStored(Invoice invoice) {
+        apply(invoice, invoice.getCountry(), 1);
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRemoved(Invoice invoice) {
+        apply(invoice, invoice.getCountry(), -1);
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCountryChange(Invoice invoice, Invoice.Country previousCountry) {
+        if (invoice.getFilePath() == null || invoice.getFileSize() == null
+                || previousCountry == null || previousCountry == invoice.getCountry()) {
+            return;
+        }
+        add(StorageUsage.Dimension.COUNTRY, previousCountry.name(), -storedBytes(invoice), -1);
+        add(StorageUsage.Dimension.COUNTRY, invoice.getCountry().name(), storedBytes(invoice), 1);
+    }
+    
+    @Transactional(readOnly = true)
+    public StorageUsageResponse getUsage() {
+        List<StorageUsage> directories = storageUsageRepository.findByDimensionOrderByBytesDesc(StorageUsage.Dimension.DIRECTORY);
+        
+        StorageUsageResponse response = new StorageUsageResponse();
+        response.setUsedBytes(directories.stream().mapToLong(StorageUsage::getBytes).sum());
+        response.setFileCount(directories.stream().mapToLong(StorageUsage::getFileCount).sum());
+        response.setBytesByDirectory(toMap(directories, Integer.MAX_VALUE));
+        response.setBytesByCountry(toMap(
+            storageUsageRepository.findByDimensionOrderByBytesDesc(StorageUsage.Dimension.COUNTRY), Integer.MAX_VALUE));
+        response.setBytesByUploader(toMap(
+            storageUsageRepository.findByDimensionOrderByBytesDesc(StorageUsage.Dimension.UPLOADER), TOP_UPLOADERS));
+        
+        // Capacity of the volume holding the uploads, a single statvfs call
+        try {
+            Path root = Paths.get(uploadDir);
+            Files.createDirectories(root);
+            FileStore store = Files.getFileStore(root);
+            response.setTotalBytes(store.getTotalSpace());
+            response.setUsableBytes(store.getUsableSpace());
+        } catch (IOException e) {
+            log.warn("Could not read file store capacity for {}: {}", uploadDir, e.getMessage());
+        }
+        
+        return response;
+    }
+    
+    private void apply(Invoice invoice, Invoice.Country country, int sign) {
+        if (invoice.getFilePath() == null || invoice.getFileSize() == null) {
+            return;
+        }
+        long bytes = sign * storedBytes(invoice);
+        Path parent = Paths.get(invoice.getFilePath()).getParent();
+        add(StorageUsage.Dimension.DIRECTORY, parent != null ? parent.toString() : ".", bytes, sign);
+        add(StorageUsage.Dimension.COUNTRY, country.name(), bytes, sign);
+        add(StorageUsage.Dimension.UPLOADER, invoice.getUploadedBy(), bytes, sign);
+    }
+    
+    // Bytes on disk; files stored before compression have no stored size and are stored as uploaded
+    private static long storedBytes(Invoice invoice) {
+        return invoice.getStoredFileSize() != null ? invoice.getStoredFileSize() : invoice.getFileSize();
+    }
+    
+    private void add(StorageUsage.Dimension dimension, String key, long bytes, long files) {
+        storageUsageRepository.addUsage(dimension.name(), key, bytes, files);
+    }
+    
+    private Map<String, Long> toMap(List<StorageUsage> usages, int limit) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        usages.stream()
+            .filter(usage -> usage.getFileCount() > 0)
+            .limit(limit)
+            .forEach(usage -> result.put(usage.getDimensionKey(), usage.getBytes()));
+        return result;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,326 @@
+// src/main/java/com/regnify/service/UploadSessionService.java
+package com.regnify.service;
+
+import com.regnify.exception.BusinessException;
+import com.regnify.exception.ConflictException;
+import com.regnify.model.Invoice;
+import com.regnify.model.UploadSession;
+import com.regnify.repository.UploadSessionRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Resumable (tus-style) uploads: a session is created with the total length, chunks are sent with
+ * the offset they start at and a checksum, and are written straight into a partial file at that
+ * position. A dropped connection costs only the chunk in flight; the client asks for the offset
+ * and continues from there. A finished upload is bound to an invoice by its id.
+ */
+@Service
+@Slf4j
+public class UploadSessionService {
+    
+    private static final String PART_SUFFIX = ".part";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    // Upload-Checksum algorithm names, as in the tus checksum extension
+    private static final Map<String, String> CHECKSUM_ALGORITHMS = Map.of(
+        "sha1", "SHA-1",
+        "sha256", "SHA-256",
+        "md5", "MD5"
+    );
+    
+    private final UploadSessionRepository repository;
+    private final FileStorageService fileStorageService;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${app.upload.session.dir:uploads/partial}")
+    private String sessionDir;
+    
+    @Value("${app.upload.session.ttl-hours:24}")
+    private long ttlHours;
+    
+    @Value("${app.upload.session.max-chunk-mb:16}")
+    private long maxChunkMb;
+    
+    @Value("${app.validation.invoice.max-size-mb:150}")
+    private long maxSizeMb;
+    
+    public UploadSessionService(UploadSessionRepository repository, FileStorageService fileStorageService,
+                                PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.fileStorageService = fileStorageService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    public UploadSession create(String fileName, String contentType, long length, String username) throws IOException {
+        String extension = StringUtils.getFilenameExtension(fileName);
+        if (extension == null || !InvoiceService.ALLOWED_FILE_EXTENSIONS.contains(extension.toLowerCase(Locale.ROOT))) {
+            throw new BusinessException("Invalid file format. Allowed formats: " + InvoiceService.ALLOWED_FILE_EXTENSIONS);
+        }
+        if (length > maxSizeMb * 1024 * 1024) {
+            throw new BusinessException("File size exceeds " + maxSizeMb + "MB limit");
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        UploadSession session = new UploadSession();
+        session.setId(UUID.randomUUID().toString());
+        session.setUsername(username);
+        session.setFileName(StringUtils.cleanPath(fileName));
+        session.setContentType(contentType);
+        session.setUploadLength(length);
+        session.setUploadOffset(0L);
+        session.setCreatedAt(now);
+        session.setUpdatedAt(now);
+        session.setExpiresAt(now.plusHours(ttlHours));
+        
+        Files.createDirectories(Paths.get(sessionDir));
+        Files.createFile(partPath(session.getId()));
+        return repository.save(session);
+    }
+    
+    // Read in a read-write transaction, which the routing datasource keeps on the primary: findById
+    // alone is read-only, and a lagging replica would report an old offset and fail the next PATCH
+    public UploadSession getSession(String id, String username) {
+        UploadSession session = transactionTemplate.execute(status -> repository.findById(id))
+            .filter(found -> found.getUsername().equals(username))
+            .orElseThrow(() -> new EntityNotFoundException("Upload not found"));
+        if (session.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new EntityNotFoundException("Upload has expired");
+        }
+        return session;
+    }
+    
+    /**
+     * Writes one chunk at {@code offset}, which must be the session's current offset. The chunk is
+     * streamed to disk, forced, and checked against {@code checksum} ("sha256 <base64>") before the
+     * offset moves; a mismatch leaves the offset where it was so the chunk can be resent.
+     */
+    public UploadSession append(String id, String username, long offset, String checksum, InputStream body) throws IOException {
+        UploadSession session = getSession(id, username);
+        if (offset != session.getUploadOffset()) {
+            throw new ConflictException("Upload-Offset " + offset + " does not match the current offset " + session.getUploadOffset());
+        }
+        ChecksumHeader expected = ChecksumHeader.parse(checksum);
+        MessageDigest digest = expected.digest();
+        long limit = Math.min(maxChunkMb * 1024 * 1024, session.getUploadLength() - offset);
+        
+        try (FileChannel channel = FileChannel.open(partPath(id), StandardOpenOption.WRITE)) {
+            // Held until the offset has moved, so a concurrent PATCH of the same range cannot
+            // overwrite bytes that are about to be acknowledged
+            FileLock lock = lock(channel);
+            try {
+                long written = write(body, channel, offset, limit, digest);
+                channel.force(false);
+                if (!MessageDigest.isEqual(digest.digest(), expected.value())) {
+                    throw new BusinessException("Upload-Checksum does not match the chunk, resend it from offset " + offset);
+                }
+                
+                LocalDateTime now = LocalDateTime.now();
+                Integer advanced = transactionTemplate.execute(status ->
+                    repository.advance(id, offset, offset + written, now, now.plusHours(ttlHours)));
+                if (advanced == null || advanced == 0) {
+                    throw new ConflictException("The upload offset changed while the chunk was written");
+                }
+                session.setUploadOffset(offset + written);
+                session.setUpdatedAt(now);
+                session.setExpiresAt(now.plusHours(ttlHours));
+                return session;
+            } finally {
+                lock.release();
+            }
+        }
+    }
+    
+    /**
+     * Hands a finished upload over to an invoice: the file is stored at {@code target} through
+     * {@code codec} and the session removed, both as part of the caller's transaction. Returns the
+     * bytes on disk. A rollback leaves the partial file in place, so the upload can be bound again.
+     */
+    @Transactional
+    public long claim(String id, String username, Path target, Invoice.FileCodec codec) throws IOException {
+        UploadSession session = getSession(id, username);
+        if (!session.isComplete()) {
+            throw new ConflictException("Upload is incomplete, " + session.getUploadOffset() + " of "
+                + session.getUploadLength() + " bytes received");
+        }
+        // Row lock: of two invoices binding the same upload, the second finds nothing to delete
+        if (repository.deleteSession(id) == 0) {
+            throw new ConflictException("Upload has already been used");
+        }
+        
+        Path part = partPath(id);
+        if (codec == Invoice.FileCodec.NONE) {
+            // Stored as it is: moved, not copied
+            Files.move(part, target);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        return;
+                    }
+                    try {
+                        Files.move(target, part);
+                    } catch (IOException e) {
+                        log.warn("Could not return upload {} to {}: {}", id, part, e.getMessage());
+                    }
+                }
+            });
+            return session.getUploadLength();
+        }
+        
+        long stored;
+        try (InputStream content = Files.newInputStream(part)) {
+            fileStorageService.deleteOnRollback(target.toString());
+            stored = fileStorageService.writeStored(content, target, codec);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deletePart(part);
+            }
+        });
+        return stored;
+    }
+    
+    public void delete(String id, String username) throws IOException {
+        getSession(id, username);
+        transactionTemplate.executeWithoutResult(status -> repository.deleteSession(id));
+        Files.deleteIfExists(partPath(id));
+    }
+    
+    // Expired sessions go with their partial files; a partial file without a session (the insert
+    // failed, or the row was removed by hand) is removed once it is older than the TTL
+    @Scheduled(fixedDelayString = "${app.upload.session.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = 0;
+        for (UploadSession session : repository.findByExpiresAtBefore(now)) {
+            Integer deleted = transactionTemplate.execute(status -> repository.deleteSession(session.getId()));
+            if (deleted != null && deleted > 0) {
+                deletePart(partPath(session.getId()));
+                purged++;
+            }
+        }
+        
+        Path dir = Paths.get(sessionDir);
+        if (Files.isDirectory(dir)) {
+            long cutoff = now.minusHours(ttlHours).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            try (DirectoryStream<Path> parts = Files.newDirectoryStream(dir, "*" + PART_SUFFIX)) {
+                for (Path part : parts) {
+                    String id = part.getFileName().toString().replace(PART_SUFFIX, "");
+                    if (Files.getLastModifiedTime(part).toMillis() < cutoff && !repository.existsById(id)) {
+                        deletePart(part);
+                        purged++;
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("Could not scan {} for orphaned uploads: {}", dir, e.getMessage());
+            }
+        }
+        if (purged > 0) {
+            log.info("Purged {} expired uploads", purged);
+        }
+    }
+    
+    Path partPath(String id) {
+        return Paths.get(sessionDir, id + PART_SUFFIX);
+    }
+    
+    private static FileLock lock(FileChannel channel) throws IOException {
+        try {
+            FileLock lock = channel.tryLock();
+            if (lock != null) {
+                return lock;
+            }
+        } catch (OverlappingFileLockException e) {
+            // Held by another request in this JVM
+        }
+        throw new ConflictException("Another chunk of this upload is being written");
+    }
+    
+    // Positional writes: the file is never appended to, so a resent chunk lands where it belongs
+    private static long write(InputStream body, FileChannel channel, long offset, long limit, MessageDigest digest)
+            throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long written = 0;
+        int read;
+        while ((read = body.read(buffer)) != -1) {
+            if (written + read > limit) {
+                throw new BusinessException("Chunk exceeds the remaining upload length or the chunk size limit of "
+                    + limit + " bytes");
+            }
+            digest.update(buffer, 0, read);
+            ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+            while (chunk.hasRemaining()) {
+                written += channel.write(chunk, offset + written);
+            }
+        }
+        return written;
+    }
+    
+    private static void deletePart(Path part) {
+        try {
+            Files.deleteIfExists(part);
+        } catch (IOException e) {
+            log.warn("Could not remove partial upload {}: {}", part, e.getMessage());
+        }
+    }
+    
+    private record ChecksumHeader(String algorithm, byte[] value) {
+        
+        static ChecksumHeader parse(String header) {
+            if (header == null || header.isBlank()) {
+                throw new BusinessException("Upload-Checksum is required");
+            }
+            String[] parts = header.trim().split(" ", 2);
+            String algorithm = CHECKSUM_ALGORITHMS.get(parts[0].toLowerCase(Locale.ROOT));
+            if (algorithm == null || parts.length < 2) {
+                throw new BusinessException("Upload-Checksum must be '<algorithm> <base64>' with one of "
+                    + new TreeSet<>(CHECKSUM_ALGORITHMS.keySet()));
+            }
+            try {
+                return new ChecksumHeader(algorithm, Base64.getDecoder().decode(parts[1].trim()));
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException("Upload-Checksum value is not valid base64");
+            }
+        }
+        
+        MessageDigest digest() {
+            try {
+                return MessageDigest.getInstance(algorithm);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -2,12 +2,16 @@
 package com.regnify.service;
 
 import com.regnify.dto.request.UserRequest;
+import com.regnify.dto.response.BatchGetItem;
+import com.regnify.dto.response.SparseRow;
 import com.regnify.dto.response.UserResponse;
 import com.regnify.model.User;
+import com.regnify.repository.SparseFieldRepository;
 import com.regnify.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -19,6 +23,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,10 +32,14 @@ import java.util.stream.Collectors;
 public class UserService {
     
     private final UserRepository userRepository;
+    private final SparseFieldRepository sparseFieldRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuditService auditService;
     private final EmailService emailService;
     
+    @Value("${app.batch-get.max-ids:100}")
+    private int batchGetMaxIds;
+    
     @Transactional(readOnly = true)
     public Page<UserResponse> getAllUsers(int page, int size, String sortBy, String direction) {
         Sort.Direction sortDirection = Sort.Direction.fromString(direction);
@@ -40,6 +49,14 @@ public class UserService {
         return users.map(this::mapToUserResponse);
     }
     
+    @Transactional(readOnly = true)
+    public Page<SparseRow> getUserFields(int page, int size, String sortBy, String direction, String fields) {
+        Sort.Direction sortDirection = Sort.Direction.fromString(direction);
+        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
+        
+        return sparseFieldRepository.findPage(UserRepository.RESPONSE_FIELDS.select(fields), null, Map.of(), pageable);
+    }
+    
     @Transactional(readOnly = true)
     public UserResponse getUserById(Long id) {
         User user = userRepository.findById(id)
@@ -47,6 +64,13 @@ public class UserService {
         return mapToUserResponse(user);
     }
     
+    // Deactivated users are still FOUND, as with getUserById; their status is in the data
+    @Transactional(readOnly = true)
+    public List<BatchGetItem<UserResponse>> getUsersByIds(List<Long> ids) {
+        List<User> users = userRepository.findAllById(BatchGet.distinctIds(ids, batchGetMaxIds));
+        return BatchGet.resolve(ids, users, User::getId, user -> false, this::mapToUserResponse);
+    }
+    
     @Transactional(readOnly = true)
     public UserResponse getUserByUsername(String username) {
         User user = userRepository.findByUsername(username)
@@ -0,0 +1,249 @@
+// src/main/java/com/regnify/storage/AuditSegment.java
+package com.regnify.storage;
+
+import com.regnify.model.AuditLog;
+import lombok.Getter;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Read side of a cold-tier audit segment file.
+ *
+ * <p>Layout: {@code MAGIC VERSION [column blocks] [footer] footerLength MAGIC}. Every column is a
+ * separately deflated block, so a query only reads and inflates the columns it filters on, plus
+ * the payload columns of segments that actually contribute rows. The footer holds the row count,
+ * the min/max performed_at and the dictionaries of the low-cardinality columns, which is enough
+ * to skip whole segments without touching their data.</p>
+ */
+@Getter
+public class AuditSegment {
+    
+    static final int MAGIC = 0x52415331; // "RAS1"
+    static final byte VERSION = 1;
+    
+    public enum Column {
+        ID, PERFORMED_AT, ACTION, ENTITY_TYPE, PERFORMED_BY, STATUS,
+        ENTITY_ID, OLD_VALUE, NEW_VALUE, ERROR_MESSAGE, IP_ADDRESS, USER_AGENT;
+        
+        boolean isDictionary() {
+            return this == ACTION || this == ENTITY_TYPE || this == PERFORMED_BY || this == STATUS;
+        }
+    }
+    
+    private final Path path;
+    private final long fileSize;
+    private final int rowCount;
+    private final LocalDateTime minPerformedAt;
+    private final LocalDateTime maxPerformedAt;
+    private final Map<Column, List<String>> dictionaries;
+    private final Map<Column, Map<String, Integer>> dictionaryCodes;
+    private final Map<Column, long[]> blocks;
+    
+    private AuditSegment(Path path, long fileSize, int rowCount, LocalDateTime minPerformedAt,
+                         LocalDateTime maxPerformedAt, Map<Column, List<String>> dictionaries,
+                         Map<Column, long[]> blocks) {
+        this.path = path;
+        this.fileSize = fileSize;
+        this.rowCount = rowCount;
+        this.minPerformedAt = minPerformedAt;
+        this.maxPerformedAt = maxPerformedAt;
+        this.dictionaries = dictionaries;
+        this.blocks = blocks;
+        this.dictionaryCodes = new EnumMap<>(Column.class);
+        dictionaries.forEach((column, values) -> {
+            Map<String, Integer> codes = new HashMap<>();
+            for (int i = 0; i < values.size(); i++) {
+                codes.put(values.get(i), i);
+            }
+            dictionaryCodes.put(column, codes);
+        });
+    }
+    
+    public static AuditSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer trailer = readFully(channel, size - 8, 8);
+            int footerLength = trailer.getInt();
+            if (trailer.getInt() != MAGIC) {
+                throw new IOException("Not an audit segment: " + path);
+            }
+            
+            ByteBuffer footerBuffer = readFully(channel, size - 8 - footerLength, footerLength);
+            DataInputStream footer = new DataInputStream(new ByteArrayInputStream(
+                footerBuffer.array(), 0, footerLength));
+            if (footer.readByte() != VERSION) {
+                throw new IOException("Unsupported audit segment version: " + path);
+            }
+            int rowCount = footer.readInt();
+            LocalDateTime min = fromMillis(footer.readLong());
+            LocalDateTime max = fromMillis(footer.readLong());
+            
+            Map<Column, List<String>> dictionaries = new EnumMap<>(Column.class);
+            int dictionaryCount = footer.readByte();
+            for (int i = 0; i < dictionaryCount; i++) {
+                Column column = Column.values()[footer.readByte()];
+                int entries = footer.readInt();
+                List<String> values = new ArrayList<>(entries);
+                for (int j = 0; j < entries; j++) {
+                    values.add(footer.readUTF());
+                }
+                dictionaries.put(column, values);
+            }
+            
+            // Per column: offset, compressed length, raw length
+            Map<Column, long[]> blocks = new EnumMap<>(Column.class);
+            int columnCount = footer.readByte();
+            for (int i = 0; i < columnCount; i++) {
+                Column column = Column.values()[footer.readByte()];
+                blocks.put(column, new long[] {footer.readLong(), footer.readInt(), footer.readInt()});
+            }
+            
+            return new AuditSegment(path, size, rowCount, min, max, dictionaries, blocks);
+        }
+    }
+    
+    public boolean overlaps(LocalDateTime from, LocalDateTime to) {
+        return (from == null || !maxPerformedAt.isBefore(from)) && (to == null || !minPerformedAt.isAfter(to));
+    }
+    
+    // Null means the value never occurs in this segment, so no row can match
+    public Integer dictionaryCode(Column column, String value) {
+        return dictionaryCodes.get(column).get(value);
+    }
+    
+    /**
+     * Returns the positions of matching rows in ascending performed_at order, reading only the
+     * columns that have a filter on them.
+     */
+    public int[] match(LocalDateTime from, LocalDateTime to, Map<Column, Integer> codeFilters) throws IOException {
+        boolean[] matches = new boolean[rowCount];
+        Arrays.fill(matches, true);
+        
+        if ((from != null && minPerformedAt.isBefore(from)) || (to != null && maxPerformedAt.isAfter(to))) {
+            long fromMillis = from == null ? Long.MIN_VALUE : toMillis(from);
+            long toMillis = to == null ? Long.MAX_VALUE : toMillis(to);
+            ColumnDecoder times = readColumn(Column.PERFORMED_AT);
+            long time = 0;
+            for (int row = 0; row < rowCount; row++) {
+                time += times.readVarLong();
+                matches[row] = time >= fromMillis && time <= toMillis;
+            }
+        }
+        
+        for (Map.Entry<Column, Integer> filter : codeFilters.entrySet()) {
+            ColumnDecoder codes = readColumn(filter.getKey());
+            int code = filter.getValue();
+            for (int row = 0; row < rowCount; row++) {
+                matches[row] &= codes.readVarLong() == code;
+            }
+        }
+        
+        int[] positions = new int[rowCount];
+        int count = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (matches[row]) {
+                positions[count++] = row;
+            }
+        }
+        return Arrays.copyOf(positions, count);
+    }
+    
+    // Materializes the given row positions (ascending) as detached AuditLog instances
+    public List<AuditLog> readRows(int[] positions) throws IOException {
+        Map<Column, ColumnDecoder> decoders = new EnumMap<>(Column.class);
+        for (Column column : Column.values()) {
+            decoders.put(column, readColumn(column));
+        }
+        
+        List<AuditLog> rows = new ArrayList<>(positions.length);
+        long id = 0;
+        long time = 0;
+        int next = 0;
+        for (int row = 0; row < rowCount && next < positions.length; row++) {
+            id += decoders.get(Column.ID).readVarLong();
+            time += decoders.get(Column.PERFORMED_AT).readVarLong();
+            String action = dictionaryValue(Column.ACTION, decoders);
+            String entityType = dictionaryValue(Column.ENTITY_TYPE, decoders);
+            String performedBy = dictionaryValue(Column.PERFORMED_BY, decoders);
+            String status = dictionaryValue(Column.STATUS, decoders);
+            Long entityId = decoders.get(Column.ENTITY_ID).readNullableLong();
+            String oldValue = decoders.get(Column.OLD_VALUE).readString();
+            String newValue = decoders.get(Column.NEW_VALUE).readString();
+            String errorMessage = decoders.get(Column.ERROR_MESSAGE).readString();
+            String ipAddress = decoders.get(Column.IP_ADDRESS).readString();
+            String userAgent = decoders.get(Column.USER_AGENT).readString();
+            
+            if (positions[next] != row) {
+                continue;
+            }
+            next++;
+            rows.add(new AuditLog(id, action, entityType, entityId, oldValue, newValue, performedBy,
+                fromMillis(time), ipAddress, userAgent, status, errorMessage));
+        }
+        return rows;
+    }
+    
+    private String dictionaryValue(Column column, Map<Column, ColumnDecoder> decoders) {
+        int code = (int) decoders.get(column).readVarLong();
+        return code < 0 ? null : dictionaries.get(column).get(code);
+    }
+    
+    private ColumnDecoder readColumn(Column column) throws IOException {
+        long[] block = blocks.get(column);
+        byte[] compressed;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            compressed = readFully(channel, block[0], (int) block[1]).array();
+        }
+        
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[(int) block[2]];
+            int length = 0;
+            while (length < raw.length && !inflater.finished()) {
+                length += inflater.inflate(raw, length, raw.length - length);
+            }
+            return new ColumnDecoder(raw);
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt column " + column + " in " + path, e);
+        } finally {
+            inflater.end();
+        }
+    }
+    
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of audit segment");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+    
+    static long toMillis(LocalDateTime value) {
+        return value.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+    
+    static LocalDateTime fromMillis(long value) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(value), ZoneOffset.UTC);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,192 @@
+// src/main/java/com/regnify/storage/AuditSegmentWriter.java
+package com.regnify.storage;
+
+import com.regnify.model.AuditLog;
+import com.regnify.storage.AuditSegment.Column;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * Writes audit rows into one or more segment files named {@code <baseName>-NNNNN.seg}.
+ * Rows must be appended in performed_at order so each segment covers a narrow time range.
+ * Files are written under a temporary name and only renamed by {@link #finish()}; closing an
+ * unfinished writer deletes them, so a failed archive never leaves partial segments behind.
+ */
+public class AuditSegmentWriter implements Closeable {
+    
+    private final Path directory;
+    private final String baseName;
+    private final int maxRowsPerSegment;
+    private final List<Path> pending = new ArrayList<>();
+    private SegmentBuilder current;
+    private boolean finished;
+    
+    public AuditSegmentWriter(Path directory, String baseName, int maxRowsPerSegment) {
+        this.directory = directory;
+        this.baseName = baseName;
+        this.maxRowsPerSegment = maxRowsPerSegment;
+    }
+    
+    public void append(AuditLog row) throws IOException {
+        if (current == null) {
+            current = new SegmentBuilder();
+        }
+        current.add(row);
+        if (current.rowCount >= maxRowsPerSegment) {
+            flushSegment();
+        }
+    }
+    
+    public List<Path> finish() throws IOException {
+        flushSegment();
+        List<Path> segments = new ArrayList<>(pending.size());
+        for (Path temp : pending) {
+            Path target = temp.resolveSibling(temp.getFileName().toString().replace(".tmp", ""));
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            segments.add(target);
+        }
+        finished = true;
+        return segments;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (!finished) {
+            for (Path temp : pending) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+    
+    private void flushSegment() throws IOException {
+        if (current == null || current.rowCount == 0) {
+            return;
+        }
+        Files.createDirectories(directory);
+        Path temp = directory.resolve(String.format("%s-%05d.seg.tmp", baseName, pending.size() + 1));
+        pending.add(temp);
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            current.writeTo(out);
+        }
+        current = null;
+    }
+    
+    private static class SegmentBuilder {
+        private final Map<Column, ColumnEncoder> columns = new EnumMap<>(Column.class);
+        private final Map<Column, Map<String, Integer>> dictionaries = new EnumMap<>(Column.class);
+        private int rowCount;
+        private long previousId;
+        private long previousTime;
+        private long minTime = Long.MAX_VALUE;
+        private long maxTime = Long.MIN_VALUE;
+        
+        private SegmentBuilder() {
+            for (Column column : Column.values()) {
+                columns.put(column, new ColumnEncoder());
+                if (column.isDictionary()) {
+                    dictionaries.put(column, new LinkedHashMap<>());
+                }
+            }
+        }
+        
+        private void add(AuditLog row) {
+            long time = AuditSegment.toMillis(row.getPerformedAt());
+            minTime = Math.min(minTime, time);
+            maxTime = Math.max(maxTime, time);
+            
+            // Ids and timestamps are stored as deltas, which stay small for time-ordered rows
+            columns.get(Column.ID).writeVarLong(row.getId() - previousId);
+            columns.get(Column.PERFORMED_AT).writeVarLong(time - previousTime);
+            previousId = row.getId();
+            previousTime = time;
+            
+            writeDictionary(Column.ACTION, row.getAction());
+            writeDictionary(Column.ENTITY_TYPE, row.getEntityType());
+            writeDictionary(Column.PERFORMED_BY, row.getPerformedBy());
+            writeDictionary(Column.STATUS, row.getStatus());
+            columns.get(Column.ENTITY_ID).writeNullableLong(row.getEntityId());
+            columns.get(Column.OLD_VALUE).writeString(row.getOldValue());
+            columns.get(Column.NEW_VALUE).writeString(row.getNewValue());
+            columns.get(Column.ERROR_MESSAGE).writeString(row.getErrorMessage());
+            columns.get(Column.IP_ADDRESS).writeString(row.getIpAddress());
+            columns.get(Column.USER_AGENT).writeString(row.getUserAgent());
+            rowCount++;
+        }
+        
+        // Null is stored as code -1 and never enters the dictionary
+        private void writeDictionary(Column column, String value) {
+            int code = value == null ? -1 : dictionaries.get(column).computeIfAbsent(value, v -> dictionaries.get(column).size());
+            columns.get(column).writeVarLong(code);
+        }
+        
+        private void writeTo(OutputStream target) throws IOException {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(target, 64 * 1024));
+            out.writeInt(AuditSegment.MAGIC);
+            out.writeByte(AuditSegment.VERSION);
+            
+            Map<Column, long[]> blocks = new EnumMap<>(Column.class);
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try {
+                for (Map.Entry<Column, ColumnEncoder> column : columns.entrySet()) {
+                    byte[] raw = column.getValue().toByteArray();
+                    byte[] compressed = deflate(deflater, raw);
+                    blocks.put(column.getKey(), new long[] {out.size(), compressed.length, raw.length});
+                    out.write(compressed);
+                }
+            } finally {
+                deflater.end();
+            }
+            
+            int footerStart = out.size();
+            out.writeByte(AuditSegment.VERSION);
+            out.writeInt(rowCount);
+            out.writeLong(minTime);
+            out.writeLong(maxTime);
+            out.writeByte(dictionaries.size());
+            for (Map.Entry<Column, Map<String, Integer>> dictionary : dictionaries.entrySet()) {
+                out.writeByte(dictionary.getKey().ordinal());
+                out.writeInt(dictionary.getValue().size());
+                for (String value : dictionary.getValue().keySet()) {
+                    out.writeUTF(value);
+                }
+            }
+            out.writeByte(blocks.size());
+            for (Map.Entry<Column, long[]> block : blocks.entrySet()) {
+                out.writeByte(block.getKey().ordinal());
+                out.writeLong(block.getValue()[0]);
+                out.writeInt((int) block.getValue()[1]);
+                out.writeInt((int) block.getValue()[2]);
+            }
+            out.writeInt(out.size() - footerStart);
+            out.writeInt(AuditSegment.MAGIC);
+            out.flush();
+        }
+        
+        private static byte[] deflate(Deflater deflater, byte[] raw) {
+            deflater.reset();
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            byte[] chunk = new byte[64 * 1024];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(chunk);
+                compressed.write(chunk, 0, length);
+            }
+            return compressed.toByteArray();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+// src/main/java/com/regnify/storage/ColumnDecoder.java
+package com.regnify.storage;
+
+import java.nio.charset.StandardCharsets;
+
+// Sequential reader over a decompressed column written by ColumnEncoder
+class ColumnDecoder {
+    
+    private final byte[] data;
+    private int position;
+    
+    ColumnDecoder(byte[] data) {
+        this.data = data;
+    }
+    
+    long readVarLong() {
+        long zigzag = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[position++];
+            zigzag |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+    
+    Long readNullableLong() {
+        return data[position++] == 0 ? null : readVarLong();
+    }
+    
+    String readString() {
+        int length = (int) readVarLong() - 1;
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(data, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+}
\ No newline at end of file
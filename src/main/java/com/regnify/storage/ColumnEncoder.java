@@ -0,0 +1,42 @@
+// src/main/java/com/regnify/storage/ColumnEncoder.java
+package com.regnify.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+// Append-only byte buffer for one column of a segment, using zigzag varints for numbers
+class ColumnEncoder {
+    
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(4096);
+    
+    void writeVarLong(long value) {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            buffer.write((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        buffer.write((int) zigzag);
+    }
+    
+    void writeNullableLong(Long value) {
+        buffer.write(value == null ? 0 : 1);
+        if (value != null) {
+            writeVarLong(value);
+        }
+    }
+    
+    // Length is stored off by one so that 0 can mean null
+    void writeString(String value) {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length + 1L);
+        buffer.write(bytes, 0, bytes.length);
+    }
+    
+    byte[] toByteArray() {
+        return buffer.toByteArray();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+-- Stored results of requests sent with an Idempotency-Key, purged once expired
+
+create table idempotency_keys (
+    id bigint not null auto_increment,
+    created_at datetime(6) not null,
+    expires_at datetime(6) not null,
+    updated_at datetime(6) not null,
+    request_hash varchar(64) not null,
+    status enum ('COMPLETED','IN_PROGRESS') not null,
+    username varchar(100) not null,
+    idempotency_key varchar(100) not null,
+    response_body TEXT,
+    primary key (id),
+    constraint uk_idempotency_keys_username_key unique (username, idempotency_key)
+) engine=InnoDB;
+
+create index idx_idempotency_keys_expires_at on idempotency_keys (expires_at);
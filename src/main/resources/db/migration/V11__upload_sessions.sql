@@ -0,0 +1,17 @@
+-- Resumable invoice file uploads; the bytes live in a partial file named after the id until the
+-- upload is bound to an invoice, expired sessions are purged together with their files
+
+create table upload_sessions (
+    id varchar(36) not null,
+    created_at datetime(6) not null,
+    expires_at datetime(6) not null,
+    updated_at datetime(6) not null,
+    upload_length bigint not null,
+    upload_offset bigint not null,
+    username varchar(100) not null,
+    content_type varchar(100),
+    file_name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_upload_sessions_expires_at on upload_sessions (expires_at);
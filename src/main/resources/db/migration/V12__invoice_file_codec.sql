@@ -0,0 +1,6 @@
+-- Compressible attachments are stored gzip-compressed; file_size stays the original size and
+-- stored_file_size is what the file takes on disk. Existing files were stored as they are
+ALTER TABLE invoices
+    ADD COLUMN file_codec ENUM ('GZIP','NONE') NOT NULL DEFAULT 'NONE',
+    ADD COLUMN stored_file_size BIGINT NULL,
+    ALGORITHM=INSTANT;
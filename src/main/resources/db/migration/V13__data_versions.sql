@@ -0,0 +1,13 @@
+-- Change counters behind the ETag/Last-Modified validators of the read endpoints. Writing
+-- transactions bump their scope's row, so every instance derives the same tag from the same data
+create table data_versions (
+    scope varchar(40) not null,
+    version bigint not null,
+    changed_at datetime(6) not null,
+    primary key (scope)
+) engine=InnoDB;
+
+insert into data_versions (scope, version, changed_at) values
+    ('INVOICES', 0, now(6)),
+    ('SYSTEM_UPDATES', 0, now(6)),
+    ('INTEGRATION_CONFIGS', 0, now(6));
@@ -0,0 +1,22 @@
+-- Batch push delivery state per provider, so one provider's result no longer takes an invoice out
+-- of every other provider's queue
+create table invoice_push_status (
+    integration_config_id bigint not null,
+    invoice_id bigint not null,
+    provider_response enum ('FAILED','PENDING','RETRY','SUCCESS','TIMEOUT') not null,
+    updated_at datetime(6) not null,
+    primary key (integration_config_id, invoice_id)
+) engine=InnoDB;
+
+-- Invoices already settled stay settled for the providers that exist today
+insert into invoice_push_status (integration_config_id, invoice_id, provider_response, updated_at)
+select c.id, i.id, i.provider_response, now(6)
+from integration_configs c
+    cross join invoices i
+where i.provider_response in ('SUCCESS', 'FAILED');
+
+-- The queue is now walked per provider over every complete invoice, a primary key range scan in id
+-- order; a (deleted, status) prefix index would only compete with the listing indexes
+ALTER TABLE invoices
+    DROP INDEX idx_invoices_deleted_status_provider_response,
+    ALGORITHM=INPLACE, LOCK=NONE;
@@ -0,0 +1,135 @@
+-- Baseline schema, equivalent to what ddl-auto=update generated from the entities.
+-- Existing databases are baselined at this version instead of running it.
+
+create table audit_logs (
+    entity_id bigint,
+    id bigint not null auto_increment,
+    performed_at datetime(6) not null,
+    status varchar(20),
+    action varchar(50) not null,
+    entity_type varchar(50) not null,
+    ip_address varchar(50),
+    performed_by varchar(100) not null,
+    user_agent varchar(500),
+    error_message TEXT,
+    new_value TEXT,
+    old_value TEXT,
+    primary key (id)
+) engine=InnoDB;
+
+create table integration_configs (
+    enable_daily_sending bit,
+    is_active bit,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    last_sync_at datetime(6),
+    token_expiry datetime(6),
+    updated_at datetime(6),
+    sending_time varchar(10),
+    sync_status varchar(20),
+    created_by varchar(100),
+    updated_by varchar(100),
+    username varchar(100),
+    api_key varchar(500),
+    client_secret varchar(500),
+    fetch_endpoint_url varchar(500) not null,
+    send_endpoint_url varchar(500) not null,
+    access_token varchar(1000),
+    refresh_token varchar(1000),
+    client_key varchar(255),
+    password varchar(255),
+    service_provider_name varchar(255) not null,
+    sync_errors TEXT,
+    auth_type enum ('API_KEY','BASIC','BEARER_TOKEN','CUSTOM','OAUTH2') not null,
+    frequency enum ('DAILY','HOURLY','MANUAL','MONTHLY','WEEKLY'),
+    primary key (id)
+) engine=InnoDB;
+
+create table invoices (
+    deleted bit not null,
+    doc_date date not null,
+    pro_date date not null,
+    validation_score integer,
+    created_at datetime(6) not null,
+    deleted_at datetime(6),
+    file_size bigint,
+    id bigint not null auto_increment,
+    processed_at datetime(6),
+    updated_at datetime(6),
+    deleted_by varchar(100),
+    file_content_type varchar(100),
+    invoice_number varchar(100) not null,
+    processed_by varchar(100),
+    uploaded_by varchar(100) not null,
+    file_path varchar(500),
+    file_name varchar(255),
+    receiver varchar(255) not null,
+    sender varchar(255) not null,
+    validation_errors TEXT,
+    business_status enum ('APPROVED','ESCALATED','PENDING_REVIEW','REJECTED','UNDER_REVIEW') not null,
+    country enum ('AUSTRIA','BELGIUM','FRANCE','GERMANY','ITALY','NETHERLANDS','OTHER','SPAIN','SWITZERLAND','UK') not null,
+    document_type enum ('CREDIT_NOTE','DEBIT_NOTE','DELIVERY_NOTE','INVOICE','ORDER','RECEIPT','STATEMENT') not null,
+    provider_response enum ('FAILED','PENDING','RETRY','SUCCESS','TIMEOUT') not null,
+    status enum ('COMPLETE','ERROR','PENDING','PROCESSING','REJECTED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table system_updates (
+    is_active bit,
+    update_date date not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    version varchar(20),
+    created_by varchar(100),
+    description TEXT not null,
+    title varchar(255) not null,
+    type enum ('BUG_FIX','ENHANCEMENT','FEATURE','MAINTENANCE','SECURITY') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table users (
+    account_locked bit,
+    login_attempts integer,
+    account_locked_until datetime(6),
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    last_login datetime(6),
+    updated_at datetime(6),
+    username varchar(50) not null,
+    email varchar(100) not null,
+    first_name varchar(100) not null,
+    last_name varchar(100) not null,
+    created_by varchar(255),
+    password varchar(255) not null,
+    updated_by varchar(255),
+    role enum ('ADMIN_MODERATOR','SUPER_USER','VIEWER') not null,
+    status enum ('ACTIVE','INACTIVE','SUSPENDED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_invoices_status
+   on invoices (status);
+
+create index idx_invoices_country
+   on invoices (country);
+
+create index idx_invoices_doc_date
+   on invoices (doc_date);
+
+create index idx_invoices_sender
+   on invoices (sender);
+
+create index idx_invoices_receiver
+   on invoices (receiver);
+
+alter table invoices
+   add constraint idx_invoices_invoice_number unique (invoice_number);
+
+create index idx_users_status
+   on users (status);
+
+alter table users
+   add constraint idx_users_email unique (email);
+
+alter table users
+   add constraint idx_users_username unique (username);
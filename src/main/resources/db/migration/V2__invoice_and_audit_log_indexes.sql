@@ -0,0 +1,26 @@
+-- Composite indexes for the filtered invoice and audit log queries.
+-- ALGORITHM=INPLACE, LOCK=NONE keeps both tables readable and writable while the indexes build;
+-- MySQL fails the statement instead of silently falling back to a table copy.
+
+ALTER TABLE invoices
+    ADD INDEX idx_invoices_deleted_created_at (deleted, created_at),
+    ADD INDEX idx_invoices_deleted_status_created_at (deleted, status, created_at),
+    ADD INDEX idx_invoices_deleted_country_created_at (deleted, country, created_at),
+    ADD INDEX idx_invoices_deleted_country_status_created_at (deleted, country, status, created_at),
+    ADD INDEX idx_invoices_deleted_document_type_created_at (deleted, document_type, created_at),
+    ADD INDEX idx_invoices_deleted_uploaded_by_created_at (deleted, uploaded_by, created_at),
+    ADD INDEX idx_invoices_deleted_doc_date (deleted, doc_date),
+    ALGORITHM=INPLACE, LOCK=NONE;
+
+ALTER TABLE invoices
+    DROP INDEX idx_invoices_status,
+    DROP INDEX idx_invoices_country,
+    DROP INDEX idx_invoices_doc_date,
+    ALGORITHM=INPLACE, LOCK=NONE;
+
+ALTER TABLE audit_logs
+    ADD INDEX idx_audit_logs_performed_at (performed_at),
+    ADD INDEX idx_audit_logs_entity_type_performed_at (entity_type, performed_at),
+    ADD INDEX idx_audit_logs_action_performed_at (action, performed_at),
+    ADD INDEX idx_audit_logs_performed_by_performed_at (performed_by, performed_at),
+    ALGORITHM=INPLACE, LOCK=NONE;
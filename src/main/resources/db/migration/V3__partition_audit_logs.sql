@@ -0,0 +1,16 @@
+-- Range-partition audit_logs by month on performed_at so date-window searches only touch
+-- the matching partitions and old months can be dropped instead of deleted row by row.
+-- MySQL requires the partitioning column in every unique key, hence the wider primary key.
+-- Partitioning rebuilds the table (ALGORITHM=COPY), run this in a maintenance window on large tables.
+-- Rows written before this migration stay in p_history; AuditPartitionService splits p_future
+-- into monthly partitions ahead of time.
+
+ALTER TABLE audit_logs
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, performed_at);
+
+ALTER TABLE audit_logs
+    PARTITION BY RANGE COLUMNS (performed_at) (
+        PARTITION p_history VALUES LESS THAN ('2026-11-01 00:00:00'),
+        PARTITION p_future VALUES LESS THAN (MAXVALUE)
+    );
@@ -0,0 +1,41 @@
+-- Incremental storage accounting, one running total per (dimension, key)
+
+create table storage_usage (
+    bytes bigint not null,
+    file_count bigint not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6) not null,
+    dimension_key varchar(255) not null,
+    dimension enum ('COUNTRY','DIRECTORY','UPLOADER') not null,
+    primary key (id),
+    constraint uk_storage_usage_dimension_key unique (dimension, dimension_key)
+) engine=InnoDB;
+
+-- Seed the totals from the files already on disk. Soft-deleted invoices keep their file, so they count.
+INSERT INTO storage_usage (dimension, dimension_key, bytes, file_count, updated_at)
+SELECT 'DIRECTORY',
+       LEFT(file_path, LENGTH(file_path) - LENGTH(SUBSTRING_INDEX(file_path, '/', -1)) - 1),
+       SUM(file_size), COUNT(*), NOW(6)
+FROM invoices
+WHERE file_path IS NOT NULL AND file_size IS NOT NULL
+GROUP BY 2;
+
+INSERT INTO storage_usage (dimension, dimension_key, bytes, file_count, updated_at)
+SELECT 'COUNTRY', country, SUM(file_size), COUNT(*), NOW(6)
+FROM invoices
+WHERE file_path IS NOT NULL AND file_size IS NOT NULL
+GROUP BY country;
+
+INSERT INTO storage_usage (dimension, dimension_key, bytes, file_count, updated_at)
+SELECT 'UPLOADER', uploaded_by, SUM(file_size), COUNT(*), NOW(6)
+FROM invoices
+WHERE file_path IS NOT NULL AND file_size IS NOT NULL
+GROUP BY uploaded_by;
+
+-- Invoices completed at upload never had processed_at set; use their last update as the best estimate
+UPDATE invoices SET processed_at = updated_at WHERE status = 'COMPLETE' AND processed_at IS NULL;
+
+-- Serves the "processed today" count as a range scan
+ALTER TABLE invoices
+    ADD INDEX idx_invoices_deleted_status_processed_at (deleted, status, processed_at),
+    ALGORITHM=INPLACE, LOCK=NONE;
@@ -0,0 +1,33 @@
+-- Table-backed id generators for the pooled-lo optimizer (MySQL has no sequences).
+-- Each row holds the next unallocated id; seeded past the current maximum so new blocks never
+-- collide with rows inserted through AUTO_INCREMENT before this migration.
+
+create table invoices_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into invoices_seq (next_val) select coalesce(max(id), 0) + 1 from invoices;
+
+create table audit_logs_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into audit_logs_seq (next_val) select coalesce(max(id), 0) + 1 from audit_logs;
+
+create table users_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into users_seq (next_val) select coalesce(max(id), 0) + 1 from users;
+
+create table integration_configs_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into integration_configs_seq (next_val) select coalesce(max(id), 0) + 1 from integration_configs;
+
+create table system_updates_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into system_updates_seq (next_val) select coalesce(max(id), 0) + 1 from system_updates;
@@ -0,0 +1,9 @@
+-- Heartbeat row used to measure replica lag when datasource routing is enabled: the primary
+-- rewrites beat_at on every check and each replica reports the value it has applied.
+create table replica_heartbeat (
+    id tinyint not null,
+    beat_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+insert into replica_heartbeat (id, beat_at) values (1, now(6));
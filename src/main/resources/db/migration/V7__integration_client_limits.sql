@@ -0,0 +1,6 @@
+-- Per-provider limits for the non-blocking integration client; NULL uses the
+-- app.integration.client.* defaults.
+ALTER TABLE integration_configs
+    ADD COLUMN max_concurrent_requests INT NULL,
+    ADD COLUMN request_timeout_ms INT NULL,
+    ALGORITHM=INSTANT;
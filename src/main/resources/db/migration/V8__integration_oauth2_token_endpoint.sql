@@ -0,0 +1,5 @@
+-- Token endpoint and scope for OAUTH2 providers (client-credentials / refresh-token grants).
+ALTER TABLE integration_configs
+    ADD COLUMN token_endpoint_url VARCHAR(500) NULL,
+    ADD COLUMN oauth_scope VARCHAR(255) NULL,
+    ALGORITHM=INSTANT;
@@ -0,0 +1,11 @@
+-- Per-provider batch push limits; NULL uses the app.integration.batch.* defaults.
+ALTER TABLE integration_configs
+    ADD COLUMN batch_max_items INT NULL,
+    ADD COLUMN batch_max_bytes BIGINT NULL,
+    ADD COLUMN batch_compression ENUM ('GZIP','NONE') NULL,
+    ALGORITHM=INSTANT;
+
+-- Batch push selects invoices awaiting delivery in id order
+ALTER TABLE invoices
+    ADD INDEX idx_invoices_deleted_status_provider_response (deleted, status, provider_response),
+    ALGORITHM=INPLACE, LOCK=NONE;
@@ -0,0 +1,145 @@
+package com.regnify.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.fasterxml.jackson.core.util.RecyclerPool;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.regnify.dto.response.ApiResponse;
+import com.regnify.dto.response.InvoiceSummaryResponse;
+import com.regnify.dto.response.PageResponse;
+import com.regnify.model.Invoice;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Negotiates the invoice list envelope through the same converter list Boot assembles, then
+ * compares bytes and encode/decode time of JSON, CBOR and Smile for a 500-row page.
+ */
+@Slf4j
+class BinaryContentNegotiationTest {
+    
+    private static final int ROWS = 500;
+    private static final int ROUNDS = 200;
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final TypeReference<ApiResponse<PageResponse<InvoiceSummaryResponse>>> ENVELOPE =
+        new TypeReference<>() { };
+    private static final RecyclerPool<BufferRecycler> POOL = new JacksonConfig().jacksonBufferPool();
+    
+    private final WebConfig webConfig = new WebConfig();
+    private final ObjectMapper json = new Jackson2ObjectMapperBuilder().build();
+    private final ObjectMapper cbor = webConfig.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder(), POOL).getObjectMapper();
+    private final ObjectMapper smile = webConfig.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder(), POOL).getObjectMapper();
+    
+    private MockMvc mockMvc;
+    
+    @BeforeEach
+    void setUp() {
+        HttpMessageConverters converters = new HttpMessageConverters(
+            webConfig.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder(), POOL),
+            webConfig.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder(), POOL));
+        mockMvc = MockMvcBuilders.standaloneSetup(new PageController())
+            .setMessageConverters(converters.getConverters().toArray(new HttpMessageConverter[0]))
+            .build();
+    }
+    
+    @Test
+    void jsonStaysTheDefault() throws Exception {
+        mockMvc.perform(get("/page").accept(MediaType.ALL))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+        mockMvc.perform(get("/page"))
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+    
+    @Test
+    void binaryClientsGetTheSameEnvelope() throws Exception {
+        byte[] cborBody = mockMvc.perform(get("/page").accept(MediaType.APPLICATION_CBOR))
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andReturn().getResponse().getContentAsByteArray();
+        byte[] smileBody = mockMvc.perform(get("/page").accept(SMILE))
+            .andExpect(content().contentType(SMILE))
+            .andReturn().getResponse().getContentAsByteArray();
+        
+        ApiResponse<PageResponse<InvoiceSummaryResponse>> fromCbor = cbor.readValue(cborBody, ENVELOPE);
+        ApiResponse<PageResponse<InvoiceSummaryResponse>> fromSmile = smile.readValue(smileBody, ENVELOPE);
+        
+        assertThat(fromCbor.getData()).isEqualTo(page());
+        assertThat(fromSmile.getData()).isEqualTo(page());
+    }
+    
+    @Test
+    void benchmarkBytesAndCodecTime() throws Exception {
+        ApiResponse<PageResponse<InvoiceSummaryResponse>> envelope = ApiResponse.success("Invoices retrieved successfully", page());
+        
+        int jsonBytes = measure("json", json, envelope);
+        int cborBytes = measure("cbor", cbor, envelope);
+        int smileBytes = measure("smile", smile, envelope);
+        
+        assertThat(cborBytes).isLessThan(jsonBytes);
+        assertThat(smileBytes).isLessThan(jsonBytes);
+    }
+    
+    private int measure(String label, ObjectMapper mapper, Object envelope) throws Exception {
+        byte[] body = mapper.writeValueAsBytes(envelope);
+        for (int i = 0; i < ROUNDS; i++) {
+            mapper.readValue(mapper.writeValueAsBytes(envelope), ENVELOPE);
+        }
+        
+        long started = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            body = mapper.writeValueAsBytes(envelope);
+        }
+        long encodeNanos = System.nanoTime() - started;
+        
+        started = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            mapper.readValue(body, ENVELOPE);
+        }
+        long decodeNanos = System.nanoTime() - started;
+        
+        log.info("{}: {} bytes for {} rows, encode {} us, decode {} us",
+            label, body.length, ROWS, encodeNanos / ROUNDS / 1_000, decodeNanos / ROUNDS / 1_000);
+        return body.length;
+    }
+    
+    private static PageResponse<InvoiceSummaryResponse> page() {
+        List<InvoiceSummaryResponse> rows = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new InvoiceSummaryResponse((long) i, String.format("INV-%06d", i), LocalDate.of(2026, 1, 15),
+                "Sender GmbH", "Receiver AG", Invoice.Status.COMPLETE, Invoice.BusinessStatus.APPROVED,
+                Invoice.ProviderResponse.SUCCESS, Invoice.Country.GERMANY, Invoice.DocumentType.INVOICE,
+                "invoice-" + i + ".xml", 97, "bench", LocalDateTime.of(2026, 1, 15, 10, 30, i % 60)));
+        }
+        return PageResponse.of(new PageImpl<>(rows, PageRequest.of(0, ROWS), 12_000));
+    }
+    
+    @RestController
+    static class PageController {
+        
+        @GetMapping("/page")
+        ApiResponse<PageResponse<InvoiceSummaryResponse>> page() {
+            return ApiResponse.success("Invoices retrieved successfully", BinaryContentNegotiationTest.page());
+        }
+    }
+}
\ No newline at end of file
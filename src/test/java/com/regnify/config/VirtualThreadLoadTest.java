@@ -0,0 +1,91 @@
+package com.regnify.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares Tomcat's default platform pool (200 threads) with a virtual thread per request on the
+ * request shape that dominates here: a pooled JDBC query followed by a blocking remote call
+ * (integration endpoint, SMTP). Only runs on Java 21+ (mvn -Pjava21 test).
+ */
+@Slf4j
+class VirtualThreadLoadTest {
+    
+    private static final int REQUESTS = 5_000;
+    private static final int PLATFORM_THREADS = 200;
+    private static final long REMOTE_CALL_MS = 20;
+    
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbc;
+    
+    @BeforeEach
+    void setUp() {
+        assumeTrue(Runtime.version().feature() >= 21, "virtual threads need Java 21");
+        
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:virtual_threads;DB_CLOSE_DELAY=-1");
+        config.setMaximumPoolSize(10);
+        config.setConnectionTimeout(20000);
+        dataSource = new HikariDataSource(config);
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS invoices (id BIGINT PRIMARY KEY, status VARCHAR(20))");
+        jdbc.update("MERGE INTO invoices (id, status) KEY (id) VALUES (1, 'PENDING')");
+    }
+    
+    @AfterEach
+    void tearDown() {
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+    
+    @Test
+    void virtualThreadsOutperformThePlatformPoolOnBlockingRequests() throws Exception {
+        double platform = run("platform", Executors.newFixedThreadPool(PLATFORM_THREADS));
+        double virtual = run("virtual", (ExecutorService) Executors.class
+            .getMethod("newVirtualThreadPerTaskExecutor").invoke(null));
+        
+        log.info("Virtual threads: {}x the platform pool throughput", Math.round(virtual / platform * 10) / 10.0);
+        assertThat(virtual).isGreaterThan(platform);
+    }
+    
+    private double run(String label, ExecutorService executor) throws Exception {
+        long started = System.nanoTime();
+        try {
+            List<Future<String>> responses = new ArrayList<>(REQUESTS);
+            for (int i = 0; i < REQUESTS; i++) {
+                responses.add(executor.submit(this::handleRequest));
+            }
+            for (Future<String> response : responses) {
+                assertThat(response.get()).isEqualTo("PENDING");
+            }
+        } finally {
+            executor.shutdown();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        double throughput = REQUESTS / seconds;
+        log.info("{}: {} requests in {} ms ({} req/s)", label, REQUESTS, Math.round(seconds * 1000),
+            Math.round(throughput));
+        return throughput;
+    }
+    
+    private String handleRequest() throws InterruptedException {
+        String status = jdbc.queryForObject("SELECT status FROM invoices WHERE id = 1", String.class);
+        Thread.sleep(REMOTE_CALL_MS);
+        return status;
+    }
+}
\ No newline at end of file
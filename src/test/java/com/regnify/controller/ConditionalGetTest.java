@@ -0,0 +1,146 @@
+package com.regnify.controller;
+
+import com.regnify.dedupe.InvoiceNumberFilter;
+import com.regnify.dto.response.DashboardStatsResponse;
+import com.regnify.dto.response.InvoiceResponse;
+import com.regnify.model.SystemUpdate;
+import com.regnify.service.DashboardService;
+import com.regnify.service.DataVersionService;
+import com.regnify.service.ExportService;
+import com.regnify.service.FileStorageService;
+import com.regnify.service.IdempotencyService;
+import com.regnify.service.InvoiceService;
+import com.regnify.service.LiveUpdateService;
+import com.regnify.service.StorageUsageService;
+import com.regnify.service.SystemUpdateService;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A matching If-None-Match is answered with 304 before the data behind the response is loaded;
+ * a committed change produces a new tag and a full response again.
+ */
+class ConditionalGetTest {
+    
+    private DataVersionService dataVersionService;
+    private final SystemUpdateService systemUpdateService = mock(SystemUpdateService.class);
+    private final DashboardService dashboardService = mock(DashboardService.class);
+    private final InvoiceService invoiceService = mock(InvoiceService.class);
+    
+    private MockMvc mockMvc;
+    
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:conditional_get;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP ALL OBJECTS");
+        jdbc.execute("CREATE TABLE data_versions (scope VARCHAR(40) PRIMARY KEY, version BIGINT NOT NULL, "
+            + "changed_at TIMESTAMP(6) NOT NULL)");
+        for (DataVersionService.Scope scope : DataVersionService.Scope.values()) {
+            jdbc.update("INSERT INTO data_versions (scope, version, changed_at) VALUES (?, 0, CURRENT_TIMESTAMP)", scope.name());
+        }
+        dataVersionService = new DataVersionService(dataSource);
+        
+        when(systemUpdateService.getAllUpdates()).thenReturn(List.of(new SystemUpdate()));
+        when(dashboardService.getDashboardStats()).thenReturn(new DashboardStatsResponse());
+        
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                new SystemUpdateController(systemUpdateService, dataVersionService),
+                new DashboardController(dashboardService, dataVersionService, mock(LiveUpdateService.class),
+                    mock(StorageUsageService.class), mock(HealthEndpoint.class), mock(ObjectProvider.class)),
+                new InvoiceController(invoiceService, mock(ExportService.class), mock(IdempotencyService.class),
+                    mock(InvoiceNumberFilter.class), mock(FileStorageService.class)))
+            .build();
+    }
+    
+    @Test
+    void unchangedUpdatesAreNotReloaded() throws Exception {
+        String etag = mockMvc.perform(get("/updates"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        
+        mockMvc.perform(get("/updates").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+        verify(systemUpdateService, times(1)).getAllUpdates();
+        
+        dataVersionService.changed(DataVersionService.Scope.SYSTEM_UPDATES);
+        
+        mockMvc.perform(get("/updates").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+        verify(systemUpdateService, times(2)).getAllUpdates();
+    }
+    
+    @Test
+    void dashboardPollingIsAnsweredFromTheTag() throws Exception {
+        String etag = mockMvc.perform(get("/dashboard/stats"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        
+        for (int i = 0; i < 100; i++) {
+            mockMvc.perform(get("/dashboard/stats").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        }
+        verify(dashboardService, times(1)).getDashboardStats();
+        
+        // System updates do not feed the dashboard
+        dataVersionService.changed(DataVersionService.Scope.SYSTEM_UPDATES);
+        mockMvc.perform(get("/dashboard/stats").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+        
+        dataVersionService.changed(DataVersionService.Scope.INVOICES);
+        mockMvc.perform(get("/dashboard/stats").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk());
+        verify(dashboardService, times(2)).getDashboardStats();
+    }
+    
+    @Test
+    void unchangedInvoiceIsNotLoaded() throws Exception {
+        LocalDateTime changedAt = LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123_456_000);
+        InvoiceResponse invoice = new InvoiceResponse();
+        invoice.setId(42L);
+        invoice.setUpdatedAt(changedAt);
+        when(invoiceService.getInvoiceChangedAt(42L)).thenReturn(Optional.of(changedAt));
+        when(invoiceService.getInvoiceById(42L)).thenReturn(invoice);
+        
+        String etag = mockMvc.perform(get("/invoices/42"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        
+        mockMvc.perform(get("/invoices/42").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+        verify(invoiceService, times(1)).getInvoiceById(42L);
+        
+        when(invoiceService.getInvoiceChangedAt(42L)).thenReturn(Optional.of(changedAt.plusNanos(1_000)));
+        mockMvc.perform(get("/invoices/42").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+        verify(invoiceService, times(2)).getInvoiceById(42L);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.regnify.controller;
+
+import com.regnify.dedupe.InvoiceNumberFilter;
+import com.regnify.model.Invoice;
+import com.regnify.service.ExportService;
+import com.regnify.service.FileStorageService;
+import com.regnify.service.IdempotencyService;
+import com.regnify.service.InvoiceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A compressed attachment is sent as stored to clients that accept gzip and decompressed for the
+ * rest; either way the client ends up with the uploaded bytes.
+ */
+class InvoiceDownloadTest {
+    
+    private static final byte[] CONTENT = "<invoice><total>10.00</total></invoice>\n".repeat(1000)
+        .getBytes(StandardCharsets.UTF_8);
+    
+    private final InvoiceService invoiceService = mock(InvoiceService.class);
+    private final FileStorageService fileStorageService = new FileStorageService();
+    
+    @TempDir
+    Path directory;
+    
+    private MockMvc mockMvc;
+    private Path stored;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        stored = directory.resolve("invoice.xml.gz");
+        long storedSize = fileStorageService.writeStored(new ByteArrayInputStream(CONTENT), stored, Invoice.FileCodec.GZIP);
+        when(invoiceService.getInvoiceFile(1L))
+            .thenReturn(new InvoiceService.InvoiceFile(stored, Invoice.FileCodec.GZIP, CONTENT.length, storedSize));
+        
+        mockMvc = MockMvcBuilders.standaloneSetup(new InvoiceController(invoiceService, mock(ExportService.class),
+                mock(IdempotencyService.class), mock(InvoiceNumberFilter.class), fileStorageService))
+            .build();
+    }
+    
+    @Test
+    void gzipClientsGetTheStoredBytes() throws Exception {
+        MvcResult result = mockMvc.perform(get("/invoices/1/download").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, Files.size(stored)))
+            .andExpect(content().bytes(Files.readAllBytes(stored)));
+    }
+    
+    @Test
+    void otherClientsGetTheFileDecompressed() throws Exception {
+        for (String acceptEncoding : new String[] {null, "identity", "gzip;q=0, br"}) {
+            MvcResult result = mockMvc.perform(acceptEncoding == null
+                    ? get("/invoices/1/download")
+                    : get("/invoices/1/download").header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            
+            mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, CONTENT.length))
+                .andExpect(content().bytes(CONTENT));
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.regnify.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes through two embedded H2 databases standing in for the primary and a replica. Each holds
+ * a node table naming itself, so a query shows which one served it.
+ */
+class ReadWriteRoutingDataSourceTest {
+    
+    private DataSource primary;
+    private DataSource replica;
+    private ReplicaLagMonitor monitor;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+    
+    @BeforeEach
+    void setUp() {
+        primary = database("routing_primary", "primary");
+        replica = database("routing_replica", "replica");
+        monitor = new ReplicaLagMonitor(primary, Map.of("replica-1", replica),
+            Duration.ofSeconds(5), Duration.ofMillis(100), null);
+        
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(monitor, Duration.ofSeconds(10));
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReadWriteRoutingDataSource.PRIMARY, primary);
+        targets.put("replica-1", replica);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+    
+    @Test
+    void readsStayOnThePrimaryUntilTheReplicaIsMeasured() {
+        monitor.check();
+        
+        assertThat(inTransaction(readOnly)).isEqualTo("primary");
+    }
+    
+    @Test
+    void readOnlyTransactionsGoToACaughtUpReplica() {
+        replicate(beat(primary));
+        monitor.check();
+        replicate(beat(primary));
+        monitor.check();
+        
+        assertThat(inTransaction(readOnly)).isEqualTo("replica");
+        assertThat(inTransaction(readWrite)).isEqualTo("primary");
+        assertThat(node()).isEqualTo("primary");
+    }
+    
+    @Test
+    void lagBeyondTheBudgetFallsBackToThePrimary() {
+        monitor.check();
+        replicate(beat(primary));
+        monitor.check();
+        assertThat(inTransaction(readOnly)).isEqualTo("replica");
+        
+        // Replication stops, the replica keeps serving a beat that is now minutes old
+        replicate(LocalDateTime.now().minusMinutes(10));
+        monitor.check();
+        
+        assertThat(monitor.isHealthy("replica-1")).isFalse();
+        assertThat(monitor.getLagSeconds().get("replica-1")).isGreaterThan(5.0);
+        assertThat(inTransaction(readOnly)).isEqualTo("primary");
+    }
+    
+    @Test
+    void unreachableReplicaFallsBackToThePrimary() {
+        monitor.check();
+        replicate(beat(primary));
+        monitor.check();
+        
+        new JdbcTemplate(replica).execute("DROP TABLE replica_heartbeat");
+        monitor.check();
+        
+        assertThat(monitor.isHealthy("replica-1")).isFalse();
+        assertThat(inTransaction(readOnly)).isEqualTo("primary");
+    }
+    
+    @Test
+    void verdictExpiresWhenChecksStop() throws Exception {
+        monitor.check();
+        replicate(beat(primary));
+        monitor.check();
+        assertThat(inTransaction(readOnly)).isEqualTo("replica");
+        
+        // No check for more than three 100 ms intervals, the last verdict is no longer trusted
+        Thread.sleep(400);
+        
+        assertThat(monitor.isHealthy("replica-1")).isFalse();
+        assertThat(inTransaction(readOnly)).isEqualTo("primary");
+    }
+    
+    @Test
+    void readsFollowTheirOwnWritesToThePrimary() {
+        monitor.check();
+        replicate(beat(primary));
+        monitor.check();
+        
+        try {
+            authenticate("alice");
+            inTransaction(readWrite);
+            assertThat(inTransaction(readOnly)).isEqualTo("primary");
+            
+            authenticate("bob");
+            assertThat(inTransaction(readOnly)).isEqualTo("replica");
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+    
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+            UsernamePasswordAuthenticationToken.authenticated(username, null, List.of()));
+    }
+    
+    private String inTransaction(TransactionTemplate transaction) {
+        return transaction.execute(status -> node());
+    }
+    
+    private String node() {
+        return jdbc.queryForObject("SELECT name FROM node", String.class);
+    }
+    
+    private LocalDateTime beat(DataSource dataSource) {
+        return new JdbcTemplate(dataSource)
+            .queryForObject("SELECT beat_at FROM replica_heartbeat WHERE id = 1", Timestamp.class)
+            .toLocalDateTime();
+    }
+    
+    private void replicate(LocalDateTime beat) {
+        new JdbcTemplate(replica).update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1",
+            Timestamp.valueOf(beat));
+    }
+    
+    private static DataSource database(String name, String node) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP ALL OBJECTS");
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", node);
+        jdbc.execute("CREATE TABLE replica_heartbeat (id TINYINT PRIMARY KEY, beat_at TIMESTAMP(6) NOT NULL)");
+        jdbc.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)",
+            Timestamp.valueOf(LocalDateTime.now().minusDays(1)));
+        return dataSource;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,212 @@
+package com.regnify.datasource;
+
+import com.regnify.model.SystemUpdate;
+import com.regnify.model.User;
+import com.regnify.repository.SystemUpdateRepository;
+import com.regnify.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs JPA over the routing data source with two embedded H2 databases. The replica is a copy of
+ * the primary that has not applied the latest writes, so anything it serves is stale.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReplicaRoutedCacheTest {
+    
+    private static final DataSource PRIMARY = database("cache_routing_primary");
+    private static final DataSource REPLICA = database("cache_routing_replica");
+    
+    @TestConfiguration
+    static class RoutingConfig {
+        
+        @Bean(destroyMethod = "")
+        ReplicaLagMonitor replicaLagMonitor() {
+            return new ReplicaLagMonitor(PRIMARY, Map.of("replica-1", REPLICA),
+                Duration.ofSeconds(5), Duration.ofMinutes(1), null);
+        }
+        
+        @Bean
+        DataSource dataSource(ReplicaLagMonitor replicaLagMonitor) {
+            ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(replicaLagMonitor, Duration.ZERO);
+            Map<Object, Object> targets = new HashMap<>();
+            targets.put(ReadWriteRoutingDataSource.PRIMARY, PRIMARY);
+            targets.put("replica-1", REPLICA);
+            routing.setTargetDataSources(targets);
+            routing.setDefaultTargetDataSource(PRIMARY);
+            routing.afterPropertiesSet();
+            return new LazyConnectionDataSourceProxy(routing);
+        }
+        
+        @Bean
+        static ReplicaRoutingJpaDialect.Installer replicaRoutingJpaDialectInstaller() {
+            return new ReplicaRoutingJpaDialect.Installer();
+        }
+    }
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private SystemUpdateRepository systemUpdateRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private ReplicaLagMonitor monitor;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+    private Statistics statistics;
+    
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        systemUpdateRepository.deleteAll();
+        
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+    
+    @Test
+    void replicaReadsDoNotPopulateTheEntityCache() {
+        User user = userRepository.save(user("lagging.user", User.Role.ADMIN_MODERATOR));
+        replicateEverything();
+        new JdbcTemplate(PRIMARY).update("UPDATE users SET role = 'VIEWER' WHERE id = ?", user.getId());
+        catchUp();
+        
+        User fromReplica = readOnly.execute(status -> userRepository.findById(user.getId()).orElseThrow());
+        
+        assertThat(fromReplica.getRole()).isEqualTo(User.Role.ADMIN_MODERATOR);
+        assertThat(statistics.getSecondLevelCachePutCount()).isZero();
+        assertThat(entityManagerFactory.getCache().contains(User.class, user.getId())).isFalse();
+        
+        User fromPrimary = readWrite.execute(status -> userRepository.findById(user.getId()).orElseThrow());
+        assertThat(fromPrimary.getRole()).isEqualTo(User.Role.VIEWER);
+    }
+    
+    @Test
+    void replicaReadsDoNotPopulateTheQueryCache() {
+        systemUpdateRepository.save(update("Release 1"));
+        replicateEverything();
+        new JdbcTemplate(PRIMARY).update("UPDATE system_updates SET is_active = FALSE");
+        catchUp();
+        
+        List<SystemUpdate> fromReplica = readOnly.execute(status -> systemUpdateRepository.findByIsActiveTrueOrderByUpdateDateDesc());
+        
+        assertThat(fromReplica).hasSize(1);
+        assertThat(statistics.getQueryCachePutCount()).isZero();
+        assertThat(statistics.getSecondLevelCachePutCount()).isZero();
+        
+        List<SystemUpdate> fromPrimary = readWrite.execute(status -> systemUpdateRepository.findByIsActiveTrueOrderByUpdateDateDesc());
+        assertThat(fromPrimary).isEmpty();
+    }
+    
+    @Test
+    void primaryReadsStillPopulateTheCache() {
+        User user = userRepository.save(user("primary.user", User.Role.VIEWER));
+        new JdbcTemplate(REPLICA).update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1",
+            Timestamp.valueOf(LocalDateTime.now().minusDays(1)));
+        monitor.check();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+        
+        // The replica is too far behind, so the read-only transaction stays on the primary
+        readOnly.execute(status -> userRepository.findById(user.getId()).orElseThrow());
+        
+        assertThat(entityManagerFactory.getCache().contains(User.class, user.getId())).isTrue();
+    }
+    
+    // Copies the primary's schema and rows to the replica, which then stops applying changes
+    private void replicateEverything() {
+        JdbcTemplate replica = new JdbcTemplate(REPLICA);
+        replica.execute("DROP ALL OBJECTS");
+        new JdbcTemplate(PRIMARY).queryForList("SCRIPT", String.class).forEach(replica::execute);
+    }
+    
+    // The heartbeat says the replica is current, whatever it is missing
+    private void catchUp() {
+        monitor.check();
+        Timestamp beat = new JdbcTemplate(PRIMARY)
+            .queryForObject("SELECT beat_at FROM replica_heartbeat WHERE id = 1", Timestamp.class);
+        new JdbcTemplate(REPLICA).update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1", beat);
+        monitor.check();
+        assertThat(monitor.isHealthy("replica-1")).isTrue();
+        
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+    
+    private static User user(String username, User.Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@regnify.com");
+        user.setFirstName("Lagging");
+        user.setLastName("User");
+        user.setPassword("secret");
+        user.setRole(role);
+        user.setCreatedAt(LocalDateTime.now());
+        return user;
+    }
+    
+    private static SystemUpdate update(String title) {
+        SystemUpdate update = new SystemUpdate();
+        update.setTitle(title);
+        update.setDescription("Release notes");
+        update.setUpdateDate(LocalDate.of(2024, 1, 15));
+        update.setType(SystemUpdate.UpdateType.FEATURE);
+        update.setCreatedAt(LocalDateTime.now());
+        return update;
+    }
+    
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP ALL OBJECTS");
+        jdbc.execute("CREATE TABLE replica_heartbeat (id TINYINT PRIMARY KEY, beat_at TIMESTAMP(6) NOT NULL)");
+        jdbc.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)",
+            Timestamp.valueOf(LocalDateTime.now().minusDays(1)));
+        return dataSource;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,191 @@
+package com.regnify.dedupe;
+
+import com.regnify.model.Invoice;
+import com.regnify.repository.InvoiceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Builds the filter from the database and checks it stays current, plus a throughput and
+ * false-positive benchmark. The benchmark defaults to 1M numbers; run it at production scale with
+ * -Dbenchmark.invoice-numbers=50000000 (about 60 MB of filter at a 1% target rate).
+ */
+@Slf4j
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:invoice_number_filter;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "spring.jpa.show-sql=false",
+    "app.invoice.number-filter.expected-insertions=1000",
+    "app.invoice.number-filter.growth-factor=1.0"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({InvoiceNumberFilter.class, InvoiceNumberFilterTest.Beans.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InvoiceNumberFilterTest {
+    
+    private static final double TARGET_FPP = 0.01;
+    
+    @Autowired
+    private InvoiceNumberFilter filter;
+    
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+    
+    @Autowired
+    private SimpleMeterRegistry meterRegistry;
+    
+    @BeforeEach
+    void setUp() {
+        invoiceRepository.deleteAllInBatch();
+        ReflectionTestUtils.setField(filter, "active", null);
+    }
+    
+    @Test
+    void checksGoToTheDatabaseOnlyOnPossibleHits() {
+        insert(500);
+        assertThat(filter.isReady()).isFalse();
+        assertThat(filter.exists("INV-1")).isTrue();
+        
+        filter.rebuild();
+        
+        assertThat(filter.isReady()).isTrue();
+        for (int i = 0; i < 500; i++) {
+            assertThat(filter.exists("INV-" + i)).isTrue();
+        }
+        int unseen = 5_000;
+        double missesBefore = checks("miss");
+        double falsePositivesBefore = checks("false_positive");
+        for (int i = 0; i < unseen; i++) {
+            assertThat(filter.exists("NEW-" + i)).isFalse();
+        }
+        double misses = checks("miss") - missesBefore;
+        double falsePositives = checks("false_positive") - falsePositivesBefore;
+        assertThat(misses + falsePositives).isEqualTo(unseen);
+        assertThat(falsePositives / unseen).isLessThan(TARGET_FPP * 3);
+    }
+    
+    @Test
+    void numbersAddedAfterTheBuildAreSeen() {
+        insert(10);
+        filter.rebuild();
+        
+        filter.add("LATE-1");
+        invoiceRepository.save(invoice("LATE-1"));
+        double hitsBefore = checks("hit");
+        
+        assertThat(filter.exists("LATE-1")).isTrue();
+        assertThat(checks("hit") - hitsBefore).isEqualTo(1);
+    }
+    
+    @Test
+    void resizesOnceFullerThanCapacity() {
+        filter.rebuild();
+        long initialBits = ((BloomFilter) ReflectionTestUtils.getField(filter, "active")).getBitSize();
+        
+        insert(3_000);
+        for (int i = 0; i < 3_000; i++) {
+            filter.add("INV-" + i);
+        }
+        filter.resizeIfFull();
+        
+        BloomFilter resized = (BloomFilter) ReflectionTestUtils.getField(filter, "active");
+        assertThat(resized.getBitSize()).isGreaterThan(initialBits);
+        assertThat(resized.getExpectedInsertions()).isGreaterThanOrEqualTo(3_000);
+        assertThat(resized.expectedFalsePositiveRate()).isLessThan(TARGET_FPP * 1.5);
+        assertThat(meterRegistry.get("regnify.invoice.number_filter.memory").gauge().value())
+            .isEqualTo(resized.memoryBytes());
+    }
+    
+    @Test
+    void benchmarkFalsePositiveRateAndThroughput() {
+        int numbers = Integer.getInteger("benchmark.invoice-numbers", 1_000_000);
+        BloomFilter bloom = BloomFilter.create(numbers, TARGET_FPP);
+        
+        long started = System.nanoTime();
+        for (int i = 0; i < numbers; i++) {
+            bloom.put("INV-2024-" + i);
+        }
+        long putNanos = System.nanoTime() - started;
+        
+        started = System.nanoTime();
+        for (int i = 0; i < numbers; i++) {
+            assertThat(bloom.mightContain("INV-2024-" + i)).isTrue();
+        }
+        long hitNanos = System.nanoTime() - started;
+        
+        long falsePositives = 0;
+        started = System.nanoTime();
+        for (int i = 0; i < numbers; i++) {
+            if (bloom.mightContain("NEW-2025-" + i)) {
+                falsePositives++;
+            }
+        }
+        long missNanos = System.nanoTime() - started;
+        double measuredFpp = (double) falsePositives / numbers;
+        
+        log.info("{} numbers: {} MiB, {} hash functions, measured fpp {} (expected {}), approximate count {}; "
+                + "put {} ns, hit {} ns, miss {} ns per op",
+            numbers, bloom.memoryBytes() / (1024 * 1024), bloom.getHashFunctions(),
+            String.format("%.5f", measuredFpp), String.format("%.5f", bloom.expectedFalsePositiveRate()),
+            bloom.approximateCount(), putNanos / numbers, hitNanos / numbers, missNanos / numbers);
+        
+        assertThat(measuredFpp).isLessThan(TARGET_FPP * 1.5);
+        assertThat(bloom.approximateCount()).isBetween((long) (numbers * 0.98), (long) (numbers * 1.02));
+        assertThat(bloom.memoryBytes()).isLessThan(numbers * 2L);
+    }
+    
+    private double checks(String result) {
+        return meterRegistry.counter("regnify.invoice.number_filter.checks", "result", result).count();
+    }
+    
+    private void insert(int count) {
+        List<Invoice> invoices = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            invoices.add(invoice("INV-" + i));
+        }
+        invoiceRepository.saveAll(invoices);
+    }
+    
+    private Invoice invoice(String number) {
+        Invoice invoice = new Invoice();
+        invoice.setInvoiceNumber(number);
+        invoice.setDocDate(LocalDate.of(2026, 1, 15));
+        invoice.setProDate(LocalDate.of(2026, 1, 16));
+        invoice.setSender("Sender GmbH");
+        invoice.setReceiver("Receiver AG");
+        invoice.setCountry(Invoice.Country.GERMANY);
+        invoice.setUploadedBy("bench");
+        invoice.setCreatedAt(LocalDateTime.now());
+        return invoice;
+    }
+    
+    @TestConfiguration
+    static class Beans {
+        
+        @Bean
+        SimpleMeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
\ No newline at end of file
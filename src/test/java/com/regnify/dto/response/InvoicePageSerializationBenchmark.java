@@ -0,0 +1,111 @@
+package com.regnify.dto.response;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.regnify.config.JacksonConfig;
+import com.regnify.model.Invoice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One 100-row GET /invoices page inside ApiResponse. {@code previous} is the old path: Spring's
+ * PageImpl, bean serialization and the thread-local buffer pool. {@code current} is what the
+ * application mapper does now. Run through ResponseSerializationTest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class InvoicePageSerializationBenchmark {
+    
+    static final int ROWS = 100;
+    
+    private ObjectMapper previousMapper;
+    private ObjectMapper currentMapper;
+    private ApiResponse<Page<InvoiceSummaryResponse>> previousEnvelope;
+    private ApiResponse<PageResponse<InvoiceSummaryResponse>> currentEnvelope;
+    
+    @Setup
+    public void setUp() {
+        previousMapper = previousMapper();
+        currentMapper = currentMapper();
+        
+        Page<InvoiceSummaryResponse> page = new PageImpl<>(summaries(), PageRequest.of(0, ROWS), 12_000);
+        previousEnvelope = ApiResponse.success("Invoices retrieved successfully", page);
+        currentEnvelope = ApiResponse.success("Invoices retrieved successfully", PageResponse.of(page));
+    }
+    
+    @Benchmark
+    public byte[] previous() throws Exception {
+        return previousMapper.writeValueAsBytes(previousEnvelope);
+    }
+    
+    @Benchmark
+    public byte[] current() throws Exception {
+        return currentMapper.writeValueAsBytes(currentEnvelope);
+    }
+    
+    static ObjectMapper previousMapper() {
+        return new Jackson2ObjectMapperBuilder()
+            .mixIn(InvoiceResponse.class, BeanSerialized.class)
+            .mixIn(InvoiceSummaryResponse.class, BeanSerialized.class)
+            .mixIn(UserResponse.class, BeanSerialized.class)
+            .build();
+    }
+    
+    // Same customizations as the application's JacksonConfig
+    static ObjectMapper currentMapper() {
+        JacksonConfig config = new JacksonConfig();
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder()
+            .modulesToInstall(new BlackbirdModule());
+        config.pooledJsonFactory(config.jacksonBufferPool()).customize(builder);
+        return builder.build();
+    }
+    
+    static List<InvoiceSummaryResponse> summaries() {
+        List<InvoiceSummaryResponse> summaries = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            summaries.add(new InvoiceSummaryResponse((long) i, String.format("INV-%06d", i), LocalDate.of(2026, 1, 15),
+                "Sender GmbH", "Receiver AG", Invoice.Status.COMPLETE, Invoice.BusinessStatus.APPROVED,
+                i % 2 == 0 ? Invoice.ProviderResponse.SUCCESS : null, Invoice.Country.GERMANY,
+                Invoice.DocumentType.INVOICE, "invoice-" + i + ".xml", 97, "bench",
+                LocalDateTime.of(2026, 1, 15, 10, 30, i % 60)));
+        }
+        return summaries;
+    }
+    
+    static List<InvoiceResponse> invoices() {
+        List<InvoiceResponse> invoices = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            invoices.add(new InvoiceResponse((long) i, String.format("INV-%06d", i), LocalDate.of(2026, 1, 15),
+                LocalDate.of(2026, 1, 16), "Sender GmbH", "Receiver AG", Invoice.Status.COMPLETE,
+                Invoice.BusinessStatus.APPROVED, Invoice.ProviderResponse.SUCCESS, Invoice.Country.GERMANY,
+                Invoice.DocumentType.INVOICE, "invoice-" + i + ".xml", 48_000L, "bench", i % 2 == 0 ? "admin" : null,
+                "Line item tax rate does not match the reverse-charge rules.", 97,
+                LocalDateTime.of(2026, 1, 15, 10, 30, i % 60), LocalDateTime.of(2026, 1, 15, 10, 0),
+                LocalDateTime.of(2026, 1, 15, 10, 31)));
+        }
+        return invoices;
+    }
+    
+    // Switches a DTO back to the bean serializer
+    @JsonSerialize(using = JsonSerializer.None.class)
+    abstract static class BeanSerialized {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.regnify.dto.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.regnify.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The hand-written serializers must produce exactly what the bean serializer did, including nulls
+ * and date patterns, and read back through the DTO's own annotations. The JMH run compares the
+ * previous and current envelope paths for a 100-row invoice page in a forked JVM.
+ */
+@Slf4j
+class ResponseSerializationTest {
+    
+    private final ObjectMapper previous = InvoicePageSerializationBenchmark.previousMapper();
+    private final ObjectMapper current = InvoicePageSerializationBenchmark.currentMapper();
+    
+    @Test
+    void invoiceOutputIsUnchanged() throws Exception {
+        for (InvoiceResponse invoice : InvoicePageSerializationBenchmark.invoices().subList(0, 2)) {
+            assertSameDocument(invoice, InvoiceResponse.class);
+        }
+        assertSameDocument(new InvoiceResponse(), InvoiceResponse.class);
+        for (InvoiceSummaryResponse summary : InvoicePageSerializationBenchmark.summaries().subList(0, 2)) {
+            assertSameDocument(summary, InvoiceSummaryResponse.class);
+        }
+        assertSameDocument(new InvoiceSummaryResponse(), InvoiceSummaryResponse.class);
+    }
+    
+    @Test
+    void userOutputIsUnchanged() throws Exception {
+        UserResponse user = new UserResponse(7L, "Ada", "Lovelace", "ada@example.com", "ada", User.Role.ADMIN_MODERATOR,
+            User.Status.ACTIVE, null, LocalDateTime.of(2026, 1, 15, 10, 30, 5), LocalDateTime.of(2026, 2, 1, 8, 0));
+        
+        assertSameDocument(user, UserResponse.class);
+        assertSameDocument(new UserResponse(), UserResponse.class);
+    }
+    
+    @Test
+    void currentPathOutperformsPreviousPath() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(InvoicePageSerializationBenchmark.class.getName())
+            .forks(1)
+            .warmupIterations(5)
+            .warmupTime(TimeValue.seconds(1))
+            .measurementIterations(5)
+            .measurementTime(TimeValue.seconds(1))
+            .build();
+        
+        Collection<RunResult> results = new Runner(options).run();
+        Map<String, Double> opsPerSecond = results.stream().collect(Collectors.toMap(
+            result -> result.getParams().getBenchmark().replaceAll(".*\\.", ""),
+            result -> result.getPrimaryResult().getScore()));
+        
+        InvoicePageSerializationBenchmark page = new InvoicePageSerializationBenchmark();
+        page.setUp();
+        log.info("{}-row invoice page: previous {} ops/s, {} bytes; current {} ops/s, {} bytes",
+            InvoicePageSerializationBenchmark.ROWS, Math.round(opsPerSecond.get("previous")), page.previous().length,
+            Math.round(opsPerSecond.get("current")), page.current().length);
+        assertThat(opsPerSecond.get("current")).isGreaterThan(opsPerSecond.get("previous"));
+    }
+    
+    private <T> void assertSameDocument(T response, Class<T> type) throws Exception {
+        String expected = previous.writeValueAsString(response);
+        String actual = current.writeValueAsString(response);
+        
+        assertThat(actual).isEqualTo(expected);
+        assertThat(current.readValue(actual, type)).isEqualTo(response);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,255 @@
+package com.regnify.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.regnify.model.IntegrationConfig;
+import com.regnify.repository.IntegrationConfigRepository;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the token manager against a local mock OAuth2 server that issues numbered tokens and
+ * records the grant of every request it receives.
+ */
+class OAuth2TokenManagerTest {
+    
+    private HttpServer server;
+    private final AtomicInteger issued = new AtomicInteger();
+    private final List<String> grants = new CopyOnWriteArrayList<>();
+    private volatile int status = 200;
+    private volatile long expiresIn = 3600;
+    
+    private IntegrationConfigRepository repository;
+    private OAuth2TokenManager tokenManager;
+    private IntegrationConfig config;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/oauth/token", this::issueToken);
+        server.start();
+        
+        repository = mock(IntegrationConfigRepository.class);
+        tokenManager = new OAuth2TokenManager(repository, TransactionOperations.withoutTransaction(),
+            new ObjectMapper(), new SimpleMeterRegistry(), 1000);
+        ReflectionTestUtils.setField(tokenManager, "refreshSkewSeconds", 120L);
+        ReflectionTestUtils.setField(tokenManager, "defaultExpiresInSeconds", 3600L);
+        
+        config = new IntegrationConfig();
+        config.setId(7L);
+        config.setServiceProviderName("mock-provider");
+        config.setAuthType(IntegrationConfig.AuthType.OAUTH2);
+        config.setClientKey("client");
+        config.setClientSecret("secret");
+        config.setTokenEndpointUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/oauth/token");
+    }
+    
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+    
+    @Test
+    void concurrentCallersShareOneTokenRequest() {
+        List<CompletableFuture<String>> callers = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            callers.add(CompletableFuture.supplyAsync(() -> tokenManager.getAccessToken(config))
+                .thenCompose(token -> token));
+        }
+        
+        List<String> tokens = callers.stream().map(CompletableFuture::join).distinct().toList();
+        
+        assertThat(tokens).containsExactly("token-1");
+        assertThat(grants).containsExactly("client_credentials");
+    }
+    
+    @Test
+    void cachedTokenIsReusedUntilItNearsExpiry() {
+        assertThat(tokenManager.getAccessToken(config).join()).isEqualTo("token-1");
+        assertThat(tokenManager.getAccessToken(config).join()).isEqualTo("token-1");
+        
+        assertThat(issued.get()).isEqualTo(1);
+    }
+    
+    @Test
+    void tokensInsideTheSkewAreRefreshedProactivelyWithTheRefreshToken() throws Exception {
+        expiresIn = 60;
+        assertThat(tokenManager.getAccessToken(config).join()).isEqualTo("token-1");
+        expiresIn = 3600;
+        
+        tokenManager.refreshExpiring();
+        awaitIssued(2);
+        
+        assertThat(tokenManager.getAccessToken(config).join()).isEqualTo("token-2");
+        assertThat(grants).containsExactly("client_credentials", "refresh_token");
+    }
+    
+    @Test
+    void storedTokenFromTheConfigIsUsedWithoutARequest() {
+        config.setAccessToken("stored");
+        config.setTokenExpiry(LocalDateTime.now().plusHours(1));
+        
+        assertThat(tokenManager.getAccessToken(config).join()).isEqualTo("stored");
+        assertThat(issued.get()).isZero();
+    }
+    
+    @Test
+    void expiredStoredTokenIsReplacedBeforeUse() {
+        config.setAccessToken("stored");
+        config.setRefreshToken("stored-refresh");
+        config.setTokenExpiry(LocalDateTime.now().minusMinutes(1));
+        
+        assertThat(tokenManager.getAccessToken(config).join()).isEqualTo("token-1");
+        assertThat(grants).containsExactly("refresh_token");
+    }
+    
+    @Test
+    void rejectedRefreshTokenFallsBackToClientCredentials() {
+        config.setAccessToken("stored");
+        config.setRefreshToken("revoked");
+        config.setTokenExpiry(LocalDateTime.now().minusMinutes(1));
+        
+        assertThat(tokenManager.getAccessToken(config).join()).isEqualTo("token-2");
+        assertThat(grants).containsExactly("refresh_token", "client_credentials");
+    }
+    
+    @Test
+    void evictedStoredTokenIsNotReusedAfterA401() {
+        config.setAccessToken("stored");
+        config.setTokenExpiry(LocalDateTime.now().plusHours(1));
+        assertThat(tokenManager.getAccessToken(config).join()).isEqualTo("stored");
+        
+        // The provider rejected "stored"; the config still carries it until a new one is persisted
+        tokenManager.evict(config.getId());
+        
+        assertThat(tokenManager.getAccessToken(config).join()).isEqualTo("token-1");
+        assertThat(issued.get()).isEqualTo(1);
+        assertThat(tokenManager.getAccessToken(config).join()).isEqualTo("token-1");
+        assertThat(issued.get()).isEqualTo(1);
+    }
+    
+    @Test
+    void evictedTokensAreNoLongerRefreshed() {
+        expiresIn = 60;
+        assertThat(tokenManager.getAccessToken(config).join()).isEqualTo("token-1");
+        
+        tokenManager.evict(config.getId());
+        tokenManager.refreshExpiring();
+        tokenManager.persistRefreshedTokens();
+        
+        assertThat(issued.get()).isEqualTo(1);
+        verify(repository, never()).saveAll(any());
+    }
+    
+    @Test
+    void tokenRequestedBeforeAnEvictionIsNotCached() {
+        CompletableFuture<String> pending = tokenManager.getAccessToken(config);
+        tokenManager.evict(config.getId());
+        
+        assertThat(pending.join()).isEqualTo("token-1");
+        assertThat(tokenManager.getAccessToken(config).join()).isEqualTo("token-2");
+    }
+    
+    @Test
+    void failedTokenRequestIsReportedAndNotCached() {
+        status = 500;
+        assertThatThrownBy(() -> tokenManager.getAccessToken(config).join())
+            .hasMessageContaining("HTTP 500");
+        
+        status = 200;
+        assertThat(tokenManager.getAccessToken(config).join()).isEqualTo("token-2");
+    }
+    
+    @Test
+    void refreshedTokensArePersistedInOneBatch() {
+        IntegrationConfig stored = new IntegrationConfig();
+        stored.setId(7L);
+        when(repository.findAllById(any())).thenReturn(List.of(stored));
+        
+        tokenManager.getAccessToken(config).join();
+        tokenManager.persistRefreshedTokens();
+        tokenManager.persistRefreshedTokens();
+        
+        verify(repository, times(1)).saveAll(any());
+        assertThat(stored.getAccessToken()).isEqualTo("token-1");
+        assertThat(stored.getRefreshToken()).isEqualTo("refresh-1");
+        assertThat(stored.getTokenExpiry()).isAfter(LocalDateTime.now().plusMinutes(59));
+    }
+    
+    @Test
+    void nothingIsPersistedWithoutRefreshes() {
+        tokenManager.persistRefreshedTokens();
+        
+        verify(repository, never()).saveAll(any());
+    }
+    
+    private void issueToken(HttpExchange exchange) throws IOException {
+        String form = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        String grant = form.replaceAll(".*grant_type=([a-z_]+).*", "$1");
+        grants.add(grant);
+        int number = issued.incrementAndGet();
+        
+        if (form.contains("refresh_token=revoked")) {
+            respond(exchange, 400, "{\"error\":\"invalid_grant\"}");
+            return;
+        }
+        if (status != 200) {
+            respond(exchange, status, "{\"error\":\"server_error\"}");
+            return;
+        }
+        try {
+            // Slow enough that concurrent callers overlap with the in-flight request
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        respond(exchange, 200, "{\"access_token\":\"token-" + number + "\",\"token_type\":\"Bearer\","
+            + "\"expires_in\":" + expiresIn + ",\"refresh_token\":\"refresh-" + number + "\"}");
+    }
+    
+    private void awaitIssued(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            if (issued.get() >= count && tokenManager.getAccessToken(config).join().equals("token-" + count)) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+    }
+    
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
\ No newline at end of file
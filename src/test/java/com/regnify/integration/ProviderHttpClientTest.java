@@ -0,0 +1,181 @@
+package com.regnify.integration;
+
+import com.regnify.dto.response.ProviderCallResult;
+import com.regnify.model.IntegrationConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProviderHttpClientTest {
+    
+    private static final long RESPONSE_DELAY_MS = 200;
+    
+    private HttpServer server;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger received = new AtomicInteger();
+    private String baseUrl;
+    
+    private OAuth2TokenManager tokenManager;
+    private ProviderHttpClient client;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/slow", exchange -> {
+            received.incrementAndGet();
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(RESPONSE_DELAY_MS);
+                respond(exchange, 200, "{\"status\":\"OK\"}");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        server.createContext("/error", exchange -> respond(exchange, 503, "maintenance"));
+        server.createContext("/secured", exchange -> {
+            boolean authorized = "Bearer oauth-token".equals(exchange.getRequestHeaders().getFirst("Authorization"));
+            respond(exchange, authorized ? 200 : 401, authorized ? "ok" : "unauthorized");
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        
+        tokenManager = mock(OAuth2TokenManager.class);
+        client = new ProviderHttpClient(1000, new SimpleMeterRegistry(), tokenManager);
+        ReflectionTestUtils.setField(client, "defaultRequestTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(client, "defaultMaxConcurrentRequests", 4);
+        ReflectionTestUtils.setField(client, "queueTimeoutMs", 30000L);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+    
+    @Test
+    void capsInFlightCallsPerProvider() {
+        IntegrationConfig provider = provider(1L, "capped", 2, null);
+        
+        List<ProviderCallResult> results = joinAll(provider, 6);
+        
+        assertThat(results).allMatch(ProviderCallResult::isSuccess);
+        assertThat(maxInFlight.get()).isEqualTo(2);
+    }
+    
+    @Test
+    void providersFanOutConcurrently() {
+        List<CompletableFuture<ProviderCallResult>> calls = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            calls.add(client.get(provider(id, "provider-" + id, 1, null), baseUrl + "/slow", "fetch_status"));
+        }
+        
+        long started = System.nanoTime();
+        CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).join();
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        
+        assertThat(calls).allMatch(call -> call.join().isSuccess());
+        assertThat(maxInFlight.get()).isEqualTo(5);
+        assertThat(elapsedMs).isLessThan(5 * RESPONSE_DELAY_MS);
+    }
+    
+    @Test
+    void slowProviderTimesOutWithoutFailingTheOthers() {
+        IntegrationConfig slow = provider(1L, "slow", 1, 100);
+        IntegrationConfig fast = provider(2L, "fast", 1, null);
+        
+        CompletableFuture<ProviderCallResult> timedOut = client.get(slow, baseUrl + "/slow", "fetch_status");
+        CompletableFuture<ProviderCallResult> ok = client.get(fast, baseUrl + "/slow", "fetch_status");
+        
+        assertThat(timedOut.join().isTimedOut()).isTrue();
+        assertThat(timedOut.join().isSuccess()).isFalse();
+        assertThat(ok.join().isSuccess()).isTrue();
+    }
+    
+    @Test
+    void errorStatusIsReportedAsFailure() {
+        ProviderCallResult result = client.get(provider(1L, "down", 1, null), baseUrl + "/error", "fetch_status").join();
+        
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getHttpStatus()).isEqualTo(503);
+        assertThat(result.getMessage()).contains("maintenance");
+    }
+    
+    @Test
+    void queuedCallsGiveUpAfterTheQueueTimeout() {
+        ReflectionTestUtils.setField(client, "queueTimeoutMs", 50L);
+        IntegrationConfig provider = provider(1L, "busy", 1, null);
+        
+        List<ProviderCallResult> results = joinAll(provider, 4);
+        
+        assertThat(results.get(0).isSuccess()).isTrue();
+        assertThat(results.subList(1, 4)).allMatch(ProviderCallResult::isTimedOut);
+        assertThat(received.get()).isEqualTo(1);
+    }
+    
+    @Test
+    void oauth2CallsCarryTheManagedTokenAndEvictItOn401() {
+        IntegrationConfig provider = provider(1L, "oauth", 1, null);
+        provider.setAuthType(IntegrationConfig.AuthType.OAUTH2);
+        when(tokenManager.getAccessToken(provider))
+            .thenReturn(CompletableFuture.completedFuture("oauth-token"))
+            .thenReturn(CompletableFuture.completedFuture("revoked-token"));
+        
+        assertThat(client.get(provider, baseUrl + "/secured", "fetch_status").join().isSuccess()).isTrue();
+        verify(tokenManager, never()).evict(1L);
+        
+        ProviderCallResult rejected = client.get(provider, baseUrl + "/secured", "fetch_status").join();
+        assertThat(rejected.getHttpStatus()).isEqualTo(401);
+        verify(tokenManager).evict(1L);
+    }
+    
+    private List<ProviderCallResult> joinAll(IntegrationConfig provider, int calls) {
+        List<CompletableFuture<ProviderCallResult>> futures = new ArrayList<>();
+        for (int i = 0; i < calls; i++) {
+            futures.add(client.get(provider, baseUrl + "/slow", "fetch_status"));
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+    
+    private IntegrationConfig provider(Long id, String name, Integer maxConcurrent, Integer timeoutMs) {
+        IntegrationConfig config = new IntegrationConfig();
+        config.setId(id);
+        config.setServiceProviderName(name);
+        config.setAuthType(IntegrationConfig.AuthType.API_KEY);
+        config.setApiKey("key-" + id);
+        config.setMaxConcurrentRequests(maxConcurrent);
+        config.setRequestTimeoutMs(timeoutMs);
+        return config;
+    }
+    
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,158 @@
+package com.regnify.repository;
+
+import com.regnify.model.AuditLog;
+import com.regnify.model.Invoice;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Inserts 10k invoices and 10k audit rows twice: once flushing every row (what IDENTITY ids force,
+ * one INSERT round trip per row) and once through the pooled-lo generators with JDBC batching.
+ * Throughput is logged for comparison; only statement counts are asserted.
+ */
+@Slf4j
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:batch_insert;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+    "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BatchInsertBenchmarkTest {
+    
+    private static final int ROWS = 10_000;
+    private static final int CHUNK = 500;
+    
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+    
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private Statistics statistics;
+    
+    @BeforeEach
+    void setUp() {
+        invoiceRepository.deleteAllInBatch();
+        auditLogRepository.deleteAllInBatch();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+    
+    @Test
+    void batchedInvoiceInsertsUseAFractionOfTheStatements() {
+        long rowByRow = insert("invoices row-by-row", i -> invoice("RB-" + i), true);
+        long batched = insert("invoices batched", i -> invoice("BA-" + i), false);
+        
+        assertThat(invoiceRepository.count()).isEqualTo(2L * ROWS);
+        assertThat(rowByRow).isGreaterThanOrEqualTo(ROWS);
+        assertThat(batched).isLessThan(ROWS / 10);
+    }
+    
+    @Test
+    void batchedAuditInsertsUseAFractionOfTheStatements() {
+        long rowByRow = insert("audit logs row-by-row", this::auditLog, true);
+        long batched = insert("audit logs batched", this::auditLog, false);
+        
+        assertThat(auditLogRepository.count()).isEqualTo(2L * ROWS);
+        assertThat(rowByRow).isGreaterThanOrEqualTo(ROWS);
+        assertThat(batched).isLessThan(ROWS / 10);
+    }
+    
+    @Test
+    void pooledIdsStayMonotonic() {
+        insert("audit logs ids", this::auditLog, false);
+        
+        List<Long> ids = auditLogRepository.findAll().stream().map(AuditLog::getId).sorted().toList();
+        assertThat(ids).doesNotHaveDuplicates().hasSize(ROWS);
+        assertThat(ids.get(ids.size() - 1) - ids.get(0)).isEqualTo(ROWS - 1);
+    }
+    
+    private long insert(String label, IntFunction<Object> factory, boolean flushEachRow) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        statistics.clear();
+        long started = System.nanoTime();
+        
+        for (int from = 0; from < ROWS; from += CHUNK) {
+            int start = from;
+            transaction.executeWithoutResult(status -> {
+                List<Object> chunk = new ArrayList<>(CHUNK);
+                for (int i = start; i < start + CHUNK; i++) {
+                    chunk.add(factory.apply(i));
+                }
+                for (Object entity : chunk) {
+                    entityManager.persist(entity);
+                    if (flushEachRow) {
+                        entityManager.flush();
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        
+        double seconds = (System.nanoTime() - started) / 1e9;
+        long statements = statistics.getPrepareStatementCount();
+        log.info("{}: {} rows in {} ms ({} rows/s), {} prepared statements",
+            label, ROWS, Math.round(seconds * 1000), Math.round(ROWS / seconds), statements);
+        return statements;
+    }
+    
+    private Invoice invoice(String number) {
+        Invoice invoice = new Invoice();
+        invoice.setInvoiceNumber(number);
+        invoice.setDocDate(LocalDate.of(2026, 1, 15));
+        invoice.setProDate(LocalDate.of(2026, 1, 16));
+        invoice.setSender("Sender GmbH");
+        invoice.setReceiver("Receiver AG");
+        invoice.setCountry(Invoice.Country.GERMANY);
+        invoice.setUploadedBy("bench");
+        invoice.setCreatedAt(LocalDateTime.now());
+        return invoice;
+    }
+    
+    private AuditLog auditLog(int i) {
+        AuditLog auditLog = new AuditLog();
+        auditLog.setAction("CREATE");
+        auditLog.setEntityType("INVOICE");
+        auditLog.setEntityId((long) i);
+        auditLog.setPerformedBy("bench");
+        auditLog.setStatus("SUCCESS");
+        return auditLog;
+    }
+}
\ No newline at end of file
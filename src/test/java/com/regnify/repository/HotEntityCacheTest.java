@@ -0,0 +1,160 @@
+package com.regnify.repository;
+
+import com.regnify.model.IntegrationConfig;
+import com.regnify.model.SystemUpdate;
+import com.regnify.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the SQL statements issued by repeated lookups of the cached entities, the way services
+ * issue them across requests (each call in its own session).
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:hot_entity_cache;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HotEntityCacheTest {
+    
+    private static final int REQUESTS = 20;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private IntegrationConfigRepository integrationConfigRepository;
+    
+    @Autowired
+    private SystemUpdateRepository systemUpdateRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    private Statistics statistics;
+    
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        integrationConfigRepository.deleteAll();
+        systemUpdateRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+        
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+    
+    @Test
+    void repeatedUsernameLookupsHitTheDatabaseOnce() {
+        userRepository.save(user("cached.user"));
+        statistics.clear();
+        
+        for (int i = 0; i < REQUESTS; i++) {
+            assertThat(userRepository.findByUsername("cached.user")).isPresent();
+        }
+        
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(REQUESTS - 1);
+    }
+    
+    @Test
+    void updatingAUserInvalidatesTheCachedLookup() {
+        User user = userRepository.save(user("changing.user"));
+        userRepository.findByUsername("changing.user");
+        
+        user.setLastLogin(LocalDateTime.of(2024, 5, 1, 12, 0));
+        userRepository.save(user);
+        statistics.clear();
+        
+        User reloaded = userRepository.findByUsername("changing.user").orElseThrow();
+        
+        assertThat(reloaded.getLastLogin()).isEqualTo(LocalDateTime.of(2024, 5, 1, 12, 0));
+        assertThat(statistics.getQueryCacheMissCount()).isEqualTo(1);
+    }
+    
+    @Test
+    void authenticationSeesChangesMadeOnAnotherNode() {
+        User user = userRepository.save(user("suspended.user"));
+        userRepository.findByUsername("suspended.user");
+        
+        // Another node's write reaches the database but not this node's caches
+        new JdbcTemplate(dataSource).update("UPDATE users SET status = 'SUSPENDED' WHERE id = ?", user.getId());
+        
+        assertThat(userRepository.findByUsername("suspended.user").orElseThrow().getStatus())
+            .isEqualTo(User.Status.ACTIVE);
+        assertThat(userRepository.findForAuthenticationByUsername("suspended.user").orElseThrow().getStatus())
+            .isEqualTo(User.Status.SUSPENDED);
+    }
+    
+    @Test
+    void repeatedProviderLookupsHitTheDatabaseOnce() {
+        IntegrationConfig config = new IntegrationConfig();
+        config.setServiceProviderName("provider-a");
+        config.setSendEndpointUrl("https://provider-a.example/send");
+        config.setFetchEndpointUrl("https://provider-a.example/fetch");
+        config.setAuthType(IntegrationConfig.AuthType.API_KEY);
+        config.setCreatedAt(LocalDateTime.now());
+        integrationConfigRepository.save(config);
+        statistics.clear();
+        
+        for (int i = 0; i < REQUESTS; i++) {
+            assertThat(integrationConfigRepository.findByServiceProviderName("provider-a")).isPresent();
+        }
+        
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+    
+    @Test
+    void repeatedActiveUpdateListingsHitTheDatabaseOnce() {
+        SystemUpdate update = new SystemUpdate();
+        update.setTitle("Release");
+        update.setDescription("Release notes");
+        update.setUpdateDate(LocalDate.of(2024, 1, 15));
+        update.setType(SystemUpdate.UpdateType.FEATURE);
+        update.setCreatedAt(LocalDateTime.now());
+        systemUpdateRepository.save(update);
+        statistics.clear();
+        
+        for (int i = 0; i < REQUESTS; i++) {
+            assertThat(systemUpdateRepository.findByIsActiveTrueOrderByUpdateDateDesc()).hasSize(1);
+        }
+        
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+    
+    private User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@regnify.com");
+        user.setFirstName("Cached");
+        user.setLastName("User");
+        user.setPassword("secret");
+        user.setRole(User.Role.VIEWER);
+        user.setCreatedAt(LocalDateTime.now());
+        return user;
+    }
+}
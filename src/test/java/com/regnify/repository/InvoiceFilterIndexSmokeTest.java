@@ -0,0 +1,190 @@
+package com.regnify.repository;
+
+import com.regnify.model.Invoice;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Index-existence smoke test: for every filter combination InvoiceFilterRequest supports, checks
+ * that H2, given the entity's index definitions, can serve the generated query from one of the
+ * composite invoice indexes. H2's planner is not MySQL's, so this does not prove what MySQL will
+ * choose; it catches an index that was dropped or renamed, or a filter added without one.
+ * Confirming MySQL's own choice takes EXPLAIN FORMAT=JSON (access_type, key) on a MySQL server.
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:invoice_index_smoke;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.regnify.repository.InvoiceFilterIndexSmokeTest$SqlCapture",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class InvoiceFilterIndexSmokeTest {
+    
+    private static final String CREATED_AT = "idx_invoices_deleted_created_at";
+    private static final String STATUS = "idx_invoices_deleted_status_created_at";
+    private static final String COUNTRY = "idx_invoices_deleted_country_created_at";
+    private static final String COUNTRY_STATUS = "idx_invoices_deleted_country_status_created_at";
+    private static final String DOCUMENT_TYPE = "idx_invoices_deleted_document_type_created_at";
+    private static final String UPLOADED_BY = "idx_invoices_deleted_uploaded_by_created_at";
+    private static final String DOC_DATE = "idx_invoices_deleted_doc_date";
+    
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 3, 31);
+    
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @BeforeEach
+    void clearCapturedSql() {
+        SqlCapture.STATEMENTS.clear();
+    }
+    
+    static Stream<Arguments> filterCombinations() {
+        return Stream.of(
+            combination("no filters", new Filter(), CREATED_AT),
+            combination("status", new Filter().status(Invoice.Status.COMPLETE), STATUS, COUNTRY_STATUS),
+            combination("country", new Filter().country(Invoice.Country.GERMANY), COUNTRY, COUNTRY_STATUS),
+            combination("status and country",
+                new Filter().status(Invoice.Status.ERROR).country(Invoice.Country.FRANCE), STATUS, COUNTRY_STATUS),
+            combination("document type", new Filter().documentType(Invoice.DocumentType.CREDIT_NOTE), DOCUMENT_TYPE),
+            combination("uploaded by", new Filter().uploadedBy("admin"), UPLOADED_BY),
+            combination("date range", new Filter().startDate(START).endDate(END), DOC_DATE),
+            combination("start date", new Filter().startDate(START), DOC_DATE, CREATED_AT),
+            combination("end date", new Filter().endDate(END), DOC_DATE, CREATED_AT),
+            combination("date range and status",
+                new Filter().startDate(START).endDate(END).status(Invoice.Status.PENDING), DOC_DATE, STATUS, COUNTRY_STATUS),
+            combination("date range and country",
+                new Filter().startDate(START).endDate(END).country(Invoice.Country.UK), DOC_DATE, COUNTRY, COUNTRY_STATUS),
+            combination("status, country and document type",
+                new Filter().status(Invoice.Status.COMPLETE).country(Invoice.Country.SPAIN)
+                    .documentType(Invoice.DocumentType.INVOICE), STATUS, COUNTRY_STATUS, DOCUMENT_TYPE),
+            // Substring matches cannot use an index, the created_at index still bounds the page walk
+            combination("sender", new Filter().sender("GmbH"), CREATED_AT),
+            combination("receiver and status",
+                new Filter().receiver("Ltd").status(Invoice.Status.COMPLETE), STATUS, COUNTRY_STATUS)
+        );
+    }
+    
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filterCombinations")
+    void filterCombinationHasACompositeIndex(String description, Filter filter, Set<String> expectedIndexes) {
+        invoiceRepository.findSummariesWithFilters(
+            filter.startDate, filter.endDate, filter.status, filter.country, filter.documentType,
+            filter.sender, filter.receiver, filter.uploadedBy,
+            PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt")));
+        
+        String sql = SqlCapture.STATEMENTS.stream()
+            .filter(statement -> statement.startsWith("select") && statement.contains("from invoices"))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("findSummariesWithFilters did not issue a select"));
+        
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + inlineParameters(sql, filter.parameters()), String.class);
+        
+        assertThat(plan)
+            .as("plan for %s", description)
+            .doesNotContain("tableScan");
+        assertThat(expectedIndexes)
+            .as("index used for %s in plan:%n%s", description, plan)
+            .anyMatch(plan::contains);
+    }
+    
+    // Connector/J sends client-side prepared statements, so MySQL plans the query with the literals
+    // inlined and folds the "? IS NULL OR ..." guards away. Inline them here to plan the same shape.
+    private static String inlineParameters(String sql, List<Object> parameters) {
+        StringBuilder inlined = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                inlined.append(parameter < parameters.size() ? literal(parameters.get(parameter)) : "10");
+                parameter++;
+            } else {
+                inlined.append(c);
+            }
+        }
+        return inlined.toString();
+    }
+    
+    private static String literal(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof LocalDate) {
+            return "DATE '" + value + "'";
+        }
+        return "'" + value.toString().replace("'", "''") + "'";
+    }
+    
+    private static Arguments combination(String description, Filter filter, String... expectedIndexes) {
+        return Arguments.of(description, filter, Set.of(expectedIndexes));
+    }
+    
+    public static class SqlCapture implements StatementInspector {
+        private static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+        
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+    
+    static class Filter {
+        private LocalDate startDate;
+        private LocalDate endDate;
+        private Invoice.Status status;
+        private Invoice.Country country;
+        private Invoice.DocumentType documentType;
+        private String sender;
+        private String receiver;
+        private String uploadedBy;
+        
+        Filter startDate(LocalDate startDate) { this.startDate = startDate; return this; }
+        Filter endDate(LocalDate endDate) { this.endDate = endDate; return this; }
+        Filter status(Invoice.Status status) { this.status = status; return this; }
+        Filter country(Invoice.Country country) { this.country = country; return this; }
+        Filter documentType(Invoice.DocumentType documentType) { this.documentType = documentType; return this; }
+        Filter sender(String sender) { this.sender = sender; return this; }
+        Filter receiver(String receiver) { this.receiver = receiver; return this; }
+        Filter uploadedBy(String uploadedBy) { this.uploadedBy = uploadedBy; return this; }
+        
+        // Every optional filter is bound twice: once for the IS NULL guard and once for the comparison
+        List<Object> parameters() {
+            List<Object> parameters = new ArrayList<>();
+            for (Object value : Arrays.asList(startDate, endDate, status, country, documentType, sender, receiver, uploadedBy)) {
+                parameters.add(value);
+                parameters.add(value);
+            }
+            return parameters;
+        }
+        
+        @Override
+        public String toString() {
+            return "Filter";
+        }
+    }
+}
\ No newline at end of file
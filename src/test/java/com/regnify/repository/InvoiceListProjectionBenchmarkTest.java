@@ -0,0 +1,197 @@
+package com.regnify.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.regnify.dto.response.InvoiceResponse;
+import com.regnify.dto.response.InvoiceSummaryResponse;
+import com.regnify.model.Invoice;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pages through 5k invoices the way the list screen does, once loading entities and mapping them
+ * to InvoiceResponse (the previous list path) and once through the InvoiceSummaryResponse
+ * constructor projection, with the same query otherwise. Rows/sec and serialized bytes per page
+ * are logged; entity loads and size are asserted.
+ */
+@Slf4j
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:invoice_list_projection;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+    "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InvoiceListProjectionBenchmarkTest {
+    
+    private static final int ROWS = 5_000;
+    private static final int PAGE_SIZE = 50;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private Statistics statistics;
+    
+    @BeforeEach
+    void setUp() {
+        invoiceRepository.deleteAllInBatch();
+        List<Invoice> invoices = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            invoices.add(invoice(i));
+        }
+        invoiceRepository.saveAll(invoices);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+    
+    @Test
+    void projectionSkipsEntitiesAndShrinksResponses() throws Exception {
+        // Warm both paths up once so the comparison is not dominated by query plan caching
+        readAllPages("entities (warm-up)", this::entityPage);
+        readAllPages("projection (warm-up)", this::summaryPage);
+        
+        statistics.clear();
+        long entityBytes = readAllPages("entities", this::entityPage);
+        long entityLoads = statistics.getEntityLoadCount();
+        
+        statistics.clear();
+        long summaryBytes = readAllPages("projection", this::summaryPage);
+        long summaryLoads = statistics.getEntityLoadCount();
+        
+        assertThat(entityLoads).isEqualTo(ROWS);
+        assertThat(summaryLoads).isZero();
+        assertThat(summaryBytes).isLessThan(entityBytes / 2);
+    }
+    
+    @Test
+    void filteredListIsServedFromTheProjection() {
+        statistics.clear();
+        
+        Page<InvoiceSummaryResponse> page = invoiceRepository.findSummariesWithFilters(
+            null, null, Invoice.Status.ERROR, Invoice.Country.GERMANY, null, "gmbh", null, null,
+            PageRequest.of(2, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt")));
+        
+        assertThat(page.getTotalElements()).isEqualTo(ROWS);
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(page.getContent()).isSortedAccordingTo(
+            Comparator.comparing(InvoiceSummaryResponse::getCreatedAt).reversed());
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+    
+    @Test
+    void searchReturnsSummariesWithoutCounting() {
+        statistics.clear();
+        
+        List<InvoiceSummaryResponse> results = invoiceRepository.searchSummaries("INV-00001", PageRequest.of(0, 10));
+        
+        assertThat(results).hasSize(10).allMatch(summary -> summary.getInvoiceNumber().startsWith("INV-00001"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+    
+    // Same WHERE, ORDER BY and page window for both, so only the select list and materialization differ
+    private List<?> entityPage(Pageable pageable) {
+        return entityManager.createQuery(
+                "SELECT i FROM Invoice i WHERE i.deleted = false ORDER BY i.createdAt DESC", Invoice.class)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize())
+            .getResultList().stream()
+            .map(this::toResponse)
+            .toList();
+    }
+    
+    private List<?> summaryPage(Pageable pageable) {
+        return entityManager.createQuery(
+                InvoiceRepository.SUMMARY_SELECT + "i.deleted = false ORDER BY i.createdAt DESC",
+                InvoiceSummaryResponse.class)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize())
+            .getResultList();
+    }
+    
+    private long readAllPages(String label, Function<Pageable, List<?>> pageReader) throws Exception {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        
+        long bytes = 0;
+        long started = System.nanoTime();
+        for (int page = 0; page < ROWS / PAGE_SIZE; page++) {
+            Pageable pageable = PageRequest.of(page, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt"));
+            List<?> content = readOnly.execute(status -> pageReader.apply(pageable));
+            bytes += objectMapper.writeValueAsBytes(content).length;
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        
+        log.info("{}: {} rows/s, {} bytes per page of {}",
+            label, ROWS * 1_000_000_000L / elapsedNanos, bytes / (ROWS / PAGE_SIZE), PAGE_SIZE);
+        return bytes;
+    }
+    
+    private InvoiceResponse toResponse(Invoice invoice) {
+        return new InvoiceResponse(invoice.getId(), invoice.getInvoiceNumber(), invoice.getDocDate(),
+            invoice.getProDate(), invoice.getSender(), invoice.getReceiver(), invoice.getStatus(),
+            invoice.getBusinessStatus(), invoice.getProviderResponse(), invoice.getCountry(),
+            invoice.getDocumentType(), invoice.getFileName(), invoice.getFileSize(), invoice.getUploadedBy(),
+            invoice.getProcessedBy(), invoice.getValidationErrors(), invoice.getValidationScore(),
+            invoice.getProcessedAt(), invoice.getCreatedAt(), invoice.getUpdatedAt());
+    }
+    
+    private Invoice invoice(int i) {
+        Invoice invoice = new Invoice();
+        invoice.setInvoiceNumber(String.format("INV-%06d", i));
+        invoice.setDocDate(LocalDate.of(2026, 1, 15));
+        invoice.setProDate(LocalDate.of(2026, 1, 16));
+        invoice.setSender("Sender GmbH");
+        invoice.setReceiver("Receiver AG");
+        invoice.setCountry(Invoice.Country.GERMANY);
+        invoice.setStatus(Invoice.Status.ERROR);
+        invoice.setFileName("invoice-" + i + ".xml");
+        invoice.setFileSize(48_000L);
+        invoice.setFilePath("uploads/invoices/" + i + ".xml");
+        invoice.setValidationErrors("Line item tax rate does not match the reverse-charge rules. ".repeat(30));
+        invoice.setUploadedBy("bench");
+        invoice.setCreatedAt(LocalDateTime.now().minusSeconds(i));
+        invoice.setUpdatedAt(LocalDateTime.now());
+        return invoice;
+    }
+}
\ No newline at end of file
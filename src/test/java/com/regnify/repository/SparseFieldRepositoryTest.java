@@ -0,0 +1,172 @@
+package com.regnify.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.regnify.dto.response.PageResponse;
+import com.regnify.dto.response.SparseRow;
+import com.regnify.exception.ValidationException;
+import com.regnify.model.Invoice;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Slf4j
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:sparse_fields;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+    "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SparseFieldRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SparseFieldRepositoryTest {
+    
+    private static final int ROWS = 200;
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 50, Sort.by(Sort.Direction.DESC, "createdAt"));
+    
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    
+    @Autowired
+    private SparseFieldRepository sparseFieldRepository;
+    
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private Statistics statistics;
+    
+    @BeforeEach
+    void setUp() {
+        invoiceRepository.deleteAllInBatch();
+        List<Invoice> invoices = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            invoices.add(invoice(i));
+        }
+        invoiceRepository.saveAll(invoices);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+    
+    @Test
+    void writesOnlyTheRequestedFieldsInRequestOrder() throws Exception {
+        Page<SparseRow> page = sparseFieldRepository.findPage(
+            InvoiceRepository.SUMMARY_FIELDS.select("invoiceNumber, status,docDate"),
+            InvoiceRepository.FILTER_CONDITIONS, filters(Invoice.Country.GERMANY), FIRST_PAGE);
+        
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsBytes(PageResponse.of(page)));
+        JsonNode first = json.get("content").get(0);
+        
+        assertThat(json.get("totalElements").asLong()).isEqualTo(ROWS / 2);
+        assertThat(json.get("content")).hasSize(50);
+        assertThat(first.fieldNames()).toIterable().containsExactly("invoiceNumber", "status", "docDate");
+        assertThat(first.get("status").asText()).isEqualTo("PENDING");
+        assertThat(first.get("docDate").asText()).isEqualTo("2026-01-15");
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+    
+    @Test
+    void sparsePageIsAFractionOfTheSummaryPage() throws Exception {
+        Page<?> summaries = invoiceRepository.findSummariesWithFilters(
+            null, null, null, null, null, null, null, null, FIRST_PAGE);
+        Page<SparseRow> sparse = sparseFieldRepository.findPage(
+            InvoiceRepository.SUMMARY_FIELDS.select("id,invoiceNumber,status"),
+            InvoiceRepository.FILTER_CONDITIONS, filters(null), FIRST_PAGE);
+        
+        int summaryBytes = objectMapper.writeValueAsBytes(PageResponse.of(summaries)).length;
+        int sparseBytes = objectMapper.writeValueAsBytes(PageResponse.of(sparse)).length;
+        int springPageBytes = objectMapper.writeValueAsBytes(summaries).length;
+        log.info("50 invoices: Page {} bytes, PageResponse {} bytes, fields=id,invoiceNumber,status {} bytes",
+            springPageBytes, summaryBytes, sparseBytes);
+        
+        assertThat(sparseBytes).isLessThan(summaryBytes / 3);
+    }
+    
+    @Test
+    void envelopeKeepsTheSpringPageProperties() throws Exception {
+        Page<?> summaries = invoiceRepository.findSummariesWithFilters(
+            null, null, null, null, null, null, null, null, FIRST_PAGE);
+        
+        JsonNode envelope = objectMapper.readTree(objectMapper.writeValueAsBytes(PageResponse.of(summaries)));
+        JsonNode springPage = objectMapper.readTree(objectMapper.writeValueAsBytes(summaries));
+        
+        assertThat(envelope.fieldNames()).toIterable()
+            .containsExactlyInAnyOrderElementsOf(springPage::fieldNames);
+        assertThat(envelope.get("pageable").fieldNames()).toIterable()
+            .containsExactlyInAnyOrderElementsOf(springPage.get("pageable")::fieldNames);
+        assertThat(envelope.get("number")).isEqualTo(springPage.get("number"));
+        assertThat(envelope.get("sort")).isEqualTo(springPage.get("sort"));
+        assertThat(envelope.get("pageable")).isEqualTo(springPage.get("pageable"));
+    }
+    
+    @Test
+    void unknownFieldsAndSortsAreRejectedBeforeQuerying() {
+        assertThatThrownBy(() -> InvoiceRepository.SUMMARY_FIELDS.select("id,validationErrors"))
+            .isInstanceOf(ValidationException.class)
+            .hasMessageContaining("validationErrors");
+        assertThatThrownBy(() -> InvoiceRepository.SUMMARY_FIELDS.select(" , "))
+            .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> sparseFieldRepository.findPage(
+                InvoiceRepository.SUMMARY_FIELDS.select("id"), InvoiceRepository.FILTER_CONDITIONS, filters(null),
+                PageRequest.of(0, 10, Sort.by("filePath"))))
+            .isInstanceOf(ValidationException.class);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+    
+    private Map<String, Object> filters(Invoice.Country country) {
+        Map<String, Object> params = new HashMap<>();
+        for (String name : List.of("startDate", "endDate", "status", "documentType", "sender", "receiver", "uploadedBy")) {
+            params.put(name, null);
+        }
+        params.put("country", country);
+        return params;
+    }
+    
+    private Invoice invoice(int i) {
+        Invoice invoice = new Invoice();
+        invoice.setInvoiceNumber(String.format("INV-%06d", i));
+        invoice.setDocDate(LocalDate.of(2026, 1, 15));
+        invoice.setProDate(LocalDate.of(2026, 1, 16));
+        invoice.setSender("Sender GmbH");
+        invoice.setReceiver("Receiver AG");
+        invoice.setCountry(i % 2 == 0 ? Invoice.Country.GERMANY : Invoice.Country.FRANCE);
+        invoice.setStatus(Invoice.Status.PENDING);
+        invoice.setFileName("invoice-" + i + ".xml");
+        invoice.setFileSize(48_000L);
+        invoice.setFilePath("uploads/invoices/" + i + ".xml");
+        invoice.setValidationErrors("Line item tax rate does not match the reverse-charge rules.");
+        invoice.setUploadedBy("bench");
+        invoice.setCreatedAt(LocalDateTime.now());
+        return invoice;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.regnify.service;
+
+import com.regnify.dto.response.BatchGetItem;
+import com.regnify.exception.ValidationException;
+import com.regnify.model.Invoice;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchGetTest {
+    
+    @Test
+    void itemsFollowTheRequestOrderWithAStatusEach() {
+        List<Long> ids = List.of(7L, 3L, 99L, 5L, 3L);
+        // Repository order is arbitrary
+        List<Invoice> found = List.of(invoice(3L, false), invoice(5L, true), invoice(7L, false));
+        
+        List<BatchGetItem<String>> items = BatchGet.resolve(ids, found, Invoice::getId, Invoice::getDeleted,
+            Invoice::getInvoiceNumber);
+        
+        assertThat(items).extracting(BatchGetItem::getId).containsExactly(7L, 3L, 99L, 5L, 3L);
+        assertThat(items).extracting(BatchGetItem::getStatus).containsExactly(
+            BatchGetItem.Status.FOUND, BatchGetItem.Status.FOUND, BatchGetItem.Status.NOT_FOUND,
+            BatchGetItem.Status.DELETED, BatchGetItem.Status.FOUND);
+        assertThat(items).extracting(BatchGetItem::getData).containsExactly("INV-7", "INV-3", null, null, "INV-3");
+    }
+    
+    @Test
+    void queriesEachIdOnceAndEnforcesTheLimit() {
+        assertThat(BatchGet.distinctIds(List.of(4L, 2L, 4L, 1L), 3)).containsExactly(4L, 2L, 1L);
+        
+        List<Long> tooMany = new ArrayList<>();
+        for (long id = 1; id <= 4; id++) {
+            tooMany.add(id);
+        }
+        assertThatThrownBy(() -> BatchGet.distinctIds(tooMany, 3))
+            .isInstanceOf(ValidationException.class)
+            .hasMessageContaining("At most 3");
+        assertThatThrownBy(() -> BatchGet.distinctIds(List.of(), 3)).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> BatchGet.distinctIds(Arrays.asList(1L, null), 3)).isInstanceOf(ValidationException.class);
+    }
+    
+    private static Invoice invoice(Long id, boolean deleted) {
+        Invoice invoice = new Invoice();
+        invoice.setId(id);
+        invoice.setInvoiceNumber("INV-" + id);
+        invoice.setDeleted(deleted);
+        return invoice;
+    }
+}
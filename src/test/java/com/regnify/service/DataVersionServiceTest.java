@@ -0,0 +1,158 @@
+package com.regnify.service;
+
+import com.regnify.model.Invoice;
+import com.regnify.model.SystemUpdate;
+import com.regnify.repository.InvoiceRepository;
+import com.regnify.repository.SystemUpdateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:data_version;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(DataVersionService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DataVersionServiceTest {
+    
+    @Autowired
+    private DataVersionService dataVersionService;
+    
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+    
+    @Autowired
+    private SystemUpdateRepository systemUpdateRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @BeforeEach
+    void setUp() {
+        invoiceRepository.deleteAllInBatch();
+        new JdbcTemplate(dataSource).execute("CREATE TABLE IF NOT EXISTS data_versions (scope VARCHAR(40) PRIMARY KEY, "
+            + "version BIGINT NOT NULL, changed_at TIMESTAMP(6) NOT NULL)");
+    }
+    
+    @Test
+    void tagMovesOncePerTransaction() {
+        String before = etag(DataVersionService.Scope.INVOICES);
+        
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<Invoice> invoices = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                invoices.add(invoice("INV-" + i));
+            }
+            invoiceRepository.saveAllAndFlush(invoices);
+        });
+        
+        assertThat(counter(etag(DataVersionService.Scope.INVOICES))).isEqualTo(counter(before) + 1);
+    }
+    
+    @Test
+    void rollbackKeepsTheTag() {
+        String before = etag(DataVersionService.Scope.INVOICES);
+        
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            invoiceRepository.saveAndFlush(invoice("INV-1"));
+            status.setRollbackOnly();
+        });
+        
+        assertThat(etag(DataVersionService.Scope.INVOICES)).isEqualTo(before);
+    }
+    
+    @Test
+    void everyInstanceSeesTheSameTag() {
+        // A second node sharing the database
+        DataVersionService otherNode = new DataVersionService(dataSource);
+        String before = etag(DataVersionService.Scope.INVOICES);
+        assertThat(otherNode.validator(DataVersionService.Scope.INVOICES).etag()).isEqualTo(before);
+        
+        invoiceRepository.save(invoice("INV-1"));
+        
+        assertThat(otherNode.validator(DataVersionService.Scope.INVOICES).etag())
+            .isNotEqualTo(before)
+            .isEqualTo(etag(DataVersionService.Scope.INVOICES));
+    }
+    
+    @Test
+    void scopesMoveIndependently() {
+        String invoices = etag(DataVersionService.Scope.INVOICES);
+        String updates = etag(DataVersionService.Scope.SYSTEM_UPDATES);
+        
+        SystemUpdate update = new SystemUpdate();
+        update.setTitle("Release 2.4");
+        update.setDescription("Faster invoice lists");
+        update.setUpdateDate(LocalDate.of(2026, 10, 1));
+        update.setType(SystemUpdate.UpdateType.values()[0]);
+        update.setVersion("2.4.0");
+        update.setCreatedAt(LocalDateTime.now());
+        systemUpdateRepository.save(update);
+        
+        assertThat(etag(DataVersionService.Scope.SYSTEM_UPDATES)).isNotEqualTo(updates);
+        assertThat(etag(DataVersionService.Scope.INVOICES)).isEqualTo(invoices);
+    }
+    
+    @Test
+    void bulkUpdatesReportTheirOwnChanges() {
+        Invoice invoice = invoiceRepository.save(invoice("INV-1"));
+        String before = etag(DataVersionService.Scope.INVOICES);
+        
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            invoiceRepository.updateProviderResponse(List.of(invoice.getId()), Invoice.ProviderResponse.SUCCESS);
+            assertThat(etag(DataVersionService.Scope.INVOICES)).isEqualTo(before);
+            dataVersionService.changed(DataVersionService.Scope.INVOICES);
+        });
+        
+        assertThat(etag(DataVersionService.Scope.INVOICES)).isNotEqualTo(before);
+        // The row's own validator moves too
+        LocalDateTime updatedAt = invoiceRepository.findById(invoice.getId()).orElseThrow().getUpdatedAt();
+        assertThat(updatedAt).isNotNull().isNotEqualTo(invoice.getUpdatedAt());
+    }
+    
+    private String etag(DataVersionService.Scope scope) {
+        return dataVersionService.validator(scope).etag();
+    }
+    
+    private static long counter(String etag) {
+        return Long.parseLong(etag.substring(etag.lastIndexOf('.') + 1, etag.length() - 1));
+    }
+    
+    private Invoice invoice(String number) {
+        Invoice invoice = new Invoice();
+        invoice.setInvoiceNumber(number);
+        invoice.setDocDate(LocalDate.of(2026, 1, 15));
+        invoice.setProDate(LocalDate.of(2026, 1, 16));
+        invoice.setSender("Sender GmbH");
+        invoice.setReceiver("Receiver AG");
+        invoice.setCountry(Invoice.Country.GERMANY);
+        invoice.setUploadedBy("bench");
+        invoice.setCreatedAt(LocalDateTime.now());
+        return invoice;
+    }
+}
@@ -0,0 +1,173 @@
+package com.regnify.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.regnify.dto.request.ExportFormat;
+import com.regnify.dto.request.InvoiceFilterRequest;
+import com.regnify.exception.TooManyRequestsException;
+import com.regnify.model.AuditLog;
+import com.regnify.model.Invoice;
+import com.regnify.repository.AuditLogRepository;
+import com.regnify.repository.InvoiceRepository;
+import com.regnify.storage.AuditSegmentWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExportServiceTest {
+    
+    private static final int ROWS = 2 * ExportService.CHUNK_SIZE + 500;
+    
+    private static final LocalDateTime ARCHIVED = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime RECENT = LocalDateTime.of(2024, 3, 1, 0, 0);
+    
+    @TempDir
+    Path coldDir;
+    
+    private final InvoiceRepository invoiceRepository = mock(InvoiceRepository.class);
+    private final AuditLogRepository auditLogRepository = mock(AuditLogRepository.class);
+    private final AuditColdStorageService coldStorageService = new AuditColdStorageService();
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final List<Invoice> invoices = new ArrayList<>();
+    private ExportService service;
+    
+    @BeforeEach
+    void setUp() {
+        for (long id = 1; id <= ROWS; id++) {
+            Invoice invoice = new Invoice();
+            invoice.setId(id);
+            invoice.setInvoiceNumber("INV-" + id);
+            invoices.add(invoice);
+        }
+        when(invoiceRepository.findExportChunk(any(), any(), any(), any(), any(), any(), any(), any(), anyLong(), any()))
+            .thenAnswer(call -> {
+                long afterId = call.getArgument(8);
+                Pageable chunk = call.getArgument(9);
+                return invoices.stream()
+                    .filter(invoice -> invoice.getId() > afterId)
+                    .limit(chunk.getPageSize())
+                    .toList();
+            });
+        service = exportService(1);
+    }
+    
+    @Test
+    void readsKeysetChunksEachInItsOwnReadOnlyTransaction() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        long rows = service.exportInvoices(new InvoiceFilterRequest(), ExportFormat.CSV, out);
+        
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(rows).isEqualTo(ROWS);
+        assertThat(lines).hasSize(ROWS + 1);
+        assertThat(lines[ROWS]).startsWith(ROWS + ",INV-" + ROWS + ",");
+        verify(invoiceRepository).findExportChunk(any(), any(), any(), any(), any(), any(), any(), any(), eq(0L), any());
+        verify(invoiceRepository).findExportChunk(any(), any(), any(), any(), any(), any(), any(), any(),
+            eq((long) ExportService.CHUNK_SIZE), any());
+        verify(transactionManager, times(3)).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(transactionManager, times(3)).commit(any());
+    }
+    
+    @Test
+    void turnsAwayExportsBeyondTheLimitUntilOneFinishes() throws Exception {
+        StreamingResponseBody running = service.stream(
+            out -> service.exportInvoices(new InvoiceFilterRequest(), ExportFormat.CSV, out), false);
+        
+        assertThatThrownBy(() -> service.stream(out -> 0, false))
+            .isInstanceOf(TooManyRequestsException.class);
+        
+        running.writeTo(new ByteArrayOutputStream());
+        assertThat(service.stream(out -> 0, false)).isNotNull();
+    }
+    
+    @Test
+    void prefixesTextThatSpreadsheetsWouldRunAsAFormula() throws Exception {
+        invoices.clear();
+        String[] senders = {"=HYPERLINK(\"http://x\",\"y\")", "+1+1", "-2+3", "@SUM(A1)", "\tTab", "\rCR", "Plain GmbH"};
+        for (int i = 0; i < senders.length; i++) {
+            Invoice invoice = new Invoice();
+            invoice.setId(i + 1L);
+            invoice.setSender(senders[i]);
+            invoice.setValidationScore(-5);
+            invoices.add(invoice);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        service.exportInvoices(new InvoiceFilterRequest(), ExportFormat.CSV, out);
+        
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines[1]).contains(",\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\",");
+        assertThat(lines[2]).contains(",'+1+1,");
+        assertThat(lines[3]).contains(",'-2+3,");
+        assertThat(lines[4]).contains(",'@SUM(A1),");
+        assertThat(lines[5]).contains(",'\tTab,");
+        assertThat(lines[6]).contains(",\"'\rCR\",");
+        assertThat(lines[7]).contains(",Plain GmbH,");
+        // Numbers are not text, a negative score stays a number
+        assertThat(lines[7]).contains(",-5,");
+    }
+    
+    @Test
+    void auditExportIncludesArchivedRowsBeforeHotOnes() throws Exception {
+        ReflectionTestUtils.setField(coldStorageService, "coldDir", coldDir.toString());
+        ReflectionTestUtils.setField(coldStorageService, "segmentRows", 10);
+        try (AuditSegmentWriter writer = coldStorageService.openWriter("audit_logs_p202401")) {
+            for (int i = 0; i < 25; i++) {
+                writer.append(auditLog(1000L + i, ARCHIVED.plusHours(i)));
+            }
+            coldStorageService.register(writer.finish());
+        }
+        List<AuditLog> hot = List.of(auditLog(5000L, RECENT), auditLog(5001L, RECENT.plusHours(1)));
+        when(auditLogRepository.findExportChunk(any(), any(), any(), any(), any(), anyLong(), any()))
+            .thenAnswer(call -> {
+                long afterId = call.getArgument(5);
+                return hot.stream().filter(row -> row.getId() > afterId).toList();
+            });
+        
+        ByteArrayOutputStream all = new ByteArrayOutputStream();
+        long rows = service.exportAuditLogs(null, null, null, null, null, ExportFormat.CSV, all);
+        
+        String[] lines = all.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(rows).isEqualTo(27);
+        assertThat(lines[1]).startsWith("1000,");
+        assertThat(lines[25]).startsWith("1024,");
+        assertThat(lines[26]).startsWith("5000,");
+        
+        ByteArrayOutputStream archivedOnly = new ByteArrayOutputStream();
+        assertThat(service.exportAuditLogs(ARCHIVED, ARCHIVED.plusHours(4), null, null, null,
+            ExportFormat.CSV, archivedOnly)).isEqualTo(5);
+        verify(auditLogRepository, times(1)).findExportChunk(any(), any(), any(), any(), any(), anyLong(), any());
+    }
+    
+    private static AuditLog auditLog(long id, LocalDateTime performedAt) {
+        return new AuditLog(id, "UPDATE", "INVOICE", id, "old", "new", "alice",
+            performedAt, "127.0.0.1", "JUnit", "SUCCESS", null);
+    }
+    
+    private ExportService exportService(int maxConcurrent) {
+        return new ExportService(invoiceRepository, auditLogRepository, coldStorageService,
+            new ObjectMapper().findAndRegisterModules(), transactionManager, maxConcurrent);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.regnify.service;
+
+import com.regnify.model.Invoice;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileStorageServiceTest {
+    
+    private final FileStorageService fileStorageService = new FileStorageService();
+    
+    @TempDir
+    Path directory;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(fileStorageService, "compressionEnabled", true);
+        ReflectionTestUtils.setField(fileStorageService, "compressionMinSize", 1024L);
+    }
+    
+    @Test
+    void textFormatsAreCompressed() {
+        assertThat(fileStorageService.codecFor("application/xml", "a.xml", 50_000)).isEqualTo(Invoice.FileCodec.GZIP);
+        assertThat(fileStorageService.codecFor("text/csv; charset=UTF-8", "a.csv", 50_000)).isEqualTo(Invoice.FileCodec.GZIP);
+        assertThat(fileStorageService.codecFor("application/vnd.peppol+xml", "a.bin", 50_000)).isEqualTo(Invoice.FileCodec.GZIP);
+        // Browsers send octet-stream for types they don't know, the extension decides
+        assertThat(fileStorageService.codecFor("application/octet-stream", "a.json", 50_000)).isEqualTo(Invoice.FileCodec.GZIP);
+        assertThat(fileStorageService.codecFor(null, "a.xml", 50_000)).isEqualTo(Invoice.FileCodec.GZIP);
+        
+        assertThat(fileStorageService.codecFor("application/pdf", "a.pdf", 50_000)).isEqualTo(Invoice.FileCodec.NONE);
+        assertThat(fileStorageService.codecFor("application/pdf", "a.xml", 50_000)).isEqualTo(Invoice.FileCodec.NONE);
+        assertThat(fileStorageService.codecFor("application/xml", "a.xml", 100)).isEqualTo(Invoice.FileCodec.NONE);
+    }
+    
+    @Test
+    void storedFilesReadBackAsUploaded() throws Exception {
+        byte[] content = "<invoice><line amount=\"10.00\"/></invoice>\n".repeat(5000).getBytes(StandardCharsets.UTF_8);
+        
+        Path compressed = fileStorageService.storedPath(directory.resolve("a.xml"), Invoice.FileCodec.GZIP);
+        long compressedSize = fileStorageService.writeStored(new ByteArrayInputStream(content), compressed, Invoice.FileCodec.GZIP);
+        Path plain = fileStorageService.storedPath(directory.resolve("b.xml"), Invoice.FileCodec.NONE);
+        long plainSize = fileStorageService.writeStored(new ByteArrayInputStream(content), plain, Invoice.FileCodec.NONE);
+        
+        assertThat(compressed.getFileName().toString()).isEqualTo("a.xml.gz");
+        assertThat(compressedSize).isEqualTo(Files.size(compressed)).isLessThan(content.length / 10);
+        assertThat(plainSize).isEqualTo(content.length);
+        assertThat(fileStorageService.readStored(compressed, Invoice.FileCodec.GZIP)).isEqualTo(content);
+        assertThat(fileStorageService.readStored(plain, Invoice.FileCodec.NONE)).isEqualTo(content);
+    }
+}
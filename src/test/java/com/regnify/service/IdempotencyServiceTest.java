@@ -0,0 +1,180 @@
+package com.regnify.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.regnify.dto.response.InvoiceResponse;
+import com.regnify.exception.BusinessException;
+import com.regnify.exception.ConflictException;
+import com.regnify.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:idempotency;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({IdempotencyService.class, FileStorageService.class, IdempotencyServiceTest.Beans.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdempotencyServiceTest {
+    
+    private static final String HASH = IdempotencyService.fingerprint("invoice-upload", "INV-1");
+    
+    @Autowired
+    private IdempotencyService idempotencyService;
+    
+    @Autowired
+    private IdempotencyRecordRepository repository;
+    
+    @Autowired
+    private FileStorageService fileStorageService;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private final AtomicInteger executions = new AtomicInteger();
+    
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        executions.set(0);
+    }
+    
+    @Test
+    void retryReplaysStoredResponseWithoutRunningAgain() throws IOException {
+        IdempotencyService.Result<InvoiceResponse> first = upload("key-1", HASH);
+        IdempotencyService.Result<InvoiceResponse> retry = upload("key-1", HASH);
+        
+        assertThat(executions).hasValue(1);
+        assertThat(first.replayed()).isFalse();
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.response().getId()).isEqualTo(first.response().getId());
+        assertThat(retry.response().getInvoiceNumber()).isEqualTo("INV-1");
+    }
+    
+    @Test
+    void keyReusedForDifferentRequestIsRefused() throws IOException {
+        upload("key-1", HASH);
+        
+        assertThatThrownBy(() -> upload("key-1", IdempotencyService.fingerprint("invoice-upload", "INV-2")))
+            .isInstanceOf(BusinessException.class);
+        assertThat(executions).hasValue(1);
+    }
+    
+    @Test
+    void concurrentRetryConflictsInsteadOfRepeatingWork() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<IdempotencyService.Result<InvoiceResponse>> original = CompletableFuture.supplyAsync(() -> {
+            try {
+                return idempotencyService.execute("key-1", "alice", HASH, InvoiceResponse.class, () -> {
+                    started.countDown();
+                    awaitQuietly(release);
+                    return response(executions.incrementAndGet());
+                });
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        
+        assertThatThrownBy(() -> upload("key-1", HASH)).isInstanceOf(ConflictException.class);
+        
+        release.countDown();
+        assertThat(original.get(5, TimeUnit.SECONDS).replayed()).isFalse();
+        assertThat(upload("key-1", HASH).replayed()).isTrue();
+        assertThat(executions).hasValue(1);
+    }
+    
+    @Test
+    void failureReleasesKeyAndRemovesOrphanedFile(@TempDir Path dir) throws IOException {
+        Path stored = dir.resolve("upload.xml");
+        
+        assertThatThrownBy(() -> idempotencyService.execute("key-1", "alice", HASH, InvoiceResponse.class, () -> {
+            fileStorageService.deleteOnRollback(stored.toString());
+            Files.writeString(stored, "<invoice/>");
+            throw new ConflictException("Invoice number already exists");
+        })).isInstanceOf(ConflictException.class);
+        
+        assertThat(stored).doesNotExist();
+        assertThat(repository.count()).isZero();
+        assertThat(upload("key-1", HASH).replayed()).isFalse();
+    }
+    
+    @Test
+    void committedFileIsKept(@TempDir Path dir) throws IOException {
+        Path stored = dir.resolve("upload.xml");
+        
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            fileStorageService.deleteOnRollback(stored.toString());
+            try {
+                Files.writeString(stored, "<invoice/>");
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        
+        assertThat(stored).exists();
+    }
+    
+    private IdempotencyService.Result<InvoiceResponse> upload(String key, String hash) throws IOException {
+        return idempotencyService.execute(key, "alice", hash, InvoiceResponse.class,
+            () -> response(executions.incrementAndGet()));
+    }
+    
+    private static InvoiceResponse response(long id) {
+        InvoiceResponse response = new InvoiceResponse();
+        response.setId(id);
+        response.setInvoiceNumber("INV-1");
+        return response;
+    }
+    
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    @TestConfiguration
+    static class Beans {
+        
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().findAndRegisterModules();
+        }
+        
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
\ No newline at end of file
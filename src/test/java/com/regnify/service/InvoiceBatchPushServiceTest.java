@@ -0,0 +1,341 @@
+package com.regnify.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.regnify.dto.request.InvoiceBatchPushRequest;
+import com.regnify.dto.response.BatchPushItemResult;
+import com.regnify.dto.response.BatchPushResponse;
+import com.regnify.dto.response.InvoiceResponse;
+import com.regnify.integration.OAuth2TokenManager;
+import com.regnify.integration.ProviderHttpClient;
+import com.regnify.model.IntegrationConfig;
+import com.regnify.model.Invoice;
+import com.regnify.repository.IntegrationConfigRepository;
+import com.regnify.repository.InvoicePushStatusRepository;
+import com.regnify.repository.InvoiceRepository;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InvoiceBatchPushServiceTest {
+    
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    
+    private HttpServer server;
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private final List<String> encodings = new CopyOnWriteArrayList<>();
+    private final List<JsonNode> receivedItems = new CopyOnWriteArrayList<>();
+    private final Map<String, List<String>> itemIdsByEndpoint = new ConcurrentHashMap<>();
+    private final Set<String> rejectedItemIds = ConcurrentHashMap.newKeySet();
+    private volatile int responseStatus = 200;
+    private volatile boolean emptyResponse;
+    
+    private final Map<Long, Invoice> invoices = new ConcurrentHashMap<>();
+    private final Map<Invoice.ProviderResponse, List<Long>> updates = new EnumMap<>(Invoice.ProviderResponse.class);
+    private final Map<List<Long>, Invoice.ProviderResponse> pushStatus = new ConcurrentHashMap<>();
+    private IntegrationConfig config;
+    private InvoiceBatchPushService service;
+    
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/send", this::handleBatch);
+        server.createContext("/other", this::handleBatch);
+        server.start();
+        
+        config = new IntegrationConfig();
+        config.setId(7L);
+        config.setServiceProviderName("Provider");
+        config.setSendEndpointUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/send");
+        config.setAuthType(IntegrationConfig.AuthType.API_KEY);
+        config.setApiKey("key");
+        config.setIsActive(true);
+        config.setBatchMaxItems(3);
+        config.setBatchCompression(IntegrationConfig.BatchCompression.GZIP);
+        
+        IntegrationConfigRepository configRepository = mock(IntegrationConfigRepository.class);
+        when(configRepository.findById(7L)).thenReturn(Optional.of(config));
+        
+        InvoiceRepository invoiceRepository = mock(InvoiceRepository.class);
+        when(invoiceRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Invoice> found = new ArrayList<>();
+            ((Iterable<Long>) invocation.getArgument(0)).forEach(id -> {
+                if (invoices.containsKey(id)) {
+                    found.add(invoices.get(id));
+                }
+            });
+            return found;
+        });
+        doAnswer(invocation -> {
+            synchronized (updates) {
+                updates.computeIfAbsent(invocation.getArgument(1), key -> new ArrayList<>())
+                    .addAll((Collection<Long>) invocation.getArgument(0));
+            }
+            return 0;
+        }).when(invoiceRepository).updateProviderResponse(anyCollection(), any());
+        // Every stored invoice counts as complete
+        when(invoiceRepository.findIdsAwaitingPush(anyLong(), anyCollection(), anyLong(), any())).thenAnswer(invocation -> {
+            Long configId = invocation.getArgument(0);
+            Collection<Invoice.ProviderResponse> awaiting = invocation.getArgument(1);
+            Long afterId = invocation.getArgument(2);
+            Pageable pageable = invocation.getArgument(3);
+            return invoices.keySet().stream().sorted()
+                .filter(id -> id > afterId)
+                .filter(id -> {
+                    Invoice.ProviderResponse response = pushStatus.get(List.of(configId, id));
+                    return response == null || awaiting.contains(response);
+                })
+                .limit(pageable.getPageSize())
+                .toList();
+        });
+        
+        InvoicePushStatusRepository pushStatusRepository = mock(InvoicePushStatusRepository.class);
+        doAnswer(invocation -> {
+            ((Collection<Long>) invocation.getArgument(1))
+                .forEach(id -> pushStatus.remove(List.of((Long) invocation.getArgument(0), id)));
+            return 0;
+        }).when(pushStatusRepository).deleteForInvoices(anyLong(), anyCollection());
+        doAnswer(invocation -> {
+            ((Collection<Long>) invocation.getArgument(1)).stream().filter(invoices::containsKey)
+                .forEach(id -> pushStatus.put(List.of((Long) invocation.getArgument(0), id), invocation.getArgument(2)));
+            return 0;
+        }).when(pushStatusRepository).insertForInvoices(anyLong(), anyCollection(), any());
+        
+        InvoiceService invoiceService = mock(InvoiceService.class);
+        when(invoiceService.mapToInvoiceResponse(any())).thenAnswer(invocation -> {
+            Invoice invoice = invocation.getArgument(0);
+            InvoiceResponse response = new InvoiceResponse();
+            response.setId(invoice.getId());
+            response.setInvoiceNumber(invoice.getInvoiceNumber());
+            return response;
+        });
+        
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        
+        ProviderHttpClient client = new ProviderHttpClient(1000, new SimpleMeterRegistry(), mock(OAuth2TokenManager.class));
+        ReflectionTestUtils.setField(client, "defaultRequestTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(client, "defaultMaxConcurrentRequests", 4);
+        ReflectionTestUtils.setField(client, "queueTimeoutMs", 30000L);
+        
+        service = new InvoiceBatchPushService(configRepository, invoiceRepository, pushStatusRepository, invoiceService,
+            mock(AuditService.class), client, objectMapper, new SimpleMeterRegistry(), transactionManager,
+            mock(DataVersionService.class), new FileStorageService());
+        ReflectionTestUtils.setField(service, "defaultMaxItems", 500);
+        ReflectionTestUtils.setField(service, "defaultMaxBytes", 10_485_760L);
+        ReflectionTestUtils.setField(service, "defaultCompression", IntegrationConfig.BatchCompression.GZIP);
+        ReflectionTestUtils.setField(service, "maxInFlight", 2);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+    
+    @Test
+    void splitsByItemCountAndAppliesPerItemResults(@TempDir Path dir) throws IOException {
+        LongStream.rangeClosed(1, 8).forEach(this::addInvoice);
+        Path attachment = Files.writeString(dir.resolve("invoice-1.xml"), "<invoice/>".repeat(100));
+        invoices.get(1L).setFilePath(attachment.toString());
+        rejectedItemIds.add("5");
+        
+        BatchPushResponse response = service.pushInvoices(7L, request(LongStream.rangeClosed(1, 8).boxed().toList()), "admin");
+        
+        assertThat(batchSizes).containsExactlyInAnyOrder(3, 3, 2);
+        assertThat(encodings).containsOnly("gzip");
+        assertThat(response.getBatches()).isEqualTo(3);
+        assertThat(response.getAccepted()).isEqualTo(7);
+        assertThat(response.getRejected()).isEqualTo(1);
+        assertThat(response.getTransferredBytes()).isLessThan(response.getPayloadBytes());
+        assertThat(outcomes(response).get(5L)).isEqualTo(BatchPushItemResult.Outcome.REJECTED);
+        assertThat(updates.get(Invoice.ProviderResponse.SUCCESS)).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 6L, 7L, 8L);
+        assertThat(updates.get(Invoice.ProviderResponse.FAILED)).containsExactly(5L);
+        
+        JsonNode first = receivedItems.stream()
+            .filter(item -> item.path("itemId").asText().equals("1"))
+            .findFirst().orElseThrow();
+        assertThat(Base64.getDecoder().decode(first.path("attachment").path("data").asText()))
+            .isEqualTo(Files.readAllBytes(attachment));
+        assertThat(first.path("invoice").path("invoiceNumber").asText()).isEqualTo("INV-1");
+    }
+    
+    @Test
+    void splitsByUncompressedBytesAndRejectsOversizedItems() {
+        config.setBatchMaxItems(100);
+        config.setBatchMaxBytes(400L);
+        LongStream.rangeClosed(1, 4).forEach(this::addInvoice);
+        invoices.get(3L).setInvoiceNumber("INV-" + "X".repeat(500));
+        
+        BatchPushResponse response = service.pushInvoices(7L, request(List.of(1L, 2L, 3L, 4L, 99L)), "admin");
+        
+        assertThat(receivedItems).extracting(item -> item.path("itemId").asText())
+            .containsExactlyInAnyOrder("1", "2", "4");
+        assertThat(batchSizes).allMatch(size -> size < 3);
+        assertThat(response.getAccepted()).isEqualTo(3);
+        assertThat(response.getRejected()).isEqualTo(2);
+        assertThat(outcomes(response).get(3L)).isEqualTo(BatchPushItemResult.Outcome.REJECTED);
+        assertThat(outcomes(response).get(99L)).isEqualTo(BatchPushItemResult.Outcome.REJECTED);
+    }
+    
+    @Test
+    void emptySuccessBodyAcknowledgesWholeUncompressedBatch() {
+        config.setBatchCompression(IntegrationConfig.BatchCompression.NONE);
+        emptyResponse = true;
+        LongStream.rangeClosed(1, 4).forEach(this::addInvoice);
+        
+        BatchPushResponse response = service.pushInvoices(7L, request(List.of(1L, 2L, 3L, 4L)), "admin");
+        
+        assertThat(encodings).containsOnly("identity");
+        assertThat(response.getAccepted()).isEqualTo(4);
+        assertThat(response.getTransferredBytes()).isEqualTo(response.getPayloadBytes());
+    }
+    
+    @Test
+    void failedRequestMarksWholeBatchForRetry() {
+        responseStatus = 503;
+        LongStream.rangeClosed(1, 4).forEach(this::addInvoice);
+        
+        BatchPushResponse response = service.pushInvoices(7L, request(List.of(1L, 2L, 3L, 4L)), "admin");
+        
+        assertThat(response.getFailed()).isEqualTo(4);
+        assertThat(updates.get(Invoice.ProviderResponse.RETRY)).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+        assertThat(updates).doesNotContainKey(Invoice.ProviderResponse.SUCCESS);
+    }
+    
+    @Test
+    void scheduledPushDeliversToEveryProviderSeparately() {
+        LongStream.rangeClosed(1, 4).forEach(this::addInvoice);
+        IntegrationConfig other = otherProvider();
+        
+        BatchPushResponse first = service.pushAwaiting(config);
+        responseStatus = 503;
+        BatchPushResponse second = service.pushAwaiting(other);
+        
+        assertThat(first.getAccepted()).isEqualTo(4);
+        assertThat(second.getFailed()).isEqualTo(4);
+        assertThat(itemIdsByEndpoint.get("/send")).containsExactlyInAnyOrder("1", "2", "3", "4");
+        assertThat(itemIdsByEndpoint.get("/other")).containsExactlyInAnyOrder("1", "2", "3", "4");
+        assertThat(pushStatus.get(List.of(7L, 1L))).isEqualTo(Invoice.ProviderResponse.SUCCESS);
+        assertThat(pushStatus.get(List.of(8L, 1L))).isEqualTo(Invoice.ProviderResponse.RETRY);
+        
+        // Settled at the first provider, still awaiting a retry at the second
+        itemIdsByEndpoint.clear();
+        responseStatus = 200;
+        addInvoice(5);
+        service.pushAwaiting(config);
+        service.pushAwaiting(other);
+        
+        assertThat(itemIdsByEndpoint.get("/send")).containsExactly("5");
+        assertThat(itemIdsByEndpoint.get("/other")).containsExactlyInAnyOrder("1", "2", "3", "4", "5");
+        assertThat(pushStatus).hasSize(10);
+        assertThat(pushStatus.values()).containsOnly(Invoice.ProviderResponse.SUCCESS);
+    }
+    
+    private IntegrationConfig otherProvider() {
+        IntegrationConfig other = new IntegrationConfig();
+        other.setId(8L);
+        other.setServiceProviderName("Other provider");
+        other.setSendEndpointUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/other");
+        other.setAuthType(IntegrationConfig.AuthType.API_KEY);
+        other.setApiKey("other-key");
+        other.setIsActive(true);
+        other.setBatchCompression(IntegrationConfig.BatchCompression.NONE);
+        return other;
+    }
+    
+    private void handleBatch(HttpExchange exchange) throws IOException {
+        String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+        encodings.add(encoding == null ? "identity" : encoding);
+        InputStream body = "gzip".equals(encoding)
+            ? new GZIPInputStream(exchange.getRequestBody())
+            : exchange.getRequestBody();
+        
+        List<JsonNode> items = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                items.add(objectMapper.readTree(line));
+            }
+        }
+        batchSizes.add(items.size());
+        receivedItems.addAll(items);
+        items.forEach(item -> itemIdsByEndpoint
+            .computeIfAbsent(exchange.getHttpContext().getPath(), key -> new CopyOnWriteArrayList<>())
+            .add(item.path("itemId").asText()));
+        
+        String response = "";
+        if (!emptyResponse && responseStatus == 200) {
+            response = objectMapper.writeValueAsString(items.stream().map(item -> {
+                String itemId = item.path("itemId").asText();
+                return Map.of("itemId", itemId, "status", rejectedItemIds.contains(itemId) ? "REJECTED" : "ACCEPTED");
+            }).toList());
+        }
+        byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(responseStatus, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+    
+    private void addInvoice(long id) {
+        Invoice invoice = new Invoice();
+        invoice.setId(id);
+        invoice.setInvoiceNumber("INV-" + id);
+        invoice.setDeleted(false);
+        invoices.put(id, invoice);
+    }
+    
+    private InvoiceBatchPushRequest request(List<Long> ids) {
+        InvoiceBatchPushRequest request = new InvoiceBatchPushRequest();
+        request.setInvoiceIds(ids);
+        return request;
+    }
+    
+    private Map<Long, BatchPushItemResult.Outcome> outcomes(BatchPushResponse response) {
+        return response.getResults().stream()
+            .collect(Collectors.toMap(BatchPushItemResult::getInvoiceId, BatchPushItemResult::getOutcome));
+    }
+}
\ No newline at end of file
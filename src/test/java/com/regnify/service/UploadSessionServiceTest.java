@@ -0,0 +1,207 @@
+package com.regnify.service;
+
+import com.regnify.exception.BusinessException;
+import com.regnify.exception.ConflictException;
+import com.regnify.model.Invoice;
+import com.regnify.model.UploadSession;
+import com.regnify.repository.UploadSessionRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:upload_session;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "spring.jpa.show-sql=false",
+    "app.upload.session.max-chunk-mb=1"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({UploadSessionService.class, FileStorageService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UploadSessionServiceTest {
+    
+    private static final Path DIR;
+    
+    static {
+        try {
+            DIR = Files.createTempDirectory("upload-sessions");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    @DynamicPropertySource
+    static void sessionDir(DynamicPropertyRegistry registry) {
+        registry.add("app.upload.session.dir", () -> DIR.resolve("partial").toString());
+    }
+    
+    @Autowired
+    private UploadSessionService uploadSessionService;
+    
+    @Autowired
+    private UploadSessionRepository uploadSessionRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Test
+    void chunksAreAssembledAtTheirOffsetsAndBoundOnce() throws Exception {
+        byte[] file = randomBytes(2_500_000);
+        UploadSession session = uploadSessionService.create("large.xml", "application/xml", file.length, "alice");
+        
+        long offset = 0;
+        while (offset < file.length) {
+            byte[] chunk = Arrays.copyOfRange(file, (int) offset, (int) Math.min(file.length, offset + 1024 * 1024));
+            offset = append(session.getId(), offset, chunk).getUploadOffset();
+        }
+        // A retry of the last chunk, after its response was lost, asks for the current offset
+        assertThatThrownBy(() -> append(session.getId(), 0, Arrays.copyOf(file, 10)))
+            .isInstanceOf(ConflictException.class)
+            .hasMessageContaining("current offset " + file.length);
+        assertThat(uploadSessionService.getSession(session.getId(), "alice").isComplete()).isTrue();
+        
+        Path target = DIR.resolve("bound.xml");
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+            status -> claim(session.getId(), target, Invoice.FileCodec.NONE));
+        
+        assertThat(Files.readAllBytes(target)).isEqualTo(file);
+        assertThat(uploadSessionRepository.existsById(session.getId())).isFalse();
+        assertThat(uploadSessionService.partPath(session.getId())).doesNotExist();
+    }
+    
+    @Test
+    void badChecksumOrOversizedChunkLeavesTheOffset() throws Exception {
+        byte[] file = randomBytes(3_000_000);
+        UploadSession session = uploadSessionService.create("large.pdf", null, file.length, "alice");
+        byte[] chunk = Arrays.copyOf(file, 1000);
+        
+        assertThatThrownBy(() -> uploadSessionService.append(session.getId(), "alice", 0,
+                checksum(Arrays.copyOf(file, 999)), new ByteArrayInputStream(chunk)))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("does not match");
+        // Larger than max-chunk-mb
+        assertThatThrownBy(() -> append(session.getId(), 0, Arrays.copyOf(file, 1024 * 1024 + 1)))
+            .isInstanceOf(BusinessException.class);
+        assertThat(uploadSessionService.getSession(session.getId(), "alice").getUploadOffset()).isZero();
+        
+        assertThat(append(session.getId(), 0, chunk).getUploadOffset()).isEqualTo(1000);
+        // Other users cannot see the session
+        assertThatThrownBy(() -> uploadSessionService.getSession(session.getId(), "bob"))
+            .isInstanceOf(EntityNotFoundException.class);
+    }
+    
+    @Test
+    void rollbackReturnsTheFileToTheSession() throws Exception {
+        byte[] file = randomBytes(4096);
+        UploadSession session = uploadSessionService.create("small.csv", "text/csv", file.length, "alice");
+        append(session.getId(), 0, file);
+        
+        Path target = DIR.resolve("rolled-back.csv");
+        assertThatThrownBy(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            claim(session.getId(), target, Invoice.FileCodec.NONE);
+            throw new IllegalStateException("invoice insert failed");
+        })).isInstanceOf(IllegalStateException.class);
+        
+        assertThat(target).doesNotExist();
+        assertThat(Files.readAllBytes(uploadSessionService.partPath(session.getId()))).isEqualTo(file);
+        assertThat(uploadSessionService.getSession(session.getId(), "alice").isComplete()).isTrue();
+    }
+    
+    @Test
+    void compressedClaimKeepsThePartUntilCommit() throws Exception {
+        byte[] file = "<invoice><line>42</line></invoice>\n".repeat(2000).getBytes(StandardCharsets.UTF_8);
+        UploadSession session = uploadSessionService.create("text.xml", "application/xml", file.length, "alice");
+        append(session.getId(), 0, file);
+        Path part = uploadSessionService.partPath(session.getId());
+        
+        Path rolledBack = DIR.resolve("rolled-back.xml.gz");
+        assertThatThrownBy(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            claim(session.getId(), rolledBack, Invoice.FileCodec.GZIP);
+            throw new IllegalStateException("invoice insert failed");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(rolledBack).doesNotExist();
+        assertThat(part).exists();
+        
+        Path target = DIR.resolve("compressed.xml.gz");
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+            status -> claim(session.getId(), target, Invoice.FileCodec.GZIP));
+        
+        assertThat(part).doesNotExist();
+        assertThat(Files.size(target)).isLessThan(file.length / 10);
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(target))) {
+            assertThat(in.readAllBytes()).isEqualTo(file);
+        }
+    }
+    
+    @Test
+    void expiredSessionsAndOrphanedPartsArePurged() throws Exception {
+        UploadSession expired = uploadSessionService.create("old.xml", null, 100, "alice");
+        expired.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        uploadSessionRepository.save(expired);
+        UploadSession active = uploadSessionService.create("new.xml", null, 100, "alice");
+        
+        Path orphan = uploadSessionService.partPath("no-such-session");
+        Files.write(orphan, new byte[10]);
+        Files.setLastModifiedTime(orphan, FileTime.fromMillis(System.currentTimeMillis() - 25 * 3600 * 1000L));
+        
+        uploadSessionService.purgeExpired();
+        
+        assertThat(uploadSessionRepository.existsById(expired.getId())).isFalse();
+        assertThat(uploadSessionService.partPath(expired.getId())).doesNotExist();
+        assertThat(orphan).doesNotExist();
+        assertThat(uploadSessionRepository.existsById(active.getId())).isTrue();
+        assertThat(uploadSessionService.partPath(active.getId())).exists();
+    }
+    
+    private UploadSession append(String id, long offset, byte[] chunk) throws Exception {
+        return uploadSessionService.append(id, "alice", offset, checksum(chunk), new ByteArrayInputStream(chunk));
+    }
+    
+    private void claim(String id, Path target, Invoice.FileCodec codec) {
+        try {
+            uploadSessionService.claim(id, "alice", target, codec);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static String checksum(byte[] chunk) throws Exception {
+        return "sha256 " + Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(chunk));
+    }
+    
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+}
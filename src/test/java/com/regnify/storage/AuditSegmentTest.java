@@ -0,0 +1,63 @@
+package com.regnify.storage;
+
+import com.regnify.model.AuditLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditSegmentTest {
+    
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    void writesRowsIntoSegmentsAndReadsThemBack() throws Exception {
+        List<Path> files = writeRows(25, 10);
+        
+        assertThat(files).hasSize(3);
+        AuditSegment first = AuditSegment.open(files.get(0));
+        assertThat(first.getRowCount()).isEqualTo(10);
+        assertThat(first.getMinPerformedAt()).isEqualTo(START);
+        assertThat(first.getMaxPerformedAt()).isEqualTo(START.plusHours(9));
+        
+        List<AuditLog> rows = first.readRows(new int[] {0, 3});
+        assertThat(rows).extracting(AuditLog::getId).containsExactly(1000L, 1003L);
+        assertThat(rows.get(1).getPerformedBy()).isEqualTo("bob");
+        assertThat(rows.get(1).getEntityId()).isNull();
+        assertThat(rows.get(1).getOldValue()).isEqualTo("old-3");
+        assertThat(rows.get(1).getErrorMessage()).isNull();
+        assertThat(rows.get(1).getPerformedAt()).isEqualTo(START.plusHours(3));
+    }
+    
+    @Test
+    void matchesOnTimeRangeAndDictionaryColumns() throws Exception {
+        AuditSegment segment = AuditSegment.open(writeRows(12, 100).get(0));
+        
+        Integer bob = segment.dictionaryCode(AuditSegment.Column.PERFORMED_BY, "bob");
+        assertThat(segment.dictionaryCode(AuditSegment.Column.PERFORMED_BY, "mallory")).isNull();
+        
+        int[] positions = segment.match(START.plusHours(2), START.plusHours(8),
+            Map.of(AuditSegment.Column.PERFORMED_BY, bob));
+        assertThat(positions).containsExactly(3, 5, 7);
+        assertThat(segment.overlaps(START.plusDays(1), null)).isFalse();
+    }
+    
+    private List<Path> writeRows(int count, int rowsPerSegment) throws Exception {
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(directory, "audit_logs_p202401", rowsPerSegment)) {
+            for (int i = 0; i < count; i++) {
+                writer.append(new AuditLog(1000L + i, i % 2 == 0 ? "CREATE" : "UPDATE", "INVOICE",
+                    i % 2 == 0 ? (long) i : null, "old-" + i, "new-" + i, i % 2 == 0 ? "alice" : "bob",
+                    START.plusHours(i), "127.0.0.1", "JUnit", "SUCCESS", null));
+            }
+            return writer.finish();
+        }
+    }
+}